@@ -0,0 +1,184 @@
+package com.exercise.atm.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.dto.LoginResponse;
+
+/**
+ * The account and login scenarios both stacks have to answer identically, written once against a
+ * {@link WebTestClient}. The servlet tests bind the client to MockMvc and the reactive tests to the WebFlux
+ * application; each subclass restores Alice's seed state (balance, ledger, daily usage, failed PIN attempts) after
+ * every test.
+ */
+public abstract class AccountApiScenarios {
+
+    protected static final String CARD = "4111111111111111";
+    protected static final String PIN = "p@ssw0rd";
+    protected static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    protected static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000201");
+
+    /** The client for the stack under test. */
+    protected abstract WebTestClient webTestClient();
+
+    @Test
+    void loginReturnsToken() {
+        login(PIN)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accessToken").isNotEmpty()
+                .jsonPath("$.tokenType").isEqualTo("Bearer")
+                .jsonPath("$.customerId").isEqualTo(CUSTOMER_ID.toString())
+                .jsonPath("$.customerName").isEqualTo("Alice Carter");
+    }
+
+    @Test
+    void loginWithInvalidPinReturnsUnauthorized() {
+        login("wrong")
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("UNAUTHORIZED")
+                .jsonPath("$.message").isEqualTo("Invalid PIN");
+    }
+
+    @Test
+    void repeatedInvalidPinsLockTheCard() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            login("wrong").expectStatus().isUnauthorized();
+        }
+
+        login("wrong").expectStatus().isEqualTo(423)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("LOCKED")
+                .jsonPath("$.message").isEqualTo("Account Locked, try again later");
+        login(PIN).expectStatus().isEqualTo(423);
+    }
+
+    @Test
+    void accountRequiresToken() {
+        webTestClient().get().uri("/api/v1/account").exchange().expectStatus().isForbidden();
+        webTestClient().get()
+                .uri("/api/v1/account")
+                .header("Authorization", "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void depositUpdatesBalance() {
+        AccountSnapshotResponse snapshot = postAmount("/api/v1/account/deposit", loginAndGetToken(), "200.00")
+                .expectStatus().isOk()
+                .expectBody(AccountSnapshotResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(snapshot.balance()).isEqualByComparingTo("1400.00");
+        assertThat(snapshot.withdrawnToday()).isEqualByComparingTo("0");
+        assertThat(snapshot.dailyLimit()).isEqualByComparingTo("500.00");
+        assertThat(snapshot.customerName()).isEqualTo("Alice Carter");
+    }
+
+    @Test
+    void withdrawWithInsufficientFundsReturnsConflict() {
+        postAmount("/api/v1/account/withdraw", loginAndGetToken(), "2000.00")
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("CONFLICT")
+                .jsonPath("$.message").isEqualTo("Insufficient funds");
+    }
+
+    @Test
+    void withdrawExceedingDailyLimitReturnsConflict() {
+        String token = loginAndGetToken();
+
+        postAmount("/api/v1/account/withdraw", token, "450.00").expectStatus().isOk();
+
+        postAmount("/api/v1/account/withdraw", token, "100.00")
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("CONFLICT")
+                .jsonPath("$.message").isEqualTo("Daily withdrawal limit exceeded");
+    }
+
+    @Test
+    void withdrawWithinLimitsSucceeds() {
+        AccountSnapshotResponse snapshot = postAmount("/api/v1/account/withdraw", loginAndGetToken(), "100.00")
+                .expectStatus().isOk()
+                .expectBody(AccountSnapshotResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(snapshot.balance()).isEqualByComparingTo("1100.00");
+        assertThat(snapshot.withdrawnToday()).isEqualByComparingTo("100.00");
+        assertThat(snapshot.dailyLimit()).isEqualByComparingTo("500.00");
+        assertThat(snapshot.remainingDailyLimit()).isEqualByComparingTo("400.00");
+        assertThat(snapshot.customerId()).isEqualTo(CUSTOMER_ID);
+    }
+
+    @Test
+    void snapshotReturnsCurrentState() {
+        AccountSnapshotResponse snapshot = webTestClient().get()
+                .uri("/api/v1/account")
+                .header("Authorization", "Bearer " + loginAndGetToken())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AccountSnapshotResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(snapshot.customerName()).isEqualTo("Alice Carter");
+        assertThat(snapshot.balance()).isEqualByComparingTo("1200.00");
+        assertThat(snapshot.dailyLimit()).isEqualByComparingTo("500.00");
+        assertThat(snapshot.withdrawnToday()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void genericExceptionYieldsInternalError() {
+        webTestClient().post()
+                .uri("/api/v1/account/deposit")
+                .header("Authorization", "Bearer " + loginAndGetToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"amount\": \"not-a-number\"}")
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("INTERNAL_SERVER_ERROR")
+                .jsonPath("$.message").isEqualTo("Unexpected server error");
+    }
+
+    protected WebTestClient.ResponseSpec login(String pin) {
+        return webTestClient().post()
+                .uri("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("cardNumber", CARD, "pin", pin))
+                .exchange();
+    }
+
+    protected WebTestClient.ResponseSpec postAmount(String uri, String token, String amount) {
+        return webTestClient().post()
+                .uri(uri)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("amount", new BigDecimal(amount)))
+                .exchange();
+    }
+
+    protected String loginAndGetToken() {
+        LoginResponse response = login(PIN)
+                .expectStatus().isOk()
+                .expectBody(LoginResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(response.accessToken()).isNotBlank();
+        return response.accessToken();
+    }
+}
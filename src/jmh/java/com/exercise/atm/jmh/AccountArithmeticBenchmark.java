@@ -0,0 +1,96 @@
+package com.exercise.atm.jmh;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.exercise.atm.domain.entity.Money;
+
+/**
+ * The per-operation money and day math of the account engines, as written in {@code AccountServiceImpl} and
+ * {@code AccountSnapshotCache}. The {@code BigDecimal} methods are the arithmetic before {@link Money}; compare each
+ * with its {@code money} counterpart, and run with {@code ./gradlew jmh -PjmhProfilers=gc} to see the allocation rate
+ * ({@code gc.alloc.rate.norm}) next to the time per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccountArithmeticBenchmark {
+
+    // Non-final so the JIT cannot fold them into constants.
+    private BigDecimal balance = new BigDecimal("1200.00");
+    private BigDecimal dailyLimit = new BigDecimal("500.00");
+    private BigDecimal withdrawnToday = new BigDecimal("120.00");
+    private BigDecimal amount = new BigDecimal("100.00");
+    private Money balanceMoney = Money.of(balance);
+    private Money dailyLimitMoney = Money.of(dailyLimit);
+    private Money withdrawnTodayMoney = Money.of(withdrawnToday);
+    private Money amountMoney = Money.of(amount);
+    private Instant now = Instant.parse("2024-06-15T13:45:30.123Z");
+
+    /** Limit and balance checks of a withdrawal, then the new balance, usage and remaining limit. */
+    @Benchmark
+    public void withdrawal(Blackhole blackhole) {
+        BigDecimal remainingLimit = dailyLimit.subtract(withdrawnToday);
+        if (amount.compareTo(balance) > 0 || amount.compareTo(remainingLimit) > 0) {
+            throw new IllegalStateException();
+        }
+        BigDecimal withdrawn = withdrawnToday.add(amount);
+        blackhole.consume(balance.subtract(amount));
+        blackhole.consume(withdrawn);
+        blackhole.consume(dailyLimit.subtract(withdrawn).max(BigDecimal.ZERO));
+    }
+
+    /** {@link #withdrawal} on {@link Money}, as {@code AccountServiceImpl} now does it. */
+    @Benchmark
+    public void moneyWithdrawal(Blackhole blackhole) {
+        Money remainingLimit = dailyLimitMoney.minus(withdrawnTodayMoney);
+        if (amountMoney.isGreaterThan(balanceMoney) || amountMoney.isGreaterThan(remainingLimit)) {
+            throw new IllegalStateException();
+        }
+        Money withdrawn = withdrawnTodayMoney.plus(amountMoney);
+        blackhole.consume(balanceMoney.minus(amountMoney));
+        blackhole.consume(withdrawn);
+        blackhole.consume(dailyLimitMoney.minus(withdrawn).max(Money.ZERO));
+    }
+
+    @Benchmark
+    public BigDecimal deposit() {
+        return balance.add(amount);
+    }
+
+    @Benchmark
+    public Money moneyDeposit() {
+        return balanceMoney.plus(amountMoney);
+    }
+
+    /** The request amount in and the response balance out, paid once per operation at the JSON boundary. */
+    @Benchmark
+    public BigDecimal moneyBoundary() {
+        return Money.of(amount).plus(balanceMoney).toBigDecimal();
+    }
+
+    /** The {@code account_daily_usage} key of an operation. */
+    @Benchmark
+    public LocalDate usageDate() {
+        return LocalDate.ofInstant(now, ZoneOffset.UTC);
+    }
+
+    /** Start and end of the operation's UTC day, the bounds of a day's ledger rows and of cached snapshots. */
+    @Benchmark
+    public void dayBounds(Blackhole blackhole) {
+        LocalDate day = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        blackhole.consume(day.atStartOfDay().toInstant(ZoneOffset.UTC));
+        blackhole.consume(day.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,74 @@
+package com.exercise.atm.jmh;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.exercise.atm.config.security.JwtAuthenticationFilter;
+import com.exercise.atm.config.security.JwtProvider;
+import com.exercise.atm.config.security.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Per-request cost of the JWT filter for a session that keeps sending the same token, with the verified-token cache
+ * off ({@code 0}) and on. Run with {@code ./gradlew jmh -PjmhIncludes=JwtAuthenticationFilterBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "bench-secret-6f8cbb24c2c64c2ba6d4e4d1978b30ef";
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private final FilterChain chain = (request, response) -> {};
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtProvider jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtProvider, "expirationSeconds", 3600L);
+        ReflectionTestUtils.invokeMethod(jwtProvider, "init");
+
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtProvider, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", verifiedCacheSize);
+        ReflectionTestUtils.invokeMethod(verifiedTokenCache, "init");
+
+        filter = new JwtAuthenticationFilter(verifiedTokenCache);
+        request = new MockHttpServletRequest("GET", "/api/v1/account");
+        request.addHeader("Authorization", "Bearer " + jwtProvider.generateToken(UUID.randomUUID(), "Alice Carter"));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.exercise.atm.jmh;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.exercise.atm.config.security.JwtProvider;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token issue on login and token verification on every authenticated request. The tampered case is what a client
+ * replaying a forged token costs. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtProviderBenchmark {
+
+    private static final String SECRET = "bench-secret-6f8cbb24c2c64c2ba6d4e4d1978b30ef";
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000101");
+
+    private JwtProvider jwtProvider;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtProvider, "expirationSeconds", 3600L);
+        ReflectionTestUtils.invokeMethod(jwtProvider, "init");
+        token = jwtProvider.generateToken(CUSTOMER_ID, "Alice Carter");
+        // Flip one character of the signature.
+        char last = token.charAt(token.length() - 1);
+        tamperedToken = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken(CUSTOMER_ID, "Alice Carter");
+    }
+
+    @Benchmark
+    public Optional<Claims> parseClaims() {
+        return jwtProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> parseTamperedClaims() {
+        return jwtProvider.parseClaims(tamperedToken);
+    }
+}
@@ -0,0 +1,58 @@
+package com.exercise.atm.jmh;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Response body of every account endpoint, written with a mapper configured like Spring Boot's. Run with
+ * {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapshotSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter snapshotWriter;
+    private AccountSnapshotResponse snapshot;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        snapshotWriter = objectMapper.writerFor(AccountSnapshotResponse.class);
+        snapshot = new AccountSnapshotResponse(
+                UUID.fromString("00000000-0000-0000-0000-000000000101"),
+                "Alice Carter",
+                new BigDecimal("1100.00"),
+                new BigDecimal("500.00"),
+                new BigDecimal("100.00"),
+                new BigDecimal("400.00"));
+    }
+
+    /** What the message converter does per response. */
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshot);
+    }
+
+    /** Same, with the serializer lookup done once up front. */
+    @Benchmark
+    public byte[] preparedWriter() throws JsonProcessingException {
+        return snapshotWriter.writeValueAsBytes(snapshot);
+    }
+}
@@ -2,38 +2,148 @@ package com.exercise.atm.api.controller;
 
 import com.exercise.atm.api.dto.AccountSnapshotResponse;
 import com.exercise.atm.api.dto.AmountRequest;
+import com.exercise.atm.api.dto.BalanceSummaryResponse;
+import com.exercise.atm.api.dto.TransactionPageResponse;
+import com.exercise.atm.api.dto.TransferRequest;
+import com.exercise.atm.domain.entity.TransactionType;
 import com.exercise.atm.domain.service.AccountService;
+import com.exercise.atm.domain.service.AccountSnapshotCache;
+import com.exercise.atm.domain.service.AccountSnapshotCache.CachedSnapshot;
+import com.exercise.atm.domain.service.BalanceHistoryService;
+import com.exercise.atm.domain.service.IdempotencyService;
+import com.exercise.atm.domain.service.StatementExport;
+import com.exercise.atm.domain.service.StatementExportService;
+import com.exercise.atm.domain.service.StatementFormat;
+import com.exercise.atm.domain.service.TransactionHistoryService;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/account")
 @RequiredArgsConstructor
 public class AccountController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final AccountService accountService;
+    private final IdempotencyService idempotencyService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final TransactionHistoryService transactionHistoryService;
+    private final StatementExportService statementExportService;
+    private final BalanceHistoryService balanceHistoryService;
 
+    /** Answers {@code If-None-Match} with 304 from the cached snapshot's ETag. */
     @GetMapping
-    public AccountSnapshotResponse getSnapshot(@AuthenticationPrincipal UUID customerId) {
-        return accountService.getSnapshot(customerId);
+    public ResponseEntity<AccountSnapshotResponse> getSnapshot(@AuthenticationPrincipal UUID customerId) {
+        CachedSnapshot cached = accountSnapshotCache.get(customerId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(cached.etag())
+                .body(cached.snapshot());
+    }
+
+    @GetMapping("/transactions")
+    public TransactionPageResponse transactions(
+            @AuthenticationPrincipal UUID customerId,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return transactionHistoryService.list(customerId, type, from, to, cursor, size);
+    }
+
+    /** Opening/closing balance and totals per UTC day, from the daily rollup. */
+    @GetMapping("/balances")
+    public BalanceSummaryResponse balances(
+            @AuthenticationPrincipal UUID customerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return balanceHistoryService.summarize(customerId, from, to);
+    }
+
+    /** Streams the full statement (oldest first) as CSV or newline-delimited JSON. */
+    @GetMapping("/statement")
+    public ResponseEntity<StreamingResponseBody> statement(
+            @AuthenticationPrincipal UUID customerId,
+            @RequestParam(defaultValue = "CSV") StatementFormat format,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        StatementExport export = statementExportService.prepare(customerId, format, from, to);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("statement." + format.fileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(out -> statementExportService.write(export, out));
     }
 
     @PostMapping("/deposit")
     public AccountSnapshotResponse deposit(
-            @AuthenticationPrincipal UUID customerId, @Valid @RequestBody AmountRequest request) {
-        return accountService.deposit(customerId, request.amount());
+            @AuthenticationPrincipal UUID customerId,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody AmountRequest request) {
+        try {
+            return idempotencyService.execute(
+                    customerId,
+                    idempotencyKey,
+                    TransactionType.DEPOSIT,
+                    request.amount(),
+                    claim -> claim == null
+                            ? accountService.deposit(customerId, request.amount())
+                            : accountService.deposit(customerId, request.amount(), claim));
+        } finally {
+            accountSnapshotCache.evict(customerId);
+        }
     }
 
     @PostMapping("/withdraw")
     public AccountSnapshotResponse withdraw(
-            @AuthenticationPrincipal UUID customerId, @Valid @RequestBody AmountRequest request) {
-        return accountService.withdraw(customerId, request.amount());
+            @AuthenticationPrincipal UUID customerId,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody AmountRequest request) {
+        try {
+            return idempotencyService.execute(
+                    customerId,
+                    idempotencyKey,
+                    TransactionType.WITHDRAWAL,
+                    request.amount(),
+                    claim -> claim == null
+                            ? accountService.withdraw(customerId, request.amount())
+                            : accountService.withdraw(customerId, request.amount(), claim));
+        } finally {
+            accountSnapshotCache.evict(customerId);
+        }
+    }
+
+    /** Moves funds to another customer's account; returns the sender's updated snapshot. */
+    @PostMapping("/transfer")
+    public AccountSnapshotResponse transfer(
+            @AuthenticationPrincipal UUID customerId, @Valid @RequestBody TransferRequest request) {
+        try {
+            return accountService.transfer(customerId, request.toCustomerId(), request.amount());
+        } finally {
+            accountSnapshotCache.evict(customerId);
+            accountSnapshotCache.evict(request.toCustomerId());
+        }
     }
 }
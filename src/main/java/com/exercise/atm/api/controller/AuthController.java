@@ -2,6 +2,7 @@ package com.exercise.atm.api.controller;
 
 import com.exercise.atm.api.dto.LoginRequest;
 import com.exercise.atm.api.dto.LoginResponse;
+import com.exercise.atm.config.security.RateLimiter;
 import com.exercise.atm.domain.service.AuthService;
 import com.exercise.atm.domain.service.LoginResult;
 import lombok.RequiredArgsConstructor;
@@ -17,9 +18,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final AuthService authService;
+    private final RateLimiter rateLimiter;
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
+        // Per-card limit before any lookup, so guessing PINs on one card cannot reach the database at full speed.
+        rateLimiter.acquire(RateLimiter.Scope.CARD, request.cardNumber());
         LoginResult result = authService.login(request.cardNumber(), request.pin());
         return ResponseEntity.ok(
                 new LoginResponse(
@@ -0,0 +1,25 @@
+package com.exercise.atm.api.controller;
+
+import com.exercise.atm.api.dto.BulkOperationsRequest;
+import com.exercise.atm.api.dto.BulkOperationsResponse;
+import com.exercise.atm.domain.service.SettlementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Endpoints for branch settlement systems; authenticated by API key, not by customer JWT. */
+@RestController
+@RequestMapping("/api/v1/settlement")
+@RequiredArgsConstructor
+public class SettlementController {
+
+    private final SettlementService settlementService;
+
+    /** Applies a feed of deposits and withdrawals and reports each line's outcome in request order. */
+    @PostMapping("/operations")
+    public BulkOperationsResponse apply(@RequestBody BulkOperationsRequest request) {
+        return settlementService.apply(request.operations());
+    }
+}
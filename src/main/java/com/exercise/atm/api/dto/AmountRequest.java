@@ -1,9 +1,13 @@
 package com.exercise.atm.api.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
 
 public record AmountRequest(
-        @NotNull(message = "Amount is required") @Positive(message = "Amount must be positive") BigDecimal amount) {
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        @Digits(integer = 15, fraction = 2, message = "Amount must have at most 2 decimals")
+        BigDecimal amount) {
 }
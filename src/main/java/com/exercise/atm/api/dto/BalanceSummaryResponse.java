@@ -0,0 +1,16 @@
+package com.exercise.atm.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/** Balances over a date range; {@code days} only lists days with activity. */
+public record BalanceSummaryResponse(
+        LocalDate from,
+        LocalDate to,
+        BigDecimal openingBalance,
+        BigDecimal closingBalance,
+        BigDecimal depositTotal,
+        BigDecimal withdrawalTotal,
+        long transactionCount,
+        List<DailyBalanceResponse> days) {}
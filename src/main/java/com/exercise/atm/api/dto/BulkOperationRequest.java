@@ -0,0 +1,8 @@
+package com.exercise.atm.api.dto;
+
+import com.exercise.atm.domain.entity.TransactionType;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** One line of a settlement feed; validated per item so a bad line only rejects itself. */
+public record BulkOperationRequest(UUID accountId, TransactionType type, BigDecimal amount) {}
@@ -0,0 +1,21 @@
+package com.exercise.atm.api.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Outcome of one feed line; {@code index} is its position in the request. {@code transactionId} and
+ * {@code balanceAfter} are set for applied lines, {@code error} otherwise.
+ */
+public record BulkOperationResult(
+        int index, Status status, UUID transactionId, BigDecimal balanceAfter, ErrorResponse error) {
+
+    public enum Status {
+        /** Committed to the ledger. */
+        APPLIED,
+        /** Refused by validation or the account rules; nothing was posted. */
+        REJECTED,
+        /** Its chunk could not be committed; nothing was posted and the line can be resubmitted. */
+        FAILED
+    }
+}
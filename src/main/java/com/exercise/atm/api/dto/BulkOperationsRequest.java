@@ -0,0 +1,5 @@
+package com.exercise.atm.api.dto;
+
+import java.util.List;
+
+public record BulkOperationsRequest(List<BulkOperationRequest> operations) {}
@@ -0,0 +1,6 @@
+package com.exercise.atm.api.dto;
+
+import java.util.List;
+
+/** Per-line results in request order, with totals per status. */
+public record BulkOperationsResponse(int applied, int rejected, int failed, List<BulkOperationResult> results) {}
@@ -0,0 +1,12 @@
+package com.exercise.atm.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyBalanceResponse(
+        LocalDate date,
+        BigDecimal openingBalance,
+        BigDecimal closingBalance,
+        BigDecimal depositTotal,
+        BigDecimal withdrawalTotal,
+        int transactionCount) {}
@@ -0,0 +1,6 @@
+package com.exercise.atm.api.dto;
+
+import java.util.List;
+
+/** One page of history, newest first; {@code nextCursor} is {@code null} on the last page. */
+public record TransactionPageResponse(List<TransactionResponse> items, String nextCursor) {}
@@ -0,0 +1,9 @@
+package com.exercise.atm.api.dto;
+
+import com.exercise.atm.domain.entity.TransactionType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record TransactionResponse(
+        UUID id, TransactionType type, BigDecimal amount, BigDecimal balanceAfter, Instant occurredAt) {}
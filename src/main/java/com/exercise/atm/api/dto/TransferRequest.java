@@ -0,0 +1,15 @@
+package com.exercise.atm.api.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record TransferRequest(
+        @NotNull(message = "Recipient is required") UUID toCustomerId,
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        @Digits(integer = 15, fraction = 2, message = "Amount must have at most 2 decimals")
+        BigDecimal amount) {
+}
@@ -6,11 +6,28 @@ public class BusinessException extends RuntimeException {
 
     private final String message;
     private final HttpStatus status;
+    private final ErrorCode code;
 
     public BusinessException(String message, HttpStatus status) {
+        this(ErrorCode.of(status), message, status);
+    }
+
+    public BusinessException(ErrorCode code, String message, HttpStatus status) {
         super(message);
         this.message = message;
         this.status = status;
+        this.code = code;
+    }
+
+    /** A withdrawal or transfer larger than the balance. */
+    public static BusinessException insufficientFunds() {
+        return new BusinessException(ErrorCode.INSUFFICIENT_FUNDS, "Insufficient funds", HttpStatus.CONFLICT);
+    }
+
+    /** A withdrawal or transfer beyond what is left of the daily limit. */
+    public static BusinessException dailyLimitExceeded() {
+        return new BusinessException(
+                ErrorCode.LIMIT_EXCEEDED, "Daily withdrawal limit exceeded", HttpStatus.CONFLICT);
     }
 
     @Override
@@ -21,4 +38,8 @@ public class BusinessException extends RuntimeException {
     public HttpStatus getStatus() {
         return status;
     }
+
+    public ErrorCode getCode() {
+        return code;
+    }
 }
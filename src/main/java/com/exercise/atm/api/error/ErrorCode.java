@@ -0,0 +1,25 @@
+package com.exercise.atm.api.error;
+
+import org.springframework.http.HttpStatus;
+
+/** Why a {@link BusinessException} was raised, for code that has to tell rejections apart without parsing messages. */
+public enum ErrorCode {
+    INSUFFICIENT_FUNDS,
+    LIMIT_EXCEEDED,
+    NOT_FOUND,
+    LOCKED,
+    UNAUTHORIZED,
+    BUSY,
+    REJECTED;
+
+    /** The code of a rejection that its status alone identifies. */
+    static ErrorCode of(HttpStatus status) {
+        return switch (status) {
+            case NOT_FOUND -> NOT_FOUND;
+            case LOCKED -> LOCKED;
+            case UNAUTHORIZED -> UNAUTHORIZED;
+            case SERVICE_UNAVAILABLE, TOO_MANY_REQUESTS -> BUSY;
+            default -> REJECTED;
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.exercise.atm.api.error;
+
+import java.time.Duration;
+import org.springframework.http.HttpStatus;
+
+/** A card, customer or client went over its request rate; answered with 429 and a {@code Retry-After} header. */
+public class RateLimitExceededException extends ServiceBusyException {
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+    }
+}
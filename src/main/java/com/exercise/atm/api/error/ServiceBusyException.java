@@ -0,0 +1,28 @@
+package com.exercise.atm.api.error;
+
+import java.time.Duration;
+import org.springframework.http.HttpStatus;
+
+/** Work was shed under load; answered with 503 (or a subclass's status) and a {@code Retry-After} header. */
+public class ServiceBusyException extends BusinessException {
+
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message, Duration retryAfter) {
+        this(message, HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+    }
+
+    protected ServiceBusyException(String message, HttpStatus status, Duration retryAfter) {
+        super(ErrorCode.BUSY, message, status);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /** {@code Retry-After} in whole seconds, rounded up and at least 1. */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
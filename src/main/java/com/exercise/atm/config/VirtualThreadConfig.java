@@ -0,0 +1,40 @@
+package com.exercise.atm.config;
+
+import com.exercise.atm.config.datasource.ConnectionLimitingDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true}. Spring Boot itself moves Tomcat request handling, the
+ * MVC async executor (statement streaming) and {@code @Scheduled} jobs onto virtual threads; this adds the connection
+ * semaphore that the Tomcat thread pool used to provide implicitly.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        int maxConnections = environment.getProperty(
+                "app.datasource.max-concurrent-connections",
+                Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty(
+                "app.datasource.connection-acquire-timeout", Duration.class, Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the DataSource the application uses; with replica routing that is the proxy in front of it.
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.exercise.atm.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Marks the authenticated customer as a recent writer for every non-safe request. Recording it at the request level
+ * rather than on commit also covers engines that commit on their own writer threads. The window is restarted when the
+ * request completes, so it always outlasts the write. Runs after the security filter chain.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        UUID customerId = SAFE_METHODS.contains(request.getMethod()) ? null : ReplicaRoutingDataSource.currentCustomerId();
+        if (customerId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        tracker.recordWrite(customerId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.recordWrite(customerId);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.exercise.atm.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers which customers wrote within the last {@code window}, so their reads stay on the primary until the
+ * replicas have had time to catch up. Per instance and bounded; an evicted customer may briefly read a stale replica.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /** Starts (or restarts) the customer's window. */
+    public void recordWrite(UUID customerId) {
+        recentWriters.put(customerId, Boolean.TRUE);
+    }
+
+    public boolean recentlyWrote(UUID customerId) {
+        return recentWriters.getIfPresent(customerId) != null;
+    }
+}
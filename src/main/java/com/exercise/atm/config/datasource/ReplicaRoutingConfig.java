@@ -0,0 +1,115 @@
+package com.exercise.atm.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the auto-configured DataSource with primary/replica routing when
+ * {@code app.datasource.replicas.enabled=true}. The primary pool is built from {@code spring.datasource.*} as
+ * usual; every URL in {@code app.datasource.replicas.urls} gets its own read-only Hikari pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${app.datasource.replicas.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${app.datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${app.datasource.replicas.maximum-pool-size:10}")
+    private int maximumPoolSize = 10;
+
+    @Value("${app.datasource.replicas.connection-timeout:PT2S}")
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    @Value("${app.datasource.replicas.lag-query:}")
+    private String lagQuery = "";
+
+    @Value("${app.datasource.replicas.max-lag:PT10S}")
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    @Value("${app.datasource.replicas.read-your-writes-window:PT10S}")
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    @Value("${app.datasource.replicas.read-your-writes-max-size:100000}")
+    private long readYourWritesMaxSize = 100_000;
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(readYourWritesWindow, readYourWritesMaxSize);
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesFilter(readYourWritesTracker);
+    }
+
+    @Bean
+    ReplicaRoutingDataSource routingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primary.setMetricRegistry(meterRegistry);
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            // A replica that is down at startup is simply skipped until a health check passes.
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker, lagQuery, maxLag);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    HealthIndicator replicasHealthIndicator(ReplicaRoutingDataSource routingDataSource) {
+        // Reads fall back to the primary, so unhealthy replicas degrade capacity but do not take the service down.
+        return () -> Health.up()
+                .withDetail("configured", routingDataSource.replicaNames())
+                .withDetail("healthy", routingDataSource.healthyReplicas())
+                .build();
+    }
+}
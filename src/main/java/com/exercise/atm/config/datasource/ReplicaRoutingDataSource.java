@@ -0,0 +1,172 @@
+package com.exercise.atm.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and everything else to the primary. Customers that
+ * wrote recently stay on the primary (see {@link ReadYourWritesTracker}); when no replica is healthy, reads fall back
+ * to the primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for the connection before it marks the transaction read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final ThreadLocal<UUID> BOUND_CUSTOMER = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile List<String> healthyReplicas = List.of();
+
+    /**
+     * @param replicas replica pools by name, in configuration order
+     * @param lagQuery optional query returning the replica's lag in seconds; blank to only check connectivity
+     */
+    public ReplicaRoutingDataSource(
+            HikariDataSource primary,
+            Map<String, HikariDataSource> replicas,
+            ReadYourWritesTracker readYourWrites,
+            String lagQuery,
+            Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        UUID customerId = currentCustomerId();
+        if (customerId != null && readYourWrites.recentlyWrote(customerId)) {
+            return PRIMARY;
+        }
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+    }
+
+    /**
+     * Re-checks every replica. One that cannot hand out a valid connection, or lags more than {@code max-lag}, gets
+     * no reads until a later check passes.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        replicas.forEach((name, replica) -> {
+            if (isHealthy(name, replica)) {
+                healthy.add(name);
+            }
+        });
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Healthy read replicas: {} of {}", healthy, replicas.keySet());
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    public List<String> healthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public Set<String> replicaNames() {
+        return replicas.keySet();
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    /**
+     * Routes this thread's reads as {@code customerId} until the returned scope is closed, for work handed off the
+     * request thread, which has no security context. Take {@code customerId} on the request thread.
+     */
+    public static CustomerScope bindCustomer(UUID customerId) {
+        UUID previous = BOUND_CUSTOMER.get();
+        BOUND_CUSTOMER.set(customerId);
+        return () -> {
+            if (previous == null) {
+                BOUND_CUSTOMER.remove();
+            } else {
+                BOUND_CUSTOMER.set(previous);
+            }
+        };
+    }
+
+    static UUID currentCustomerId() {
+        UUID bound = BOUND_CUSTOMER.get();
+        if (bound != null) {
+            return bound;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UUID customerId ? customerId : null;
+    }
+
+    private boolean isHealthy(String name, HikariDataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return false;
+            }
+            if (lagQuery.isBlank()) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(lagQuery)) {
+                double lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    log.debug("Read replica {} lags {} s", name, lagSeconds);
+                    return false;
+                }
+                return true;
+            }
+        } catch (SQLException ex) {
+            log.warn("Read replica {} failed its health check: {}", name, ex.getMessage());
+            return false;
+        }
+    }
+
+    /** A customer bound by {@link #bindCustomer}; closing it restores the previous binding. */
+    public interface CustomerScope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
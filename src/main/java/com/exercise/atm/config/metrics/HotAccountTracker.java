@@ -0,0 +1,141 @@
+package com.exercise.atm.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the accounts whose row locks requests queue on, without a database query. Every account lock reports the
+ * account and how long it waited; two {@link SpaceSaving} sketches keep the heaviest accounts by lock wait and by
+ * lock requests, and every {@code decay-interval} all weights decay with the configured {@code half-life}, so the
+ * ranking follows the last few minutes instead of the whole uptime. A decayed sum divided by
+ * {@code half-life / ln 2} is a rate, which is what {@link #snapshot()}, the {@code hotaccounts} actuator endpoint
+ * and the {@code atm.hot_accounts.*} gauges (top {@code top} accounts by rank) report. The gauges are tagged with the
+ * rank only; which account holds a rank is on the endpoint, which requires the operator role.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotAccountTracker {
+
+    static final String LOCK_WAIT_GAUGE = "atm.hot_accounts.lock_wait";
+    static final String REQUESTS_GAUGE = "atm.hot_accounts.requests";
+
+    /** One hot account; rates are per second, decayed over the half-life. */
+    public record HotAccount(
+            UUID accountId, double requestsPerSecond, double lockWaitSecondsPerSecond, double meanLockWaitMillis) {}
+
+    /** The hottest accounts by time spent waiting for their lock, and by lock requests. */
+    public record Snapshot(Duration halfLife, List<HotAccount> byLockWait, List<HotAccount> byRequests) {}
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.hot-accounts.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.hot-accounts.capacity:200}")
+    private int capacity = 200;
+
+    @Value("${app.hot-accounts.top:10}")
+    private int top = 10;
+
+    @Value("${app.hot-accounts.half-life:PT1M}")
+    private Duration halfLife = Duration.ofMinutes(1);
+
+    LongSupplier nanoTime = System::nanoTime;
+
+    private SpaceSaving<UUID> lockWaitSeconds;
+    private SpaceSaving<UUID> requests;
+    private MultiGauge lockWaitGauge;
+    private MultiGauge requestsGauge;
+    private long lastDecayNanos;
+
+    @PostConstruct
+    public void init() {
+        this.lockWaitSeconds = new SpaceSaving<>(capacity);
+        this.requests = new SpaceSaving<>(capacity);
+        this.lockWaitGauge = MultiGauge.builder(LOCK_WAIT_GAUGE)
+                .description("Seconds per second spent waiting for the lock of the hottest accounts")
+                .register(meterRegistry);
+        this.requestsGauge = MultiGauge.builder(REQUESTS_GAUGE)
+                .description("Lock requests per second of the busiest accounts")
+                .register(meterRegistry);
+        this.lastDecayNanos = nanoTime.getAsLong();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Counts one lock of {@code accountId} that took {@code waitNanos} to acquire. */
+    public void record(UUID accountId, long waitNanos) {
+        if (!enabled) {
+            return;
+        }
+        requests.add(accountId, 1);
+        lockWaitSeconds.add(accountId, waitNanos / 1e9);
+    }
+
+    /** Ages all weights by the time since the last decay and republishes the gauges. */
+    @Scheduled(fixedDelayString = "${app.hot-accounts.decay-interval:PT5S}")
+    public void decay() {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        double factor = Math.pow(0.5, (double) (now - lastDecayNanos) / halfLife.toNanos());
+        lastDecayNanos = now;
+        lockWaitSeconds.decay(factor);
+        requests.decay(factor);
+
+        Snapshot snapshot = snapshot();
+        lockWaitGauge.register(rows(snapshot.byLockWait(), HotAccount::lockWaitSecondsPerSecond), true);
+        requestsGauge.register(rows(snapshot.byRequests(), HotAccount::requestsPerSecond), true);
+    }
+
+    public Snapshot snapshot() {
+        if (!enabled) {
+            return new Snapshot(halfLife, List.of(), List.of());
+        }
+        return new Snapshot(
+                halfLife,
+                hotAccounts(lockWaitSeconds.top(top)),
+                hotAccounts(requests.top(top)));
+    }
+
+    private List<HotAccount> hotAccounts(List<SpaceSaving.Estimate<UUID>> ranked) {
+        // Rate of a sum that decays with time constant half-life / ln 2.
+        double perSecond = Math.log(2) / (halfLife.toNanos() / 1e9);
+        List<HotAccount> accounts = new ArrayList<>(ranked.size());
+        for (SpaceSaving.Estimate<UUID> estimate : ranked) {
+            UUID accountId = estimate.key();
+            double requestWeight = requests.weightOf(accountId);
+            double waitWeight = lockWaitSeconds.weightOf(accountId);
+            accounts.add(new HotAccount(
+                    accountId,
+                    requestWeight * perSecond,
+                    waitWeight * perSecond,
+                    requestWeight > 0 ? waitWeight / requestWeight * 1000 : 0));
+        }
+        return accounts;
+    }
+
+    private static List<MultiGauge.Row<?>> rows(List<HotAccount> ranked, ToDoubleFunction<HotAccount> value) {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(ranked.size());
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            rows.add(MultiGauge.Row.of(
+                    Tags.of("rank", Integer.toString(rank + 1)), value.applyAsDouble(ranked.get(rank))));
+        }
+        return rows;
+    }
+}
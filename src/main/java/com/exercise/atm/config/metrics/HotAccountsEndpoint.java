@@ -0,0 +1,20 @@
+package com.exercise.atm.config.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** {@code GET /actuator/hotaccounts}: the current {@link HotAccountTracker} ranking; requires the operator role. */
+@Component
+@Endpoint(id = "hotaccounts")
+@RequiredArgsConstructor
+public class HotAccountsEndpoint {
+
+    private final HotAccountTracker hotAccountTracker;
+
+    @ReadOperation
+    public HotAccountTracker.Snapshot hotAccounts() {
+        return hotAccountTracker.snapshot();
+    }
+}
@@ -0,0 +1,34 @@
+package com.exercise.atm.config.metrics;
+
+import com.exercise.atm.domain.service.AccountService;
+import com.exercise.atm.domain.service.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the {@link AccountService} of the configured engine and the {@link AuthService} in timing decorators, so the
+ * per-method latencies are comparable across engines without each implementation recording them itself.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    static BeanPostProcessor serviceTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AccountService accountService) {
+                    return new TimedAccountService(
+                            accountService, new ServiceTimer(meterRegistry.getObject(), "account"));
+                }
+                if (bean instanceof AuthService authService) {
+                    return new TimedAuthService(authService, new ServiceTimer(meterRegistry.getObject(), "auth"));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.exercise.atm.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Where a request spends its time besides CPU, tagged by endpoint ({@code "POST /api/v1/account/withdraw"}): waiting
+ * for account row locks ({@code atm.lock.wait}), BCrypt on the PIN hashing pool ({@code atm.pin.hash}) and the number
+ * of SQL statements Hibernate prepared ({@code atm.request.sql.statements}). All publish percentile histograms, so
+ * Prometheus can compare p99 lock wait with p99 request latency per endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetrics {
+
+    static final String LOCK_WAIT = "atm.lock.wait";
+    static final String PIN_HASH = "atm.pin.hash";
+    static final String SQL_STATEMENTS = "atm.request.sql.statements";
+
+    /** Work outside an HTTP request, e.g. scheduled jobs. */
+    static final String NO_ENDPOINT = "none";
+    /** Requests that matched no handler, so unknown paths cannot grow the tag values. */
+    static final String UNMATCHED_ENDPOINT = "unmatched";
+
+    private final MeterRegistry meterRegistry;
+
+    /** The endpoint of the request on the current thread. */
+    public String endpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return endpointOf(attributes.getRequest());
+        }
+        return NO_ENDPOINT;
+    }
+
+    /**
+     * Records the time a statement that takes account row locks ran as lock wait, tagged with {@code lock}. The
+     * statement itself is a key lookup, so anything beyond a millisecond is time spent queued behind other holders of
+     * the lock.
+     */
+    public void recordLockWait(String lock, long waitNanos) {
+        Timer.builder(LOCK_WAIT)
+                .description("Time to acquire account row locks")
+                .tags("endpoint", endpoint(), "lock", lock)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs BCrypt work on the hashing pool, recording only the hashing itself, not the time queued for a pool thread.
+     * {@code endpoint} is taken on the request thread, since the pool threads have no request.
+     */
+    public <T> T timePinHash(String endpoint, String operation, Callable<T> hash) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return hash.call();
+        } finally {
+            Timer.builder(PIN_HASH)
+                    .description("BCrypt time per PIN verification or hash")
+                    .tags("endpoint", endpoint, "operation", operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void recordStatements(HttpServletRequest request, int statements) {
+        DistributionSummary.builder(SQL_STATEMENTS)
+                .description("SQL statements prepared by Hibernate per request")
+                .tags("endpoint", endpointOf(request))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMATCHED_ENDPOINT : request.getMethod() + " " + pattern;
+    }
+}
@@ -0,0 +1,43 @@
+package com.exercise.atm.config.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens a {@link SqlStatementCounter} count around {@code /api/v1/auth/**} and {@code /api/v1/account/**} requests
+ * and records it per endpoint once the handler has run. Statements of an async dispatch (statement exports stream on
+ * another thread) are not included.
+ */
+@RequiredArgsConstructor
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String AUTH_PATH = "/api/v1/auth/";
+    static final String ACCOUNT_PATH = "/api/v1/account";
+
+    private final RequestMetrics requestMetrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(AUTH_PATH) && !path.startsWith(ACCOUNT_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            requestMetrics.recordStatements(request, SqlStatementCounter.stop());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.exercise.atm.config.metrics;
+
+import com.exercise.atm.api.error.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times calls of one service as {@code atm.service.duration{service, method, outcome}} with a percentile histogram.
+ * Rejections are split by their {@link com.exercise.atm.api.error.ErrorCode} so that, for example, slow
+ * insufficient-funds answers do not hide in the success latency.
+ */
+final class ServiceTimer {
+
+    static final String METRIC = "atm.service.duration";
+
+    static final String SUCCESS = "success";
+    static final String INSUFFICIENT_FUNDS = "insufficient_funds";
+    static final String LIMIT_EXCEEDED = "limit_exceeded";
+    static final String LOCKED = "locked";
+    static final String NOT_FOUND = "not_found";
+    static final String UNAUTHORIZED = "unauthorized";
+    static final String BUSY = "busy";
+    static final String REJECTED = "rejected";
+    static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final String service;
+
+    ServiceTimer(MeterRegistry meterRegistry, String service) {
+        this.meterRegistry = meterRegistry;
+        this.service = service;
+    }
+
+    <T> T record(String method, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return call.get();
+        } catch (RuntimeException ex) {
+            outcome = outcome(ex);
+            throw ex;
+        } finally {
+            Timer.builder(METRIC)
+                    .description("Duration of account and auth service calls by outcome")
+                    .tags("service", service, "method", method, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String outcome(RuntimeException ex) {
+        if (!(ex instanceof BusinessException business)) {
+            return ERROR;
+        }
+        return switch (business.getCode()) {
+            case INSUFFICIENT_FUNDS -> INSUFFICIENT_FUNDS;
+            case LIMIT_EXCEEDED -> LIMIT_EXCEEDED;
+            case LOCKED -> LOCKED;
+            case NOT_FOUND -> NOT_FOUND;
+            case UNAUTHORIZED -> UNAUTHORIZED;
+            case BUSY -> BUSY;
+            case REJECTED -> REJECTED;
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.exercise.atm.config.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Space-Saving heavy-hitter sketch over weighted keys: at most {@code capacity} counters, and a new key that finds
+ * them all taken replaces the smallest one and inherits its weight. Any key whose true weight is above
+ * {@code total / capacity} is guaranteed to be tracked, and an estimate overstates the truth by at most the weight it
+ * inherited, which is small for the keys at the top. Weights can be decayed in place, which keeps the sketch focused
+ * on recent traffic.
+ *
+ * <p>Keys are spread by hash over up to {@value #MAX_STRIPES} stripes of at least {@value #MIN_STRIPE_CAPACITY}
+ * counters, each its own sketch with its own lock, so accounts in different stripes do not contend; the guarantee
+ * above then holds per stripe. A stripe keeps its counters in a min-heap indexed by key, so an update or an eviction
+ * costs {@code O(log capacity)}. The locks are {@link ReentrantLock}s rather than monitors because every account
+ * operation records here: a virtual thread blocked on a monitor stays pinned to its carrier thread.
+ */
+final class SpaceSaving<K> {
+
+    static final int MAX_STRIPES = 8;
+    static final int MIN_STRIPE_CAPACITY = 16;
+
+    record Estimate<K>(K key, double weight) {}
+
+    private final int capacity;
+    private final List<Stripe<K>> stripes;
+
+    SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        int stripeCount = Math.max(1, Math.min(MAX_STRIPES, capacity / MIN_STRIPE_CAPACITY));
+        List<Stripe<K>> stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            // Spread the remainder so the stripes add up to capacity.
+            stripes.add(new Stripe<>(capacity / stripeCount + (i < capacity % stripeCount ? 1 : 0)));
+        }
+        this.stripes = List.copyOf(stripes);
+    }
+
+    void add(K key, double weight) {
+        stripeOf(key).add(key, weight);
+    }
+
+    /** Multiplies every weight by {@code factor}. */
+    void decay(double factor) {
+        for (Stripe<K> stripe : stripes) {
+            stripe.decay(factor);
+        }
+    }
+
+    /** The {@code n} largest estimates, largest first. */
+    List<Estimate<K>> top(int n) {
+        List<Estimate<K>> estimates = new ArrayList<>(capacity);
+        for (Stripe<K> stripe : stripes) {
+            stripe.copyTo(estimates);
+        }
+        // Sorting the copy happens outside the locks.
+        estimates.sort(Comparator.comparingDouble((Estimate<K> estimate) -> estimate.weight()).reversed());
+        return estimates.size() > n ? List.copyOf(estimates.subList(0, n)) : estimates;
+    }
+
+    /** The estimate of {@code key}, or 0 when it is not tracked. */
+    double weightOf(K key) {
+        return stripeOf(key).weightOf(key);
+    }
+
+    private Stripe<K> stripeOf(K key) {
+        int hash = key.hashCode();
+        return stripes.get(Math.floorMod(hash ^ (hash >>> 16), stripes.size()));
+    }
+
+    private static final class Counter<K> {
+
+        K key;
+        double weight;
+        int index;
+
+        Counter(K key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+    }
+
+    private static final class Stripe<K> {
+
+        private final Map<K, Counter<K>> counters;
+        // Min-heap on weight; each counter knows its slot.
+        private final List<Counter<K>> heap;
+        private final int capacity;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+            this.heap = new ArrayList<>(capacity);
+        }
+
+        void add(K key, double weight) {
+            lock.lock();
+            try {
+                Counter<K> counter = counters.get(key);
+                if (counter != null) {
+                    counter.weight += weight;
+                    siftDown(counter.index);
+                    return;
+                }
+                if (heap.size() < capacity) {
+                    counter = new Counter<>(key, heap.size());
+                    counter.weight = weight;
+                    heap.add(counter);
+                    counters.put(key, counter);
+                    siftUp(counter.index);
+                    return;
+                }
+                // Reuse the smallest counter: the newcomer starts from its weight.
+                counter = heap.get(0);
+                counters.remove(counter.key);
+                counter.key = key;
+                counter.weight += weight;
+                counters.put(key, counter);
+                siftDown(0);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void decay(double factor) {
+            lock.lock();
+            try {
+                // Scaling every weight by the same factor keeps the heap order.
+                for (Counter<K> counter : heap) {
+                    counter.weight *= factor;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void copyTo(List<Estimate<K>> estimates) {
+            lock.lock();
+            try {
+                for (Counter<K> counter : heap) {
+                    estimates.add(new Estimate<>(counter.key, counter.weight));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        double weightOf(K key) {
+            lock.lock();
+            try {
+                Counter<K> counter = counters.get(key);
+                return counter == null ? 0 : counter.weight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void siftUp(int index) {
+            Counter<K> counter = heap.get(index);
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (heap.get(parent).weight <= counter.weight) {
+                    break;
+                }
+                place(heap.get(parent), index);
+                index = parent;
+            }
+            place(counter, index);
+        }
+
+        private void siftDown(int index) {
+            Counter<K> counter = heap.get(index);
+            int size = heap.size();
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap.get(child + 1).weight < heap.get(child).weight) {
+                    child++;
+                }
+                if (counter.weight <= heap.get(child).weight) {
+                    break;
+                }
+                place(heap.get(child), index);
+                index = child;
+            }
+            place(counter, index);
+        }
+
+        private void place(Counter<K> counter, int index) {
+            heap.set(index, counter);
+            counter.index = index;
+        }
+    }
+}
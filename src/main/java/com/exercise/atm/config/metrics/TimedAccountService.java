@@ -0,0 +1,54 @@
+package com.exercise.atm.config.metrics;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.domain.service.AccountService;
+import com.exercise.atm.domain.service.IdempotencyClaim;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Times every {@link AccountService} call, whichever engine is behind it. */
+final class TimedAccountService implements AccountService {
+
+    private final AccountService delegate;
+    private final ServiceTimer timer;
+
+    TimedAccountService(AccountService delegate, ServiceTimer timer) {
+        this.delegate = delegate;
+        this.timer = timer;
+    }
+
+    @Override
+    public AccountSnapshotResponse getSnapshot(UUID customerId) {
+        return timer.record("getSnapshot", () -> delegate.getSnapshot(customerId));
+    }
+
+    @Override
+    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount) {
+        return timer.record("deposit", () -> delegate.deposit(customerId, amount));
+    }
+
+    @Override
+    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount) {
+        return timer.record("withdraw", () -> delegate.withdraw(customerId, amount));
+    }
+
+    @Override
+    public boolean recordsIdempotencyKeys() {
+        return delegate.recordsIdempotencyKeys();
+    }
+
+    @Override
+    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return timer.record("deposit", () -> delegate.deposit(customerId, amount, claim));
+    }
+
+    @Override
+    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return timer.record("withdraw", () -> delegate.withdraw(customerId, amount, claim));
+    }
+
+    @Override
+    public AccountSnapshotResponse transfer(UUID customerId, UUID toCustomerId, BigDecimal amount) {
+        return timer.record("transfer", () -> delegate.transfer(customerId, toCustomerId, amount));
+    }
+}
@@ -0,0 +1,21 @@
+package com.exercise.atm.config.metrics;
+
+import com.exercise.atm.domain.service.AuthService;
+import com.exercise.atm.domain.service.LoginResult;
+
+/** Times every {@link AuthService} call. */
+final class TimedAuthService implements AuthService {
+
+    private final AuthService delegate;
+    private final ServiceTimer timer;
+
+    TimedAuthService(AuthService delegate, ServiceTimer timer) {
+        this.delegate = delegate;
+        this.timer = timer;
+    }
+
+    @Override
+    public LoginResult login(String cardNumber, String pin) {
+        return timer.record("login", () -> delegate.login(cardNumber, pin));
+    }
+}
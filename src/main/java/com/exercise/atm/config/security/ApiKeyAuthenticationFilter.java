@@ -0,0 +1,63 @@
+package com.exercise.atm.config.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates callers that are not customers by the {@code X-Api-Key} header on one path prefix, granting a fixed
+ * role instead of a customer id principal. Nobody is authenticated while the configured key is empty.
+ */
+abstract class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-Api-Key";
+
+    private final String path;
+    private final String role;
+
+    ApiKeyAuthenticationFilter(String path, String role) {
+        this.path = path;
+        this.role = role;
+    }
+
+    /** The configured key; empty disables the filter. */
+    abstract String apiKey();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String apiKey = apiKey();
+        String header = request.getHeader(API_KEY_HEADER);
+
+        if (!apiKey.isEmpty() && header != null && matches(apiKey, header)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    role.toLowerCase(), null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean matches(String apiKey, String header) {
+        return MessageDigest.isEqual(
+                apiKey.getBytes(StandardCharsets.UTF_8), header.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,9 +2,11 @@ package com.exercise.atm.config.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.time.Instant;
@@ -25,8 +27,14 @@ public class JwtProvider {
     @Value("${security.jwt.expiration-seconds:3600}")
     private long expirationSeconds;
 
-    private Key signingKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    // Both are immutable and thread-safe; built once instead of per token.
+    private Key signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String generateToken(UUID customerId, String customerName) {
@@ -37,7 +45,7 @@ public class JwtProvider {
                 .claim("name", customerName)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiry))
-                .signWith(signingKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -54,8 +62,7 @@ public class JwtProvider {
 
     public Optional<Claims> parseClaims(String token) {
         try {
-            Claims claims =
-                    Jwts.parserBuilder().setSigningKey(signingKey()).build().parseClaimsJws(token).getBody();
+            Claims claims = parser.parseClaimsJws(token).getBody();
             return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException ex) {
             return Optional.empty();
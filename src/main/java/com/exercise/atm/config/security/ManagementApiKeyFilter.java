@@ -0,0 +1,28 @@
+package com.exercise.atm.config.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates operators and the Prometheus scraper on {@code /actuator/**} by the {@code X-Api-Key} header, with
+ * the {@code OPERATOR} role that {@code prometheus} and {@code hotaccounts} require. Nobody is authenticated while
+ * {@code app.management.api-key} is empty.
+ */
+@Component
+public class ManagementApiKeyFilter extends ApiKeyAuthenticationFilter {
+
+    static final String ACTUATOR_PATH = "/actuator/";
+    static final String ROLE = "OPERATOR";
+
+    @Value("${app.management.api-key:}")
+    private String apiKey = "";
+
+    public ManagementApiKeyFilter() {
+        super(ACTUATOR_PATH, ROLE);
+    }
+
+    @Override
+    String apiKey() {
+        return apiKey;
+    }
+}
@@ -0,0 +1,69 @@
+package com.exercise.atm.config.security;
+
+import com.exercise.atm.api.dto.ErrorResponse;
+import com.exercise.atm.api.error.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rate limits {@code /api/v1/auth/**} and {@code /api/v1/account/**} by remote address and, once
+ * {@link JwtAuthenticationFilter} has run, by customer id. Over-limit requests get 429 here, before any controller or
+ * database work. Card numbers are only known after the login body is read, so {@code AuthController} checks those.
+ * Behind a proxy, enable {@code server.forward-headers-strategy} so the remote address is the client's.
+ */
+@RequiredArgsConstructor
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String AUTH_PATH = "/api/v1/auth/";
+    static final String ACCOUNT_PATH = "/api/v1/account";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!rateLimiter.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(AUTH_PATH) && !path.startsWith(ACCOUNT_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            rateLimiter.acquire(RateLimiter.Scope.ADDRESS, request.getRemoteAddr());
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UUID customerId) {
+                rateLimiter.acquire(RateLimiter.Scope.CUSTOMER, customerId);
+            }
+        } catch (RateLimitExceededException ex) {
+            reject(response, ex);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, RateLimitExceededException ex) throws IOException {
+        response.setStatus(ex.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(ex.getStatus().name(), ex.getMessage()));
+    }
+}
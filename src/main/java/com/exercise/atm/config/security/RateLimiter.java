@@ -0,0 +1,107 @@
+package com.exercise.atm.config.security;
+
+import com.exercise.atm.api.error.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process token buckets per card number, per authenticated customer and per client address. Everything is decided
+ * in memory, so a rejected request never reaches the database; rejections are counted in
+ * {@code atm.rate_limit.rejected} by scope. Limits are per instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    public enum Scope {
+        /** Login attempts per card number. */
+        CARD,
+        /** Authenticated requests per customer id. */
+        CUSTOMER,
+        /** Login and account requests per remote address. */
+        ADDRESS
+    }
+
+    private static final String REJECTED_MESSAGE = "Too many requests, try again later";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.rate-limit.max-tracked-keys:100000}")
+    private long maxTrackedKeys = 100_000;
+
+    @Value("${app.rate-limit.card.capacity:5}")
+    private int cardCapacity = 5;
+
+    @Value("${app.rate-limit.card.period:PT1M}")
+    private Duration cardPeriod = Duration.ofMinutes(1);
+
+    @Value("${app.rate-limit.customer.capacity:120}")
+    private int customerCapacity = 120;
+
+    @Value("${app.rate-limit.customer.period:PT1M}")
+    private Duration customerPeriod = Duration.ofMinutes(1);
+
+    @Value("${app.rate-limit.address.capacity:300}")
+    private int addressCapacity = 300;
+
+    @Value("${app.rate-limit.address.period:PT1M}")
+    private Duration addressPeriod = Duration.ofMinutes(1);
+
+    LongSupplier nanoTime = System::nanoTime;
+
+    private final Map<Scope, TokenBuckets> buckets = new EnumMap<>(Scope.class);
+    private final Map<Scope, Counter> rejections = new EnumMap<>(Scope.class);
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        buckets.put(Scope.CARD, new TokenBuckets(cardCapacity, cardPeriod, maxTrackedKeys));
+        buckets.put(Scope.CUSTOMER, new TokenBuckets(customerCapacity, customerPeriod, maxTrackedKeys));
+        buckets.put(Scope.ADDRESS, new TokenBuckets(addressCapacity, addressPeriod, maxTrackedKeys));
+        buckets.forEach((scope, scopeBuckets) -> {
+            String tag = scope.name().toLowerCase();
+            rejections.put(scope, Counter.builder("atm.rate_limit.rejected")
+                    .description("Requests rejected with 429 by the in-process rate limiter")
+                    .tag("scope", tag)
+                    .register(meterRegistry));
+            Gauge.builder("atm.rate_limit.keys", scopeBuckets, TokenBuckets::estimatedSize)
+                    .description("Keys with a live token bucket")
+                    .tag("scope", tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token from the bucket of {@code key} in {@code scope}.
+     *
+     * @throws RateLimitExceededException with the time until the next token when the bucket is empty
+     */
+    public void acquire(Scope scope, Object key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long waitNanos = buckets.get(scope).tryAcquire(key, nanoTime.getAsLong());
+        if (waitNanos > 0) {
+            rejections.get(scope).increment();
+            throw new RateLimitExceededException(REJECTED_MESSAGE, Duration.ofNanos(waitNanos));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.exercise.atm.config.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates settlement systems on {@code /api/v1/settlement/**} by the {@code X-Api-Key} header. They are not
+ * customers, so they get the {@code SETTLEMENT} role instead of a customer id principal. Nobody is authenticated
+ * while {@code app.settlement.api-key} is empty.
+ */
+@Component
+public class SettlementApiKeyFilter extends ApiKeyAuthenticationFilter {
+
+    static final String SETTLEMENT_PATH = "/api/v1/settlement/";
+    static final String ROLE = "SETTLEMENT";
+
+    @Value("${app.settlement.api-key:}")
+    private String apiKey = "";
+
+    public SettlementApiKeyFilter() {
+        super(SETTLEMENT_PATH, ROLE);
+    }
+
+    @Override
+    String apiKey() {
+        return apiKey;
+    }
+}
@@ -0,0 +1,54 @@
+package com.exercise.atm.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets of {@code capacity} tokens refilled evenly over {@code period}, one per key. Each bucket is a single
+ * {@link AtomicLong} holding the time at which it would be full again (the generic cell rate algorithm), so taking a
+ * token is one compare-and-set without locks or a refill thread. A key idle for a whole period has a full bucket
+ * anyway, which is why buckets can expire after {@code period} without access; {@code maxKeys} bounds the rest.
+ */
+final class TokenBuckets {
+
+    // Any real nanoTime() is later, so a new bucket starts full.
+    private static final long NEVER_USED = Long.MIN_VALUE;
+
+    private final long tokenNanos;
+    private final long burstNanos;
+    private final Cache<Object, AtomicLong> buckets;
+
+    TokenBuckets(int capacity, Duration period, long maxKeys) {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+        this.tokenNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = tokenNanos * (capacity - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(period)
+                .build();
+    }
+
+    /** Takes one token for {@code key}; returns 0 if one was available, else the nanoseconds until there is one. */
+    long tryAcquire(Object key, long nowNanos) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(NEVER_USED));
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, nowNanos);
+            long waitNanos = start - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, start + tokenNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    long estimatedSize() {
+        return buckets.estimatedSize();
+    }
+}
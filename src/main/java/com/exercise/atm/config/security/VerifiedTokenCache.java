@@ -0,0 +1,94 @@
+package com.exercise.atm.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers tokens whose signature already checked out, keyed by the token's SHA-256 digest, until the token's
+ * {@code exp}. A terminal session sends the same token on every request, so only the first one pays for Base64
+ * decoding, JSON parsing and the HMAC check. Rejected tokens are never cached; {@code max-size} 0 turns the cache off.
+ */
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwtVerifiedTokens";
+
+    private final JwtProvider jwtProvider;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.jwt.verified-cache.max-size:10000}")
+    private long maxSize = 10_000;
+
+    private Cache<ByteBuffer, Claims> verified;
+
+    @PostConstruct
+    void init() {
+        if (maxSize <= 0) {
+            return;
+        }
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, CACHE_NAME);
+    }
+
+    /** Same contract as {@link JwtProvider#parseClaims}; the returned claims are shared and must not be modified. */
+    public Optional<Claims> parseClaims(String token) {
+        if (verified == null) {
+            return jwtProvider.parseClaims(token);
+        }
+        ByteBuffer key = digest(token);
+        Claims cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Claims> claims = jwtProvider.parseClaims(token);
+        claims.filter(c -> c.getExpiration() != null).ifPresent(c -> verified.put(key, c));
+        return claims;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            // JwtProvider stamps and checks exp against the system clock, so the cache does too.
+            return Math.max(0, Duration.between(Instant.now(), claims.getExpiration().toInstant()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
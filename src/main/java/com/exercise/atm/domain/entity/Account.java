@@ -1,12 +1,12 @@
 package com.exercise.atm.domain.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -29,11 +29,13 @@ public class Account {
     @Column(columnDefinition = "uuid")
     private UUID id;
 
-    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "balance", nullable = false)
+    private Money balance;
 
-    @Column(name = "daily_limit", nullable = false, precision = 19, scale = 2)
-    private BigDecimal dailyLimit;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "daily_limit", nullable = false)
+    private Money dailyLimit;
 
     @Column(name = "customer_id", nullable = false, unique = true, columnDefinition = "uuid")
     private UUID customerId;
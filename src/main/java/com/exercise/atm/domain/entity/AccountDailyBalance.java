@@ -0,0 +1,65 @@
+package com.exercise.atm.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Opening/closing balance and activity totals per account and UTC day, rolled up from {@code transactions} so
+ * historical balances and statement summaries don't have to scan the ledger.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "account_daily_balances")
+public class AccountDailyBalance {
+
+    @EmbeddedId
+    private AccountDailyBalanceId id;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "opening_balance", nullable = false)
+    private Money openingBalance;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "closing_balance", nullable = false)
+    private Money closingBalance;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "deposit_total", nullable = false)
+    private Money depositTotal;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "withdrawal_total", nullable = false)
+    private Money withdrawalTotal;
+
+    @Column(name = "transaction_count", nullable = false)
+    private int transactionCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public AccountDailyBalance(AccountDailyBalanceId id, Money openingBalance) {
+        this.id = id;
+        this.openingBalance = openingBalance;
+        this.closingBalance = openingBalance;
+        this.depositTotal = Money.ZERO;
+        this.withdrawalTotal = Money.ZERO;
+    }
+}
@@ -0,0 +1,47 @@
+package com.exercise.atm.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Running total of withdrawals per account and UTC day, maintained alongside the ledger so the daily limit can be
+ * checked with a primary-key lookup instead of summing {@code transactions}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "account_daily_usage")
+public class AccountDailyUsage {
+
+    @EmbeddedId
+    private AccountDailyUsageId id;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "withdrawn_amount", nullable = false)
+    private Money withdrawnAmount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public AccountDailyUsage(AccountDailyUsageId id, Money withdrawnAmount) {
+        this.id = id;
+        this.withdrawnAmount = withdrawnAmount;
+    }
+}
@@ -0,0 +1,27 @@
+package com.exercise.atm.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class AccountDailyUsageId implements Serializable {
+
+    @Column(name = "account_id", nullable = false, columnDefinition = "uuid")
+    private UUID accountId;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+}
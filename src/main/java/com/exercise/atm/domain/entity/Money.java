@@ -0,0 +1,65 @@
+package com.exercise.atm.domain.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount in the account currency as a whole number of minor units (cents). Arithmetic works on the {@code long}
+ * and throws {@link ArithmeticException} on overflow instead of wrapping, so the balance and limit checks need no
+ * {@link BigDecimal} intermediates; {@code BigDecimal} only appears where amounts enter or leave as JSON. Stored as
+ * {@code BIGINT} through {@link MoneyConverter}.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /** @throws ArithmeticException if {@code amount} has more than two decimals or does not fit in a {@code long} */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(toMinor(amount));
+    }
+
+    /** Minor units of {@code amount}, for binding to a {@code BIGINT} money column. */
+    public static long toMinor(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /** The decimal value of {@code minorUnits}, for reading a {@code BIGINT} money column into a response. */
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money max(Money other) {
+        return minorUnits >= other.minorUnits ? this : other;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return minorUnits > other.minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toDecimal(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
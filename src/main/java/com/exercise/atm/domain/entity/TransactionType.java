@@ -2,5 +2,12 @@ package com.exercise.atm.domain.entity;
 
 public enum TransactionType {
     DEPOSIT,
-    WITHDRAWAL
+    WITHDRAWAL,
+    TRANSFER_IN,
+    TRANSFER_OUT;
+
+    /** Whether this kind of transaction adds to the balance. */
+    public boolean isCredit() {
+        return this == DEPOSIT || this == TRANSFER_IN;
+    }
 }
@@ -0,0 +1,31 @@
+package com.exercise.atm.domain.repository;
+
+import com.exercise.atm.domain.entity.AccountDailyBalance;
+import com.exercise.atm.domain.entity.AccountDailyBalanceId;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, AccountDailyBalanceId> {
+
+    @Query("""
+            select b from AccountDailyBalance b
+            where b.id.accountId = :accountId
+              and b.id.balanceDate between :from and :to
+            order by b.id.balanceDate
+            """)
+    List<AccountDailyBalance> findRange(UUID accountId, LocalDate from, LocalDate to);
+
+    /** Latest day with activity before {@code date}; its closing balance is the balance when {@code date} began. */
+    Optional<AccountDailyBalance> findFirstByIdAccountIdAndIdBalanceDateLessThanOrderByIdBalanceDateDesc(
+            UUID accountId, LocalDate date);
+
+    /** Earliest day with activity after {@code date}; its opening balance is the balance when {@code date} ended. */
+    Optional<AccountDailyBalance> findFirstByIdAccountIdAndIdBalanceDateGreaterThanOrderByIdBalanceDateAsc(
+            UUID accountId, LocalDate date);
+}
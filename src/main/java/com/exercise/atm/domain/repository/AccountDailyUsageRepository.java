@@ -0,0 +1,10 @@
+package com.exercise.atm.domain.repository;
+
+import com.exercise.atm.domain.entity.AccountDailyUsage;
+import com.exercise.atm.domain.entity.AccountDailyUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountDailyUsageRepository extends JpaRepository<AccountDailyUsage, AccountDailyUsageId> {
+}
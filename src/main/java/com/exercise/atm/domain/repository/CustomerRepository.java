@@ -1,13 +1,34 @@
 package com.exercise.atm.domain.repository;
 
 import com.exercise.atm.domain.entity.Customer;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
 
     Optional<Customer> findByCardNumber(String cardNumber);
+
+    /**
+     * Single-statement writes, so a login holds a connection only for the UPDATE itself. Clears the persistence
+     * context so that a caller already inside a transaction does not keep reading the stale customer.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Customer c set c.failedAttempts = :failedAttempts, c.lockedUntil = :lockedUntil, c.updatedAt = :now
+            where c.id = :id
+            """)
+    int updateLoginState(UUID id, int failedAttempts, Instant lockedUntil, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update Customer c set c.pinHash = :pinHash, c.updatedAt = :now where c.id = :id")
+    int updatePinHash(UUID id, String pinHash, Instant now);
 }
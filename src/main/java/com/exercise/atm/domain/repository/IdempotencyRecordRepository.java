@@ -0,0 +1,36 @@
+package com.exercise.atm.domain.repository;
+
+import com.exercise.atm.domain.entity.IdempotencyRecord;
+import com.exercise.atm.domain.entity.IdempotencyRecordId;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+
+    /**
+     * Plain INSERT so a concurrent duplicate fails on the primary key straight away instead of at flush time.
+     */
+    @Modifying
+    @Query(value = """
+            insert into idempotency_keys
+                (customer_id, idempotency_key, operation, amount, response_body, created_at, expires_at)
+            values (:customerId, :idempotencyKey, :operation, :amount, :responseBody, :createdAt, :expiresAt)
+            """, nativeQuery = true)
+    void insert(
+            UUID customerId,
+            String idempotencyKey,
+            String operation,
+            long amount,
+            String responseBody,
+            Instant createdAt,
+            Instant expiresAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
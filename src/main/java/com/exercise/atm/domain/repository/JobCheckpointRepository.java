@@ -0,0 +1,16 @@
+package com.exercise.atm.domain.repository;
+
+import com.exercise.atm.domain.entity.JobCheckpoint;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    /** Locks the checkpoint so only one instance advances a job at a time. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<JobCheckpoint> findOneByJobName(String jobName);
+}
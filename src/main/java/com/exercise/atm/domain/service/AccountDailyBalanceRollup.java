@@ -0,0 +1,242 @@
+package com.exercise.atm.domain.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.domain.entity.AccountDailyBalance;
+import com.exercise.atm.domain.entity.AccountDailyBalanceId;
+import com.exercise.atm.domain.entity.JobCheckpoint;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+import com.exercise.atm.domain.repository.AccountDailyBalanceRepository;
+import com.exercise.atm.domain.repository.JobCheckpointRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Folds new ledger rows into {@code account_daily_balances}, reading {@code transactions} in {@code ledger_seq} order
+ * from the last checkpoint. Each batch and its checkpoint commit together, so rows are counted exactly once.
+ *
+ * <p>{@code ledger_seq} is drawn when a row is inserted, and every engine inserts an account's rows while holding
+ * that account's lock, so one account's rows are numbered in commit order even when a batch stamps them all with the
+ * same {@code occurred_at}. Across accounts a number can still commit after a higher one: numbers the job passes over
+ * are recorded in {@code job_checkpoint_gaps} and re-read on every run, so a late row is rolled up once it commits.
+ * Its account cannot have committed anything after it in the meantime, so it is still the newest row of its day. A
+ * number whose row never shows up within {@code app.balances.rollup.gap-timeout} (a rolled-back insert) is dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountDailyBalanceRollup {
+
+    static final String JOB_NAME = "account-daily-balances";
+
+    /**
+     * Rows after the checkpoint plus committed rows for recorded gaps, in one statement so both are read from the same
+     * snapshot: a gap row committing between two separate reads could otherwise be folded after a newer row of its
+     * account that the second read already saw.
+     */
+    static final String NEXT_ROWS_SQL = """
+            SELECT ledger_seq, id, account_id, type, amount, occurred_at, balance_after
+            FROM (
+                SELECT t.ledger_seq, t.id, t.account_id, t.type, t.amount, t.occurred_at, t.balance_after
+                FROM job_checkpoint_gaps g
+                JOIN transactions t ON t.ledger_seq = g.ledger_seq
+                WHERE g.job_name = :jobName
+                UNION ALL
+                SELECT ledger_seq, id, account_id, type, amount, occurred_at, balance_after
+                FROM transactions
+                WHERE ledger_seq > :after
+            ) pending
+            ORDER BY ledger_seq
+            LIMIT :limit
+            """;
+
+    static final String INSERT_GAP_SQL = """
+            INSERT INTO job_checkpoint_gaps (job_name, ledger_seq, detected_at)
+            VALUES (:jobName, :ledgerSeq, :detectedAt)
+            """;
+
+    static final String DELETE_GAP_SQL =
+            "DELETE FROM job_checkpoint_gaps WHERE job_name = :jobName AND ledger_seq = :ledgerSeq";
+
+    static final String EXPIRE_GAPS_SQL =
+            "DELETE FROM job_checkpoint_gaps WHERE job_name = :jobName AND detected_at < :expiredBefore";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Value("${app.balances.rollup.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${app.balances.rollup.gap-timeout:PT1H}")
+    private Duration gapTimeout = Duration.ofHours(1);
+
+    @Scheduled(cron = "${app.balances.rollup.cron:0 * * * * *}")
+    public void scheduledRun() {
+        int rows = rollUp();
+        if (rows > 0) {
+            log.info("Rolled up {} ledger rows into account_daily_balances", rows);
+        }
+    }
+
+    /** Processes every committed row not rolled up yet, in batches, and returns the number of ledger rows rolled up. */
+    public int rollUp() {
+        int total = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> rollUpBatch());
+            total += processed;
+        } while (processed == batchSize);
+        return total;
+    }
+
+    private int rollUpBatch() {
+        JobCheckpoint checkpoint = jobCheckpointRepository
+                .findOneByJobName(JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("Missing job checkpoint " + JOB_NAME));
+        long after = checkpoint.getLastLedgerSeq() == null ? 0 : checkpoint.getLastLedgerSeq();
+        Instant now = Instant.now(clock);
+        expireGaps(now);
+
+        List<LedgerRow> rows = jdbcTemplate.query(
+                NEXT_ROWS_SQL,
+                new MapSqlParameterSource()
+                        .addValue("jobName", JOB_NAME)
+                        .addValue("after", after)
+                        .addValue("limit", batchSize),
+                AccountDailyBalanceRollup::mapRow);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        // Late rows carry lower numbers than anything after the checkpoint, so they come first.
+        List<LedgerRow> lateRows = rows.stream().filter(row -> row.ledgerSeq() <= after).toList();
+        List<LedgerRow> newRows = rows.subList(lateRows.size(), rows.size());
+
+        Set<AccountDailyBalanceId> dayIds = rows.stream()
+                .map(LedgerRow::dayId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<AccountDailyBalanceId, AccountDailyBalance> days = new HashMap<>();
+        accountDailyBalanceRepository.findAllById(dayIds).forEach(day -> days.put(day.getId(), day));
+
+        for (LedgerRow row : rows) {
+            AccountDailyBalance day =
+                    days.computeIfAbsent(row.dayId(), id -> new AccountDailyBalance(id, row.balanceBefore()));
+            // Incoming transfers count towards the deposit total and outgoing ones towards the withdrawal total.
+            if (row.type().isCredit()) {
+                day.setDepositTotal(day.getDepositTotal().plus(row.amount()));
+            } else {
+                day.setWithdrawalTotal(day.getWithdrawalTotal().plus(row.amount()));
+            }
+            day.setTransactionCount(day.getTransactionCount() + 1);
+            day.setClosingBalance(row.balanceAfter());
+        }
+        accountDailyBalanceRepository.saveAll(days.values());
+
+        if (!lateRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_GAP_SQL, gapParams(lateRows.stream().map(LedgerRow::ledgerSeq), null));
+            log.info("Rolled up {} ledger rows that committed after later ones", lateRows.size());
+        }
+        if (!newRows.isEmpty()) {
+            recordGaps(after, newRows, now);
+            checkpoint.setLastLedgerSeq(newRows.get(newRows.size() - 1).ledgerSeq());
+        }
+        // A filled gap is deleted above, so a full batch of late rows cannot come back on the next one.
+        return rows.size();
+    }
+
+    /** Records the numbers between the checkpoint and the last row read that have no committed row yet. */
+    private void recordGaps(long after, List<LedgerRow> newRows, Instant detectedAt) {
+        List<Long> gaps = new ArrayList<>();
+        long expected = after + 1;
+        for (LedgerRow row : newRows) {
+            for (long missing = expected; missing < row.ledgerSeq(); missing++) {
+                gaps.add(missing);
+            }
+            expected = row.ledgerSeq() + 1;
+        }
+        if (!gaps.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_GAP_SQL, gapParams(gaps.stream(), detectedAt));
+        }
+    }
+
+    private void expireGaps(Instant now) {
+        int expired = jdbcTemplate.update(
+                EXPIRE_GAPS_SQL,
+                new MapSqlParameterSource()
+                        .addValue("jobName", JOB_NAME)
+                        .addValue("expiredBefore", utc(now.minus(gapTimeout))));
+        if (expired > 0) {
+            // Normally rolled-back inserts; a row committing even later than this is not rolled up.
+            log.warn("Stopped waiting for {} ledger numbers unused for {}", expired, gapTimeout);
+        }
+    }
+
+    private static MapSqlParameterSource[] gapParams(Stream<Long> ledgerSeqs, Instant detectedAt) {
+        return ledgerSeqs
+                .map(ledgerSeq -> new MapSqlParameterSource()
+                        .addValue("jobName", JOB_NAME)
+                        .addValue("ledgerSeq", ledgerSeq)
+                        .addValue("detectedAt", detectedAt == null ? null : utc(detectedAt)))
+                .toArray(MapSqlParameterSource[]::new);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static LedgerRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new LedgerRow(
+                rs.getLong("ledger_seq"),
+                rs.getObject("id", UUID.class),
+                rs.getObject("account_id", UUID.class),
+                TransactionType.valueOf(rs.getString("type")),
+                Money.ofMinor(rs.getLong("amount")),
+                rs.getObject("occurred_at", OffsetDateTime.class).toInstant(),
+                Money.ofMinor(rs.getLong("balance_after")));
+    }
+
+    private record LedgerRow(
+            long ledgerSeq,
+            UUID id,
+            UUID accountId,
+            TransactionType type,
+            Money amount,
+            Instant occurredAt,
+            Money balanceAfter) {
+
+        AccountDailyBalanceId dayId() {
+            return new AccountDailyBalanceId(accountId, LocalDate.ofInstant(occurredAt, ZoneOffset.UTC));
+        }
+
+        Money balanceBefore() {
+            return type.isCredit() ? balanceAfter.minus(amount) : balanceAfter.plus(amount);
+        }
+    }
+}
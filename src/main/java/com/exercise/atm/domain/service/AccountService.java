@@ -35,4 +35,50 @@ public interface AccountService {
      *     limit is exceeded
      */
     AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount);
+
+    /**
+     * Whether deposits and withdrawals record their {@link IdempotencyClaim} in the commit that applies them. Engines
+     * that apply mutations on another thread do, so the caller does not hold a transaction (and a pooled connection)
+     * while it waits; for the others, {@link IdempotencyService} records the key around the call.
+     */
+    default boolean recordsIdempotencyKeys() {
+        return false;
+    }
+
+    /**
+     * {@link #deposit(UUID, BigDecimal)} guarded by {@code claim}. When the key is already recorded the recorded
+     * response is returned instead; engines that do not {@linkplain #recordsIdempotencyKeys() record keys} ignore it.
+     * The default calls {@link #deposit(UUID, BigDecimal)} on the target itself, past any transactional proxy, so
+     * callers without a claim use the two-argument method.
+     *
+     * @param claim the key to record with the deposit, or {@code null}
+     * @throws com.exercise.atm.api.error.BusinessException also when the key was used for a different request
+     */
+    default AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return deposit(customerId, amount);
+    }
+
+    /**
+     * {@link #withdraw(UUID, BigDecimal)} guarded by {@code claim}, like {@link #deposit(UUID, BigDecimal,
+     * IdempotencyClaim)}.
+     *
+     * @param claim the key to record with the withdrawal, or {@code null}
+     * @throws com.exercise.atm.api.error.BusinessException also when the key was used for a different request
+     */
+    default AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return withdraw(customerId, amount);
+    }
+
+    /**
+     * Moves funds from the customer's account to another customer's account. The debit is checked like a withdrawal,
+     * including the daily limit; returns the sender's updated snapshot.
+     *
+     * @param customerId authenticated customer id from the JWT (sender)
+     * @param toCustomerId recipient customer id
+     * @param amount amount to transfer (positive)
+     * @return sender's snapshot after the transfer
+     * @throws com.exercise.atm.api.error.BusinessException when either account is missing, both are the same,
+     *     funds are insufficient, the daily limit is exceeded, or the engine does not support transfers
+     */
+    AccountSnapshotResponse transfer(UUID customerId, UUID toCustomerId, BigDecimal amount);
 }
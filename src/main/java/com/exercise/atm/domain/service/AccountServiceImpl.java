@@ -5,30 +5,42 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.exercise.atm.api.dto.AccountSnapshotResponse;
 import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.config.metrics.HotAccountTracker;
+import com.exercise.atm.config.metrics.RequestMetrics;
 import com.exercise.atm.domain.entity.Account;
+import com.exercise.atm.domain.entity.AccountDailyUsage;
+import com.exercise.atm.domain.entity.AccountDailyUsageId;
+import com.exercise.atm.domain.entity.Money;
 import com.exercise.atm.domain.entity.Transaction;
 import com.exercise.atm.domain.entity.TransactionType;
+import com.exercise.atm.domain.repository.AccountDailyUsageRepository;
 import com.exercise.atm.domain.repository.AccountRepository;
-import com.exercise.atm.domain.repository.CustomerRepository;
 import com.exercise.atm.domain.repository.TransactionRepository;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.account.engine", havingValue = "locking", matchIfMissing = true)
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
-    private final CustomerRepository customerRepository;
+    private final AccountDailyUsageRepository accountDailyUsageRepository;
+    private final CustomerProfileCache customerProfileCache;
+    private final AccountTransfers accountTransfers;
+    private final RequestMetrics requestMetrics;
+    private final HotAccountTracker hotAccountTracker;
     private final Clock clock;
 
     @Override
@@ -38,33 +50,18 @@ public class AccountServiceImpl implements AccountService {
                 .findByCustomerId(customerId)
                 .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
 
-        Instant now = Instant.now(clock);
-        Instant startOfDay = startOfDay(now);
-        Instant endOfDay = endOfDay(now);
-
-        BigDecimal withdrawnToday = transactionRepository.sumWithdrawnToday(account.getId(), startOfDay, endOfDay);
-        
-        if (withdrawnToday == null) withdrawnToday = BigDecimal.ZERO;
+        Money withdrawnToday = withdrawnOn(account.getId(), today(Instant.now(clock)));
 
-        BigDecimal remainingLimit = account.getDailyLimit().subtract(withdrawnToday).max(BigDecimal.ZERO);
-
-        return new AccountSnapshotResponse(
-                account.getCustomerId(),
-                resolveCustomerName(account.getCustomerId()),
-                account.getBalance(),
-                account.getDailyLimit(),
-                withdrawnToday,
-                remainingLimit);
+        return snapshot(account, account.getBalance(), withdrawnToday);
     }
 
     @Override
     @Transactional
-    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount) {
-        Account account = accountRepository
-                .findOneByCustomerId(customerId)
-                .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal requestedAmount) {
+        Money amount = Money.of(requestedAmount);
+        Account account = lockAccount(customerId);
 
-        BigDecimal newBalance = account.getBalance().add(amount);
+        Money newBalance = account.getBalance().plus(amount);
         account.setBalance(newBalance);
 
         Instant now = Instant.now(clock);
@@ -77,52 +74,38 @@ public class AccountServiceImpl implements AccountService {
         transaction.setBalanceAfter(newBalance);
         transactionRepository.save(transaction);
 
-        Instant startOfDay = startOfDay(now);
-        Instant endOfDay = endOfDay(now);
-        
-        BigDecimal withdrawnToday =
-                transactionRepository.sumWithdrawnToday(account.getId(), startOfDay, endOfDay);
-        
-        if (withdrawnToday == null) withdrawnToday = BigDecimal.ZERO;
-
-        BigDecimal remainingLimit = account.getDailyLimit().subtract(withdrawnToday).max(BigDecimal.ZERO);
+        Money withdrawnToday = withdrawnOn(account.getId(), today(now));
 
-        return new AccountSnapshotResponse(
-                account.getCustomerId(),
-                resolveCustomerName(account.getCustomerId()),
-                newBalance,
-                account.getDailyLimit(),
-                withdrawnToday,
-                remainingLimit);
+        return snapshot(account, newBalance, withdrawnToday);
     }
 
     @Override
     @Transactional
-    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount) {
-        Account account = accountRepository
-                .findOneByCustomerId(customerId)
-                .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal requestedAmount) {
+        Money amount = Money.of(requestedAmount);
+        Account account = lockAccount(customerId);
 
         Instant now = Instant.now(clock);
-        Instant startOfDay = startOfDay(now);
-        Instant endOfDay = endOfDay(now);
 
-        BigDecimal withdrawnToday = transactionRepository.sumWithdrawnToday(account.getId(), startOfDay, endOfDay);
-        if (withdrawnToday == null) {
-            withdrawnToday = BigDecimal.ZERO;
-        }
+        // Safe to read-modify-write: every writer of this row holds the account lock taken above.
+        AccountDailyUsageId usageId = new AccountDailyUsageId(account.getId(), today(now));
+        AccountDailyUsage usage = accountDailyUsageRepository
+                .findById(usageId)
+                .orElseGet(() -> new AccountDailyUsage(usageId, Money.ZERO));
+
+        Money withdrawnToday = usage.getWithdrawnAmount();
 
-        BigDecimal remainingLimit = account.getDailyLimit().subtract(withdrawnToday);
+        Money remainingLimit = account.getDailyLimit().minus(withdrawnToday);
 
-        if (amount.compareTo(account.getBalance()) > 0) {
-            throw new BusinessException("Insufficient funds", HttpStatus.CONFLICT);
+        if (amount.isGreaterThan(account.getBalance())) {
+            throw BusinessException.insufficientFunds();
         }
 
-        if (amount.compareTo(remainingLimit) > 0) {
-            throw new BusinessException("Daily withdrawal limit exceeded", HttpStatus.CONFLICT);
+        if (amount.isGreaterThan(remainingLimit)) {
+            throw BusinessException.dailyLimitExceeded();
         }
 
-        BigDecimal newBalance = account.getBalance().subtract(amount);
+        Money newBalance = account.getBalance().minus(amount);
         account.setBalance(newBalance);
 
         Transaction transaction = new Transaction();
@@ -133,37 +116,52 @@ public class AccountServiceImpl implements AccountService {
         transaction.setBalanceAfter(newBalance);
         transactionRepository.save(transaction);
 
-        withdrawnToday = withdrawnToday.add(amount);
+        withdrawnToday = withdrawnToday.plus(amount);
+        usage.setWithdrawnAmount(withdrawnToday);
+        accountDailyUsageRepository.save(usage);
 
-        remainingLimit = account.getDailyLimit().subtract(withdrawnToday).max(BigDecimal.ZERO);
+        return snapshot(account, newBalance, withdrawnToday);
+    }
 
-        return new AccountSnapshotResponse(
-                account.getCustomerId(),
-                resolveCustomerName(account.getCustomerId()),
-                newBalance,
-                account.getDailyLimit(),
-                withdrawnToday,
-                remainingLimit);
+    @Override
+    public AccountSnapshotResponse transfer(UUID customerId, UUID toCustomerId, BigDecimal amount) {
+        return accountTransfers.transfer(customerId, toCustomerId, amount);
     }
 
-    private Instant startOfDay(Instant instant) {
-        return LocalDate.ofInstant(instant, ZoneOffset.UTC)
-                .atStartOfDay()
-                .toInstant(ZoneOffset.UTC);
+    private Account lockAccount(UUID customerId) {
+        long start = System.nanoTime();
+        Optional<Account> locked = accountRepository.findOneByCustomerId(customerId);
+        long waitNanos = System.nanoTime() - start;
+        requestMetrics.recordLockWait("account", waitNanos);
+        Account account = locked.orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+        hotAccountTracker.record(account.getId(), waitNanos);
+        return account;
     }
 
-    private Instant endOfDay(Instant instant) {
-        return LocalDate.ofInstant(instant, ZoneOffset.UTC)
-                .plusDays(1)
-                .atStartOfDay()
-                .minusNanos(1)
-                .toInstant(ZoneOffset.UTC);
+    private LocalDate today(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private Money withdrawnOn(UUID accountId, LocalDate day) {
+        return accountDailyUsageRepository
+                .findById(new AccountDailyUsageId(accountId, day))
+                .map(AccountDailyUsage::getWithdrawnAmount)
+                .orElse(Money.ZERO);
+    }
+
+    // Amounts become BigDecimal only here, for the JSON response.
+    private AccountSnapshotResponse snapshot(Account account, Money balance, Money withdrawnToday) {
+        Money remainingLimit = account.getDailyLimit().minus(withdrawnToday).max(Money.ZERO);
+        return new AccountSnapshotResponse(
+                account.getCustomerId(),
+                resolveCustomerName(account.getCustomerId()),
+                balance.toBigDecimal(),
+                account.getDailyLimit().toBigDecimal(),
+                withdrawnToday.toBigDecimal(),
+                remainingLimit.toBigDecimal());
     }
 
     private String resolveCustomerName(UUID customerId) {
-        return customerRepository
-                .findById(customerId)
-                .map(c -> c.getName())
-                .orElseThrow(() -> new BusinessException("Customer not found", HttpStatus.NOT_FOUND));
+        return customerProfileCache.nameOf(customerId);
     }
 }
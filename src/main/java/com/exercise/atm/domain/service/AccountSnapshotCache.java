@@ -0,0 +1,123 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Caches account snapshots per customer for polling clients, whichever engine is active. Concurrent misses for the
+ * same customer wait for a single load. Entries are evicted after every deposit/withdrawal, expire after a short TTL
+ * (to bound staleness from other instances) and never outlive the UTC day whose withdrawals they report.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountSnapshotCache {
+
+    static final String CACHE_NAME = "accountSnapshots";
+
+    private final AccountService accountService;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Value("${app.account.snapshot-cache.max-size:10000}")
+    private long maxSize = 10_000;
+
+    @Value("${app.account.snapshot-cache.ttl:PT30S}")
+    private Duration ttl = Duration.ofSeconds(30);
+
+    private AsyncCache<UUID, CachedSnapshot> snapshots;
+
+    @PostConstruct
+    void init() {
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new SnapshotExpiry())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots.synchronous(), CACHE_NAME);
+    }
+
+    public CachedSnapshot get(UUID customerId) {
+        return Futures.getOrLoad(snapshots, customerId, this::load);
+    }
+
+    /**
+     * Drops the cached snapshot. Call after the change is committed; an in-flight load for the same customer is
+     * dropped too, though callers already waiting on it still receive its result.
+     */
+    public void evict(UUID customerId) {
+        snapshots.synchronous().invalidate(customerId);
+    }
+
+    private CachedSnapshot load(UUID customerId) {
+        Instant endOfDay = LocalDate.now(clock.withZone(ZoneOffset.UTC))
+                .plusDays(1)
+                .atStartOfDay()
+                .toInstant(ZoneOffset.UTC);
+        AccountSnapshotResponse snapshot = accountService.getSnapshot(customerId);
+        return new CachedSnapshot(snapshot, etagOf(snapshot), endOfDay);
+    }
+
+    static String etagOf(AccountSnapshotResponse snapshot) {
+        String content = String.join(
+                "|",
+                snapshot.customerId().toString(),
+                snapshot.customerName(),
+                plain(snapshot.balance()),
+                plain(snapshot.dailyLimit()),
+                plain(snapshot.withdrawnToday()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static String plain(BigDecimal value) {
+        return value.stripTrailingZeros().toPlainString();
+    }
+
+    public record CachedSnapshot(AccountSnapshotResponse snapshot, String etag, Instant validUntil) {}
+
+    private final class SnapshotExpiry implements Expiry<UUID, CachedSnapshot> {
+
+        @Override
+        public long expireAfterCreate(UUID customerId, CachedSnapshot cached, long currentTime) {
+            Duration untilEndOfDay = Duration.between(Instant.now(clock), cached.validUntil());
+            Duration lifetime = untilEndOfDay.compareTo(ttl) < 0 ? untilEndOfDay : ttl;
+            return Math.max(0, lifetime.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID customerId, CachedSnapshot cached, long currentTime, long currentDuration) {
+            return expireAfterCreate(customerId, cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID customerId, CachedSnapshot cached, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.exercise.atm.domain.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.domain.entity.Money;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads an account snapshot (balance, limit, today's withdrawals and customer name) in one query for the JDBC-based
+ * account engines. Money columns hold minor units (see {@link Money}).
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountSnapshotReader {
+
+    static final String SNAPSHOT_SQL = """
+            SELECT a.customer_id, c.name, a.balance, a.daily_limit,
+                   COALESCE(u.withdrawn_amount, 0) AS withdrawn_amount
+            FROM accounts a
+            JOIN customers c ON c.id = a.customer_id
+            LEFT JOIN account_daily_usage u ON u.account_id = a.id AND u.usage_date = :usageDate
+            WHERE a.customer_id = :customerId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<AccountSnapshotResponse> read(UUID customerId, LocalDate usageDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("customerId", customerId)
+                .addValue("usageDate", usageDate);
+        return jdbcTemplate.query(SNAPSHOT_SQL, params, AccountSnapshotReader::mapSnapshot).stream().findFirst();
+    }
+
+    /**
+     * Maps a row exposing {@code customer_id}, {@code name}, {@code balance}, {@code daily_limit} and
+     * {@code withdrawn_amount} to a snapshot.
+     */
+    static AccountSnapshotResponse mapSnapshot(ResultSet rs, int rowNum) throws SQLException {
+        Money dailyLimit = Money.ofMinor(rs.getLong("daily_limit"));
+        Money withdrawnToday = Money.ofMinor(rs.getLong("withdrawn_amount"));
+        return new AccountSnapshotResponse(
+                rs.getObject("customer_id", UUID.class),
+                rs.getString("name"),
+                Money.toDecimal(rs.getLong("balance")),
+                dailyLimit.toBigDecimal(),
+                withdrawnToday.toBigDecimal(),
+                dailyLimit.minus(withdrawnToday).max(Money.ZERO).toBigDecimal());
+    }
+
+    static AccountSnapshotResponse snapshot(
+            UUID customerId, String customerName, Money balance, Money dailyLimit, Money withdrawnToday) {
+        return new AccountSnapshotResponse(
+                customerId,
+                customerName,
+                balance.toBigDecimal(),
+                dailyLimit.toBigDecimal(),
+                withdrawnToday.toBigDecimal(),
+                dailyLimit.minus(withdrawnToday).max(Money.ZERO).toBigDecimal());
+    }
+}
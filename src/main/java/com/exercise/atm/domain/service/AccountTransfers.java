@@ -0,0 +1,150 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.config.metrics.HotAccountTracker;
+import com.exercise.atm.config.metrics.RequestMetrics;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves funds between two accounts for the engines that serialize on database row locks. Both rows are locked by a
+ * single {@code SELECT ... ORDER BY id FOR UPDATE}, so transfers running in opposite directions take the locks in the
+ * same order and cannot deadlock. The debit side is checked like a withdrawal, including the daily limit.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountTransfers {
+
+    static final String LOCK_ACCOUNTS_SQL = """
+            SELECT id, customer_id, balance, daily_limit
+            FROM accounts
+            WHERE customer_id IN (:customerIds)
+            ORDER BY id
+            FOR UPDATE
+            """;
+
+    static final String WITHDRAWN_TODAY_SQL =
+            "SELECT withdrawn_amount FROM account_daily_usage WHERE account_id = :accountId AND usage_date = :usageDate";
+
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = ?, updated_at = ? WHERE id = ?";
+
+    static final String UPDATE_USAGE_SQL =
+            "UPDATE account_daily_usage SET withdrawn_amount = ?, updated_at = ? WHERE account_id = ? AND usage_date = ?";
+
+    static final String INSERT_USAGE_SQL =
+            "INSERT INTO account_daily_usage (account_id, usage_date, withdrawn_amount) VALUES (?, ?, ?)";
+
+    static final String INSERT_LEDGER_SQL = """
+            INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CustomerProfileCache customerProfileCache;
+    private final RequestMetrics requestMetrics;
+    private final HotAccountTracker hotAccountTracker;
+    private final Clock clock;
+
+    @Transactional
+    public AccountSnapshotResponse transfer(UUID fromCustomerId, UUID toCustomerId, BigDecimal requestedAmount) {
+        if (fromCustomerId.equals(toCustomerId)) {
+            throw new BusinessException("Cannot transfer to the same account", HttpStatus.BAD_REQUEST);
+        }
+        Money amount = Money.of(requestedAmount);
+        long start = System.nanoTime();
+        List<LockedAccount> locked = jdbcTemplate.query(
+                LOCK_ACCOUNTS_SQL,
+                new MapSqlParameterSource("customerIds", List.of(fromCustomerId, toCustomerId)),
+                AccountTransfers::mapAccount);
+        long waitNanos = System.nanoTime() - start;
+        requestMetrics.recordLockWait("transfer", waitNanos);
+        locked.forEach(account -> hotAccountTracker.record(account.id(), waitNanos));
+        LockedAccount from = find(locked, fromCustomerId, "Account not found");
+        LockedAccount to = find(locked, toCustomerId, "Recipient account not found");
+
+        Instant now = Instant.now(clock);
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        Money withdrawnToday = withdrawnToday(from.id(), today);
+
+        if (amount.isGreaterThan(from.balance())) {
+            throw BusinessException.insufficientFunds();
+        }
+        if (amount.isGreaterThan(from.dailyLimit().minus(withdrawnToday))) {
+            throw BusinessException.dailyLimitExceeded();
+        }
+
+        Money fromBalance = from.balance().minus(amount);
+        Money toBalance = to.balance().plus(amount);
+        Money newWithdrawnToday = withdrawnToday.plus(amount);
+        OffsetDateTime timestamp = now.atOffset(ZoneOffset.UTC);
+
+        var jdbc = jdbcTemplate.getJdbcOperations();
+        jdbc.batchUpdate(UPDATE_BALANCE_SQL, List.of(
+                new Object[] {fromBalance.minorUnits(), timestamp, from.id()},
+                new Object[] {toBalance.minorUnits(), timestamp, to.id()}));
+        long withdrawnMinor = newWithdrawnToday.minorUnits();
+        if (jdbc.update(UPDATE_USAGE_SQL, withdrawnMinor, timestamp, from.id(), today) == 0) {
+            jdbc.update(INSERT_USAGE_SQL, from.id(), today, withdrawnMinor);
+        }
+        long amountMinor = amount.minorUnits();
+        jdbc.batchUpdate(INSERT_LEDGER_SQL, List.of(
+                new Object[] {UUID.randomUUID(), from.id(), TransactionType.TRANSFER_OUT.name(), amountMinor,
+                    timestamp, fromBalance.minorUnits()},
+                new Object[] {UUID.randomUUID(), to.id(), TransactionType.TRANSFER_IN.name(), amountMinor,
+                    timestamp, toBalance.minorUnits()}));
+
+        return AccountSnapshotReader.snapshot(
+                fromCustomerId,
+                customerProfileCache.nameOf(fromCustomerId),
+                fromBalance,
+                from.dailyLimit(),
+                newWithdrawnToday);
+    }
+
+    private Money withdrawnToday(UUID accountId, LocalDate today) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountId", accountId)
+                .addValue("usageDate", today);
+        return jdbcTemplate.queryForList(WITHDRAWN_TODAY_SQL, params, Long.class).stream()
+                .findFirst()
+                .map(Money::ofMinor)
+                .orElse(Money.ZERO);
+    }
+
+    private static LockedAccount find(List<LockedAccount> locked, UUID customerId, String notFoundMessage) {
+        return locked.stream()
+                .filter(account -> account.customerId().equals(customerId))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(notFoundMessage, HttpStatus.NOT_FOUND));
+    }
+
+    private static LockedAccount mapAccount(ResultSet rs, int rowNum) throws SQLException {
+        return new LockedAccount(
+                rs.getObject("id", UUID.class),
+                rs.getObject("customer_id", UUID.class),
+                Money.ofMinor(rs.getLong("balance")),
+                Money.ofMinor(rs.getLong("daily_limit")));
+    }
+
+    private record LockedAccount(UUID id, UUID customerId, Money balance, Money dailyLimit) {}
+}
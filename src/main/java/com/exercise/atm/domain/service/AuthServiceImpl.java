@@ -6,11 +6,10 @@ import java.time.Instant;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.api.error.ServiceBusyException;
 import com.exercise.atm.config.security.JwtProvider;
 import com.exercise.atm.domain.entity.Customer;
 import com.exercise.atm.domain.repository.CustomerRepository;
@@ -23,8 +22,10 @@ import lombok.RequiredArgsConstructor;
 public class AuthServiceImpl implements AuthService {
 
     private final CustomerRepository customerRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PinHasher pinHasher;
+    private final LoginAttemptTracker loginAttemptTracker;
     private final JwtProvider jwtProvider;
+    private final CustomerProfileCache customerProfileCache;
     private final Clock clock;
 
     @Value("${security.auth.max-failed-attempts:3}")
@@ -43,8 +44,12 @@ public class AuthServiceImpl implements AuthService {
         this.lockDuration = Duration.ofMinutes(lockDurationMinutes);
     }
 
+    /**
+     * Deliberately not transactional: the customer is read and each state change written in its own short
+     * transaction, so no connection is held while the PIN is hashed on the {@link PinHasher} pool. Bad PINs are
+     * counted by {@link LoginAttemptTracker}; the customer row is only written when a lock is set or cleared.
+     */
     @Override
-    @Transactional(noRollbackFor = BusinessException.class)
     public LoginResult login(String cardNumber, String pin) {
         Customer customer = customerRepository
                 .findByCardNumber(cardNumber)
@@ -56,29 +61,49 @@ public class AuthServiceImpl implements AuthService {
             if (customer.getLockedUntil().isAfter(now)) {
                 throw new BusinessException("Account Locked, try again later", HttpStatus.LOCKED);
             }
-            // Lock window has expired, forgive past failures
+            // Lock window has expired: clear it once, so later attempts count from zero instead of finding the
+            // stale lock again and starting over on every try.
+            customerRepository.updateLoginState(customer.getId(), 0, null, now);
             customer.setFailedAttempts(0);
             customer.setLockedUntil(null);
-            customerRepository.save(customer);
+            loginAttemptTracker.reset(customer.getId());
         }
 
-        if (!passwordEncoder.matches(pin, customer.getPinHash())) {
-            int failedAttempts = customer.getFailedAttempts() + 1;
-            customer.setFailedAttempts(failedAttempts);
+        if (!pinHasher.matches(pin, customer.getPinHash())) {
+            int failedAttempts = loginAttemptTracker.recordFailure(customer.getId(), customer.getFailedAttempts());
             if (failedAttempts >= maxFailedAttempts) {
-                customer.setLockedUntil(now.plus(lockDuration));
-                customerRepository.save(customer);
+                customerRepository.updateLoginState(customer.getId(), failedAttempts, now.plus(lockDuration), now);
+                loginAttemptTracker.reset(customer.getId());
                 throw new BusinessException("Account Locked, try again later", HttpStatus.LOCKED);
             }
-            customerRepository.save(customer);
             throw new BusinessException("Invalid PIN", HttpStatus.UNAUTHORIZED);
         }
 
-        customer.setFailedAttempts(0);
-        customer.setLockedUntil(null);
-        customerRepository.save(customer);
+        loginAttemptTracker.reset(customer.getId());
+        if (customer.getFailedAttempts() != 0 || customer.getLockedUntil() != null) {
+            // Clears counts persisted before failures were tracked in memory.
+            customerRepository.updateLoginState(customer.getId(), 0, null, now);
+            customer.setFailedAttempts(0);
+            customer.setLockedUntil(null);
+        }
+        rehashIfWeaker(customer, pin, now);
+        customerProfileCache.put(customer);
 
         String accessToken = jwtProvider.generateToken(customer.getId(), customer.getName());
         return new LoginResult(customer.getId(), customer.getName(), accessToken, tokenExpirationSeconds);
     }
+
+    /** The plain PIN is only available at login, so that is where weaker hashes move up to the current cost. */
+    private void rehashIfWeaker(Customer customer, String pin, Instant now) {
+        if (!pinHasher.needsRehash(customer.getPinHash())) {
+            return;
+        }
+        try {
+            String pinHash = pinHasher.encode(pin);
+            customerRepository.updatePinHash(customer.getId(), pinHash, now);
+            customer.setPinHash(pinHash);
+        } catch (ServiceBusyException ex) {
+            // Leave it for a quieter login; the old hash still verifies.
+        }
+    }
 }
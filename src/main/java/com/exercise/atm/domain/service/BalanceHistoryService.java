@@ -0,0 +1,20 @@
+package com.exercise.atm.domain.service;
+
+import com.exercise.atm.api.dto.BalanceSummaryResponse;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface BalanceHistoryService {
+
+    /**
+     * Summarizes balances and activity between two UTC dates from the daily rollup. Days newer than the rollup's lag
+     * may not be included yet.
+     *
+     * @param customerId authenticated customer id from the JWT
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return opening/closing balance, totals and per-day rows for the range
+     * @throws com.exercise.atm.api.error.BusinessException when the account is not found or the range is invalid
+     */
+    BalanceSummaryResponse summarize(UUID customerId, LocalDate from, LocalDate to);
+}
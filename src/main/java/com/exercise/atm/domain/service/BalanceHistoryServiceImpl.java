@@ -0,0 +1,92 @@
+package com.exercise.atm.domain.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exercise.atm.api.dto.BalanceSummaryResponse;
+import com.exercise.atm.api.dto.DailyBalanceResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Account;
+import com.exercise.atm.domain.entity.AccountDailyBalance;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.repository.AccountDailyBalanceRepository;
+import com.exercise.atm.domain.repository.AccountRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceHistoryServiceImpl implements BalanceHistoryService {
+
+    private final AccountRepository accountRepository;
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+
+    @Value("${app.balances.max-range-days:366}")
+    private int maxRangeDays = 366;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BalanceSummaryResponse summarize(UUID customerId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("'from' must not be after 'to'", HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new BusinessException("Date range is too long", HttpStatus.BAD_REQUEST);
+        }
+        Account account = accountRepository
+                .findByCustomerId(customerId)
+                .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+
+        List<AccountDailyBalance> days = accountDailyBalanceRepository.findRange(account.getId(), from, to);
+        Money opening = openingBalance(account, from, to, days);
+        Money closing = days.isEmpty() ? opening : days.get(days.size() - 1).getClosingBalance();
+
+        Money deposits = Money.ZERO;
+        Money withdrawals = Money.ZERO;
+        long count = 0;
+        for (AccountDailyBalance day : days) {
+            deposits = deposits.plus(day.getDepositTotal());
+            withdrawals = withdrawals.plus(day.getWithdrawalTotal());
+            count += day.getTransactionCount();
+        }
+
+        return new BalanceSummaryResponse(
+                from,
+                to,
+                opening.toBigDecimal(),
+                closing.toBigDecimal(),
+                deposits.toBigDecimal(),
+                withdrawals.toBigDecimal(),
+                count,
+                days.stream().map(BalanceHistoryServiceImpl::toResponse).toList());
+    }
+
+    private Money openingBalance(Account account, LocalDate from, LocalDate to, List<AccountDailyBalance> days) {
+        return accountDailyBalanceRepository
+                .findFirstByIdAccountIdAndIdBalanceDateLessThanOrderByIdBalanceDateDesc(account.getId(), from)
+                .map(AccountDailyBalance::getClosingBalance)
+                .or(() -> days.stream().findFirst().map(AccountDailyBalance::getOpeningBalance))
+                .or(() -> accountDailyBalanceRepository
+                        .findFirstByIdAccountIdAndIdBalanceDateGreaterThanOrderByIdBalanceDateAsc(account.getId(), to)
+                        .map(AccountDailyBalance::getOpeningBalance))
+                // No rolled-up activity at all: the balance has not changed since.
+                .orElse(account.getBalance());
+    }
+
+    private static DailyBalanceResponse toResponse(AccountDailyBalance day) {
+        return new DailyBalanceResponse(
+                day.getId().getBalanceDate(),
+                day.getOpeningBalance().toBigDecimal(),
+                day.getClosingBalance().toBigDecimal(),
+                day.getDepositTotal().toBigDecimal(),
+                day.getWithdrawalTotal().toBigDecimal(),
+                day.getTransactionCount());
+    }
+}
@@ -0,0 +1,157 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Account engine that applies each operation as one guarded statement: the balance and daily-limit checks, the
+ * balance change, the daily usage update and the ledger insert all run inside a single data-modifying CTE, so the
+ * {@code accounts} row is locked only for the duration of that statement. PostgreSQL only; enable with
+ * {@code app.account.engine=conditional-update}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.account.engine", havingValue = "conditional-update")
+public class ConditionalUpdateAccountServiceImpl implements AccountService {
+
+    static final String DEPOSIT_SQL = """
+            WITH credit AS (
+                UPDATE accounts a
+                SET balance = a.balance + :amount, updated_at = now()
+                WHERE a.customer_id = :customerId
+                RETURNING a.id, a.customer_id, a.balance, a.daily_limit
+            ),
+            ledger AS (
+                INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after)
+                SELECT :transactionId, credit.id, 'DEPOSIT', :amount, :occurredAt, credit.balance
+                FROM credit
+            )
+            SELECT credit.customer_id, c.name, credit.balance, credit.daily_limit,
+                   COALESCE(u.withdrawn_amount, 0) AS withdrawn_amount
+            FROM credit
+            JOIN customers c ON c.id = credit.customer_id
+            LEFT JOIN account_daily_usage u ON u.account_id = credit.id AND u.usage_date = :usageDate
+            """;
+
+    // The guarded debit runs first and the usage upsert reads its output, so the account row is locked before the
+    // usage row without an explicit lock, in the order transfers and settlement take them. Both guards are re-checked
+    // against the latest committed row, so concurrent withdrawals cannot overshoot either limit. When the debit passes
+    // but the usage guard does not, the row comes back with no withdrawn_amount and the caller rolls back the debit.
+    static final String WITHDRAW_SQL = """
+            WITH debit AS (
+                UPDATE accounts a
+                SET balance = a.balance - :amount, updated_at = now()
+                WHERE a.customer_id = :customerId
+                  AND a.balance >= :amount
+                  AND a.daily_limit >= :amount
+                RETURNING a.id, a.customer_id, a.balance, a.daily_limit
+            ),
+            daily AS (
+                INSERT INTO account_daily_usage AS u (account_id, usage_date, withdrawn_amount)
+                SELECT debit.id, :usageDate, :amount
+                FROM debit
+                ON CONFLICT (account_id, usage_date) DO UPDATE
+                    SET withdrawn_amount = u.withdrawn_amount + EXCLUDED.withdrawn_amount, updated_at = now()
+                    WHERE u.withdrawn_amount + EXCLUDED.withdrawn_amount <= (SELECT daily_limit FROM debit)
+                RETURNING u.account_id, u.withdrawn_amount
+            ),
+            ledger AS (
+                INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after)
+                SELECT :transactionId, debit.id, 'WITHDRAWAL', :amount, :occurredAt, debit.balance
+                FROM debit
+                JOIN daily ON daily.account_id = debit.id
+            )
+            SELECT debit.customer_id, c.name, debit.balance, debit.daily_limit, daily.withdrawn_amount
+            FROM debit
+            JOIN customers c ON c.id = debit.customer_id
+            LEFT JOIN daily ON daily.account_id = debit.id
+            """;
+
+    static final String BALANCE_SQL = "SELECT balance FROM accounts WHERE customer_id = :customerId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AccountSnapshotReader snapshotReader;
+    private final AccountTransfers accountTransfers;
+    private final Clock clock;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountSnapshotResponse getSnapshot(UUID customerId) {
+        return snapshotReader
+                .read(customerId, LocalDate.ofInstant(Instant.now(clock), ZoneOffset.UTC))
+                .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+    }
+
+    @Override
+    @Transactional
+    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount) {
+        return single(jdbcTemplate.query(
+                DEPOSIT_SQL, mutationParams(customerId, amount), AccountSnapshotReader::mapSnapshot));
+    }
+
+    @Override
+    @Transactional
+    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount) {
+        List<AccountSnapshotResponse> result = jdbcTemplate.query(
+                WITHDRAW_SQL,
+                mutationParams(customerId, amount),
+                (rs, rowNum) ->
+                        rs.getObject("withdrawn_amount") == null ? null : AccountSnapshotReader.mapSnapshot(rs, rowNum));
+        if (!result.isEmpty()) {
+            if (result.get(0) == null) {
+                // Debited, but over the daily limit; throwing rolls the debit back.
+                throw BusinessException.dailyLimitExceeded();
+            }
+            return result.get(0);
+        }
+
+        // Nothing was debited, so the balance is unchanged; work out which guard rejected the withdrawal.
+        long balance = single(jdbcTemplate.query(
+                BALANCE_SQL, new MapSqlParameterSource("customerId", customerId), (rs, rowNum) -> rs.getLong(1)));
+        if (Money.toMinor(amount) > balance) {
+            throw BusinessException.insufficientFunds();
+        }
+        throw BusinessException.dailyLimitExceeded();
+    }
+
+    @Override
+    public AccountSnapshotResponse transfer(UUID customerId, UUID toCustomerId, BigDecimal amount) {
+        return accountTransfers.transfer(customerId, toCustomerId, amount);
+    }
+
+    private MapSqlParameterSource mutationParams(UUID customerId, BigDecimal amount) {
+        Instant now = Instant.now(clock);
+        return new MapSqlParameterSource()
+                .addValue("customerId", customerId)
+                .addValue("amount", Money.toMinor(amount))
+                .addValue("transactionId", UUID.randomUUID())
+                .addValue("occurredAt", OffsetDateTime.ofInstant(now, ZoneOffset.UTC))
+                .addValue("usageDate", LocalDate.ofInstant(now, ZoneOffset.UTC));
+    }
+
+    private static <T> T single(List<T> rows) {
+        if (rows.isEmpty()) {
+            throw new BusinessException("Account not found", HttpStatus.NOT_FOUND);
+        }
+        return rows.get(0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.exercise.atm.domain.service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Customer;
+import com.exercise.atm.domain.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bounded cache of the customer data that account responses need, so they don't re-read the customer row on every
+ * request. Login populates it; a miss falls back to the repository. Hit/miss counts are published as
+ * {@code cache.gets{cache="customerProfiles"}}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerProfileCache {
+
+    static final String CACHE_NAME = "customerProfiles";
+
+    private final CustomerRepository customerRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.customer-profile-cache.max-size:10000}")
+    private long maxSize = 10_000;
+
+    @Value("${app.customer-profile-cache.ttl:PT15M}")
+    private Duration ttl = Duration.ofMinutes(15);
+
+    private AsyncCache<UUID, CustomerProfile> profiles;
+
+    @PostConstruct
+    void init() {
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles.synchronous(), CACHE_NAME);
+    }
+
+    public void put(Customer customer) {
+        profiles.synchronous().put(customer.getId(), new CustomerProfile(customer.getId(), customer.getName()));
+    }
+
+    public String nameOf(UUID customerId) {
+        return Futures.getOrLoad(profiles, customerId, this::load).name();
+    }
+
+    private CustomerProfile load(UUID customerId) {
+        return customerRepository
+                .findById(customerId)
+                .map(c -> new CustomerProfile(c.getId(), c.getName()))
+                .orElseThrow(() -> new BusinessException("Customer not found", HttpStatus.NOT_FOUND));
+    }
+
+    public record CustomerProfile(UUID customerId, String name) {}
+}
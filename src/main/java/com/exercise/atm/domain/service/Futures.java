@@ -0,0 +1,45 @@
+package com.exercise.atm.domain.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+/**
+ * Waits on futures completed by the asynchronous account engines and caches, rethrowing the original
+ * {@link com.exercise.atm.api.error.BusinessException} instead of a {@link CompletionException}.
+ */
+final class Futures {
+
+    private Futures() {}
+
+    static <T> T await(CompletableFuture<T> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the cached value, loading it on the calling thread on a miss; concurrent callers for the same key wait
+     * for that one load. Unlike {@code Cache.get(key, loader)}, the load runs outside the map's (synchronized) bin
+     * lock, so a blocking load does not pin a virtual thread to its carrier. Failed loads are not cached.
+     */
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.get(key, (k, executor) -> created);
+        if (cached == created) {
+            try {
+                created.complete(loader.apply(key));
+            } catch (Throwable ex) {
+                created.completeExceptionally(ex);
+            }
+        }
+        return await(cached);
+    }
+}
@@ -0,0 +1,74 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.TransactionType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Account engine that hands deposits and withdrawals to the {@link GroupCommitLedgerWriter}, so many concurrent
+ * operations share one database commit. Enable with {@code app.account.engine=group-commit}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.account.engine", havingValue = "group-commit")
+public class GroupCommitAccountServiceImpl implements AccountService {
+
+    private final GroupCommitLedgerWriter ledgerWriter;
+    private final AccountSnapshotReader snapshotReader;
+    private final AccountTransfers accountTransfers;
+    private final Clock clock;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountSnapshotResponse getSnapshot(UUID customerId) {
+        return snapshotReader
+                .read(customerId, LocalDate.ofInstant(Instant.now(clock), ZoneOffset.UTC))
+                .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+    }
+
+    @Override
+    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount) {
+        return deposit(customerId, amount, null);
+    }
+
+    @Override
+    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount) {
+        return withdraw(customerId, amount, null);
+    }
+
+    /** The writer records idempotency keys in its batch commit. */
+    @Override
+    public boolean recordsIdempotencyKeys() {
+        return true;
+    }
+
+    @Override
+    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return Futures.await(ledgerWriter.submit(customerId, TransactionType.DEPOSIT, amount, claim));
+    }
+
+    @Override
+    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return Futures.await(ledgerWriter.submit(customerId, TransactionType.WITHDRAWAL, amount, claim));
+    }
+
+    /** Runs outside the writer thread; the writer locks the same rows, so the database serializes the two. */
+    @Override
+    public AccountSnapshotResponse transfer(UUID customerId, UUID toCustomerId, BigDecimal amount) {
+        return accountTransfers.transfer(customerId, toCustomerId, amount);
+    }
+}
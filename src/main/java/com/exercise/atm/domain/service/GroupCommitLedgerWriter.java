@@ -0,0 +1,408 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.IdempotencyRecordId;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group-commit stage behind the {@code group-commit} account engine. Deposits and withdrawals from concurrent
+ * requests are queued and applied by a single writer thread: it collects commands until the batch is full or the
+ * window has passed, locks the touched accounts in id order, applies the commands in arrival order, writes balances,
+ * daily usage and ledger rows with JDBC batches and commits once. Each caller's future completes after that commit.
+ *
+ * <p>{@code Idempotency-Key}s travel with their commands and are recorded in the same commit. Keys are looked up
+ * after the accounts are locked, and every engine records a key while holding its account's lock, so a duplicate
+ * (in this batch or already committed) is answered with the recorded response or rejected before it is applied.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.account.engine", havingValue = "group-commit")
+public class GroupCommitLedgerWriter {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    static final String LOCK_ACCOUNTS_SQL = """
+            SELECT id, customer_id, balance, daily_limit
+            FROM accounts
+            WHERE customer_id IN (:customerIds)
+            ORDER BY id
+            FOR UPDATE
+            """;
+
+    static final String ACCOUNT_DETAILS_SQL = """
+            SELECT a.id, c.name, u.withdrawn_amount
+            FROM accounts a
+            JOIN customers c ON c.id = a.customer_id
+            LEFT JOIN account_daily_usage u ON u.account_id = a.id AND u.usage_date = :usageDate
+            WHERE a.id IN (:accountIds)
+            """;
+
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = ?, updated_at = ? WHERE id = ?";
+
+    static final String UPDATE_USAGE_SQL =
+            "UPDATE account_daily_usage SET withdrawn_amount = ?, updated_at = ? WHERE account_id = ? AND usage_date = ?";
+
+    static final String INSERT_USAGE_SQL =
+            "INSERT INTO account_daily_usage (account_id, usage_date, withdrawn_amount) VALUES (?, ?, ?)";
+
+    static final String INSERT_LEDGER_SQL = """
+            INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    static final String FIND_IDEMPOTENCY_KEYS_SQL = """
+            SELECT customer_id, idempotency_key, operation, amount, response_body
+            FROM idempotency_keys
+            WHERE customer_id IN (:customerIds) AND idempotency_key IN (:keys)
+            """;
+
+    static final String INSERT_IDEMPOTENCY_KEY_SQL = """
+            INSERT INTO idempotency_keys
+                (customer_id, idempotency_key, operation, amount, response_body, created_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyResponseCodec responseCodec;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Value("${app.account.group-commit.max-batch-size:200}")
+    private int maxBatchSize = 200;
+
+    @Value("${app.account.group-commit.max-wait:PT0.002S}")
+    private Duration maxWait = Duration.ofMillis(2);
+
+    @Value("${app.account.group-commit.queue-capacity:10000}")
+    private int queueCapacity = 10_000;
+
+    private BlockingQueue<PendingCommand> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+    private Counter commits;
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    void start() {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.commits = Counter.builder("atm.ledger.group.commits")
+                .description("Database commits issued by the group-commit ledger writer")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("atm.ledger.group.batch.size")
+                .description("Commands applied per group commit")
+                .register(meterRegistry);
+        this.running = true;
+        this.writerThread = new Thread(this::runWriter, "ledger-group-commit");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        List<PendingCommand> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(command -> command.future.completeExceptionally(
+                new BusinessException("Service is shutting down", HttpStatus.SERVICE_UNAVAILABLE)));
+    }
+
+    /**
+     * Queues a deposit or withdrawal for the next group commit.
+     *
+     * @param claim idempotency key to record with the command, or {@code null}
+     * @return future completed with the post-commit snapshot, or exceptionally with the business rejection or the
+     *     commit failure
+     * @throws BusinessException with 503 when the queue is full
+     */
+    public CompletableFuture<AccountSnapshotResponse> submit(
+            UUID customerId, TransactionType type, BigDecimal amount, IdempotencyClaim claim) {
+        PendingCommand command = new PendingCommand(customerId, type, Money.of(amount), claim);
+        if (!running || !queue.offer(command)) {
+            throw new BusinessException("Too many pending operations, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return command.future;
+    }
+
+    private void runWriter() {
+        List<PendingCommand> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCommand first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWait.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingCommand next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(command -> command.future.completeExceptionally(ex));
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Group commit writer failed to process a batch", ex);
+                batch.forEach(command -> command.future.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingCommand> batch) {
+        Instant now = Instant.now(clock);
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch, now));
+        } catch (RuntimeException ex) {
+            log.warn("Group commit of {} commands failed", batch.size(), ex);
+            batch.forEach(command -> command.future.completeExceptionally(ex));
+            return;
+        }
+        commits.increment();
+        batchSizes.record(batch.size());
+        batch.forEach(PendingCommand::complete);
+    }
+
+    private void apply(List<PendingCommand> batch, Instant now) {
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        OffsetDateTime timestamp = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+        Map<UUID, AccountState> accounts = lockAccounts(batch, today);
+        Map<IdempotencyRecordId, RecordedResponse> recorded = findRecordedKeys(batch);
+
+        List<Object[]> ledgerRows = new ArrayList<>(batch.size());
+        List<Object[]> keyRows = new ArrayList<>();
+        for (PendingCommand command : batch) {
+            AccountState account = accounts.get(command.customerId);
+            if (account == null) {
+                command.rejection = new BusinessException("Account not found", HttpStatus.NOT_FOUND);
+                continue;
+            }
+            IdempotencyClaim claim = command.claim;
+            RecordedResponse replay = claim == null ? null : recorded.get(claim.id());
+            if (replay != null) {
+                if (claim.matches(replay.operation(), replay.amount())) {
+                    command.result = replay.response();
+                } else {
+                    command.rejection = IdempotencyClaim.reusedForDifferentRequest();
+                }
+                continue;
+            }
+            if (command.type == TransactionType.WITHDRAWAL) {
+                if (command.amount.isGreaterThan(account.balance)) {
+                    command.rejection = BusinessException.insufficientFunds();
+                    continue;
+                }
+                if (command.amount.isGreaterThan(account.dailyLimit.minus(account.withdrawnToday))) {
+                    command.rejection = BusinessException.dailyLimitExceeded();
+                    continue;
+                }
+                account.balance = account.balance.minus(command.amount);
+                account.withdrawnToday = account.withdrawnToday.plus(command.amount);
+                account.usageChanged = true;
+            } else {
+                account.balance = account.balance.plus(command.amount);
+            }
+            account.balanceChanged = true;
+            ledgerRows.add(new Object[] {
+                UUID.randomUUID(), account.id, command.type.name(), command.amount.minorUnits(), timestamp,
+                account.balance.minorUnits()
+            });
+            command.result = AccountSnapshotReader.snapshot(
+                    account.customerId, account.customerName, account.balance, account.dailyLimit,
+                    account.withdrawnToday);
+            if (claim != null) {
+                // A later duplicate in this batch is answered from this command.
+                recorded.put(
+                        claim.id(),
+                        new RecordedResponse(command.type, command.amount, command.result));
+                keyRows.add(new Object[] {
+                    claim.customerId(), claim.key(), command.type.name(), command.amount.minorUnits(),
+                    responseCodec.write(command.result), timestamp,
+                    OffsetDateTime.ofInstant(claim.expiresAt(), ZoneOffset.UTC)
+                });
+            }
+        }
+
+        List<Object[]> balanceRows = new ArrayList<>();
+        List<Object[]> usageUpdates = new ArrayList<>();
+        List<Object[]> usageInserts = new ArrayList<>();
+        for (AccountState account : accounts.values()) {
+            if (account.balanceChanged) {
+                balanceRows.add(new Object[] {account.balance.minorUnits(), timestamp, account.id});
+            }
+            if (account.usageChanged && account.usageExists) {
+                usageUpdates.add(new Object[] {account.withdrawnToday.minorUnits(), timestamp, account.id, today});
+            } else if (account.usageChanged) {
+                usageInserts.add(new Object[] {account.id, today, account.withdrawnToday.minorUnits()});
+            }
+        }
+
+        batchUpdate(UPDATE_BALANCE_SQL, balanceRows);
+        batchUpdate(UPDATE_USAGE_SQL, usageUpdates);
+        batchUpdate(INSERT_USAGE_SQL, usageInserts);
+        batchUpdate(INSERT_LEDGER_SQL, ledgerRows);
+        batchUpdate(INSERT_IDEMPOTENCY_KEY_SQL, keyRows);
+    }
+
+    /** Responses already recorded for the keys of this batch; runs after the accounts are locked. */
+    private Map<IdempotencyRecordId, RecordedResponse> findRecordedKeys(List<PendingCommand> batch) {
+        Map<IdempotencyRecordId, RecordedResponse> recorded = new HashMap<>();
+        List<IdempotencyClaim> claims = batch.stream()
+                .map(command -> command.claim)
+                .filter(Objects::nonNull)
+                .toList();
+        if (claims.isEmpty()) {
+            return recorded;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("customerIds", claims.stream().map(IdempotencyClaim::customerId).distinct().toList())
+                .addValue("keys", claims.stream().map(IdempotencyClaim::key).distinct().toList());
+        jdbcTemplate.query(FIND_IDEMPOTENCY_KEYS_SQL, params, rs -> {
+            recorded.put(
+                    new IdempotencyRecordId(rs.getObject("customer_id", UUID.class), rs.getString("idempotency_key")),
+                    new RecordedResponse(
+                            TransactionType.valueOf(rs.getString("operation")),
+                            Money.ofMinor(rs.getLong("amount")),
+                            responseCodec.read(rs.getString("response_body"))));
+        });
+        return recorded;
+    }
+
+    private Map<UUID, AccountState> lockAccounts(List<PendingCommand> batch, LocalDate today) {
+        List<UUID> customerIds = batch.stream().map(command -> command.customerId).distinct().toList();
+        List<AccountState> locked = jdbcTemplate.query(
+                LOCK_ACCOUNTS_SQL,
+                new MapSqlParameterSource("customerIds", customerIds),
+                (rs, rowNum) -> new AccountState(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("customer_id", UUID.class),
+                        Money.ofMinor(rs.getLong("balance")),
+                        Money.ofMinor(rs.getLong("daily_limit"))));
+
+        Map<UUID, AccountState> byAccountId = new HashMap<>();
+        Map<UUID, AccountState> byCustomerId = new HashMap<>();
+        for (AccountState account : locked) {
+            byAccountId.put(account.id, account);
+            byCustomerId.put(account.customerId, account);
+        }
+        if (byAccountId.isEmpty()) {
+            return byCustomerId;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountIds", new ArrayList<>(byAccountId.keySet()))
+                .addValue("usageDate", today);
+        jdbcTemplate.query(ACCOUNT_DETAILS_SQL, params, rs -> {
+            AccountState account = byAccountId.get(rs.getObject("id", UUID.class));
+            account.customerName = rs.getString("name");
+            long withdrawn = rs.getLong("withdrawn_amount");
+            account.usageExists = !rs.wasNull();
+            account.withdrawnToday = Money.ofMinor(withdrawn);
+        });
+        return byCustomerId;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(sql, rows);
+        }
+    }
+
+    private static final class PendingCommand {
+
+        private final UUID customerId;
+        private final TransactionType type;
+        private final Money amount;
+        private final IdempotencyClaim claim;
+        private final CompletableFuture<AccountSnapshotResponse> future = new CompletableFuture<>();
+        private AccountSnapshotResponse result;
+        private BusinessException rejection;
+
+        private PendingCommand(UUID customerId, TransactionType type, Money amount, IdempotencyClaim claim) {
+            this.customerId = customerId;
+            this.type = type;
+            this.amount = amount;
+            this.claim = claim;
+        }
+
+        private void complete() {
+            if (rejection != null) {
+                future.completeExceptionally(rejection);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    private record RecordedResponse(
+            TransactionType operation, Money amount, AccountSnapshotResponse response) {}
+
+    private static final class AccountState {
+
+        private final UUID id;
+        private final UUID customerId;
+        private final Money dailyLimit;
+        private Money balance;
+        private String customerName;
+        private Money withdrawnToday = Money.ZERO;
+        private boolean usageExists;
+        private boolean balanceChanged;
+        private boolean usageChanged;
+
+        private AccountState(UUID id, UUID customerId, Money balance, Money dailyLimit) {
+            this.id = id;
+            this.customerId = customerId;
+            this.balance = balance;
+            this.dailyLimit = dailyLimit;
+        }
+    }
+}
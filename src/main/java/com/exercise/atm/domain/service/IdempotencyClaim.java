@@ -0,0 +1,41 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.IdempotencyRecordId;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+/**
+ * An {@code Idempotency-Key} handed to an account engine that records it in the same commit as the mutation it
+ * guards (see {@link AccountService#recordsIdempotencyKeys()}).
+ *
+ * @param customerId the customer the key belongs to
+ * @param key value of the {@code Idempotency-Key} header
+ * @param operation the guarded mutation
+ * @param amount the requested amount
+ * @param expiresAt when the recorded response may be purged
+ */
+public record IdempotencyClaim(
+        UUID customerId, String key, TransactionType operation, BigDecimal amount, Instant expiresAt) {
+
+    public IdempotencyRecordId id() {
+        return new IdempotencyRecordId(customerId, key);
+    }
+
+    /** Whether a response recorded for {@code recordedOperation} and {@code recordedAmount} answers this request. */
+    public boolean matches(TransactionType recordedOperation, Money recordedAmount) {
+        return operation == recordedOperation && Money.of(amount).equals(recordedAmount);
+    }
+
+    /** The rejection for a key that was recorded for a different operation or amount. */
+    public static BusinessException reusedForDifferentRequest() {
+        return new BusinessException(
+                "Idempotency-Key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
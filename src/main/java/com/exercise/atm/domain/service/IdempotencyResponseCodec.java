@@ -0,0 +1,33 @@
+package com.exercise.atm.domain.service;
+
+import org.springframework.stereotype.Component;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/** Converts the responses recorded in {@code idempotency_keys.response_body} to and from JSON. */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyResponseCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public String write(AccountSnapshotResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize account snapshot", ex);
+        }
+    }
+
+    public AccountSnapshotResponse read(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, AccountSnapshotResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable idempotent response", ex);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.exercise.atm.domain.service;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.domain.entity.TransactionType;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.function.Function;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs an account mutation at most once per customer and {@code Idempotency-Key}. A retry with the same key is
+     * answered with the recorded response without touching the account.
+     *
+     * <p>When the engine {@linkplain AccountService#recordsIdempotencyKeys() records keys itself},
+     * {@code operationCall} receives the claim to record with the mutation; otherwise it receives {@code null} and
+     * runs in a transaction that records the key after it.
+     *
+     * @param customerId authenticated customer id from the JWT
+     * @param idempotencyKey value of the {@code Idempotency-Key} header; {@code null} runs the operation unguarded
+     * @param operation the kind of mutation, recorded so a key cannot be reused for a different request
+     * @param amount the requested amount, recorded for the same reason
+     * @param operationCall performs the mutation, recording the claim it is given, and returns the updated snapshot
+     * @return the snapshot produced by the first successful execution for this key
+     * @throws com.exercise.atm.api.error.BusinessException when the key is malformed or was used for a different
+     *     request, or when the operation itself fails
+     */
+    AccountSnapshotResponse execute(
+            UUID customerId,
+            String idempotencyKey,
+            TransactionType operation,
+            BigDecimal amount,
+            Function<IdempotencyClaim, AccountSnapshotResponse> operationCall);
+}
@@ -0,0 +1,148 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.IdempotencyRecord;
+import com.exercise.atm.domain.entity.IdempotencyRecordId;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+import com.exercise.atm.domain.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final AccountService accountService;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyResponseCodec responseCodec;
+    private final Clock clock;
+
+    @Value("${app.idempotency.ttl:PT24H}")
+    private Duration ttl = Duration.ofHours(24);
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private long cacheSize = 10_000;
+
+    private Cache<IdempotencyRecordId, StoredResponse> recentResponses;
+
+    @PostConstruct
+    void init() {
+        this.recentResponses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public AccountSnapshotResponse execute(
+            UUID customerId,
+            String idempotencyKey,
+            TransactionType operation,
+            BigDecimal amount,
+            Function<IdempotencyClaim, AccountSnapshotResponse> operationCall) {
+        if (idempotencyKey == null) {
+            return operationCall.apply(null);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Invalid Idempotency-Key", HttpStatus.BAD_REQUEST);
+        }
+
+        IdempotencyRecordId id = new IdempotencyRecordId(customerId, idempotencyKey);
+        Money requested = Money.of(amount);
+        Optional<AccountSnapshotResponse> replay = findReplay(id, operation, requested);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        if (accountService.recordsIdempotencyKeys()) {
+            // The engine applies the mutation on its own thread and records the key in that commit, rejecting or
+            // replaying a concurrent duplicate before it is applied. Holding a transaction here would pin a pooled
+            // connection while the engine waits for one.
+            IdempotencyClaim claim =
+                    new IdempotencyClaim(customerId, idempotencyKey, operation, amount, Instant.now(clock).plus(ttl));
+            AccountSnapshotResponse response = operationCall.apply(claim);
+            recentResponses.put(id, new StoredResponse(operation, requested, response));
+            return response;
+        }
+
+        try {
+            // The key is recorded in the same transaction as the mutation, so a concurrent duplicate either waits
+            // and fails on the primary key (rolling its own mutation back) or never starts.
+            AccountSnapshotResponse response = transactionTemplate.execute(status -> {
+                AccountSnapshotResponse result = operationCall.apply(null);
+                Instant now = Instant.now(clock);
+                idempotencyRecordRepository.insert(
+                        customerId,
+                        idempotencyKey,
+                        operation.name(),
+                        requested.minorUnits(),
+                        responseCodec.write(result),
+                        now,
+                        now.plus(ttl));
+                return result;
+            });
+            recentResponses.put(id, new StoredResponse(operation, requested, response));
+            return response;
+        } catch (DataIntegrityViolationException ex) {
+            return findReplay(id, operation, requested).orElseThrow(() -> ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.sweep-interval:PT5M}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(Instant.now(clock));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Optional<AccountSnapshotResponse> findReplay(
+            IdempotencyRecordId id, TransactionType operation, Money amount) {
+        StoredResponse stored = recentResponses.getIfPresent(id);
+        if (stored == null) {
+            stored = idempotencyRecordRepository.findById(id).map(this::toStoredResponse).orElse(null);
+            if (stored == null) {
+                return Optional.empty();
+            }
+            recentResponses.put(id, stored);
+        }
+        if (stored.operation() != operation || !stored.amount().equals(amount)) {
+            throw IdempotencyClaim.reusedForDifferentRequest();
+        }
+        return Optional.of(stored.response());
+    }
+
+    private StoredResponse toStoredResponse(IdempotencyRecord record) {
+        return new StoredResponse(
+                record.getOperation(), record.getAmount(), responseCodec.read(record.getResponseBody()));
+    }
+
+    private record StoredResponse(TransactionType operation, Money amount, AccountSnapshotResponse response) {}
+}
@@ -0,0 +1,50 @@
+package com.exercise.atm.domain.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Counts consecutive bad PINs per customer in memory, so a wrong PIN costs no database write; only setting or
+ * clearing a lock is persisted. Counters live in a Caffeine map (hash-striped, with an atomic counter per customer)
+ * bounded by {@code max-tracked} and forgotten after {@code lock-duration-minutes} without a new failure. Counts are
+ * per instance and start from the persisted {@code failed_attempts} after a restart.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    @Value("${security.auth.max-tracked-customers:100000}")
+    private long maxTracked = 100_000;
+
+    @Value("${security.auth.lock-duration-minutes:15}")
+    private int lockDurationMinutes = 15;
+
+    private Cache<UUID, AtomicInteger> failures;
+
+    @PostConstruct
+    void init() {
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterAccess(Duration.ofMinutes(lockDurationMinutes))
+                .build();
+    }
+
+    /**
+     * Records one more bad PIN and returns the number in a row; {@code persisted} seeds a customer not tracked yet.
+     */
+    public int recordFailure(UUID customerId, int persisted) {
+        return failures.get(customerId, id -> new AtomicInteger(persisted)).incrementAndGet();
+    }
+
+    public void reset(UUID customerId) {
+        failures.invalidate(customerId);
+    }
+}
@@ -0,0 +1,68 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.service.partition.AccountPartitions;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Account engine that keeps balances and daily usage in memory, owned by one thread per partition, and persists
+ * through a local journal and asynchronous write-behind instead of database row locks. Enable with
+ * {@code app.account.engine=partitioned}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.account.engine", havingValue = "partitioned")
+public class PartitionedAccountServiceImpl implements AccountService {
+
+    private final AccountPartitions partitions;
+
+    @Override
+    public AccountSnapshotResponse getSnapshot(UUID customerId) {
+        return Futures.await(partitions.snapshot(customerId));
+    }
+
+    @Override
+    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount) {
+        return deposit(customerId, amount, null);
+    }
+
+    @Override
+    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount) {
+        return withdraw(customerId, amount, null);
+    }
+
+    /** Keys are journaled with their change and de-duplicated by the owning partition. */
+    @Override
+    public boolean recordsIdempotencyKeys() {
+        return true;
+    }
+
+    @Override
+    public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return Futures.await(partitions.deposit(customerId, amount, claim));
+    }
+
+    @Override
+    public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return Futures.await(partitions.withdraw(customerId, amount, claim));
+    }
+
+    /**
+     * Not supported: the two accounts may be owned by different partitions, and their in-memory state cannot be
+     * changed atomically without a cross-partition protocol.
+     */
+    @Override
+    public AccountSnapshotResponse transfer(UUID customerId, UUID toCustomerId, BigDecimal amount) {
+        throw new BusinessException(
+                "Transfers are not supported by the partitioned account engine", HttpStatus.NOT_IMPLEMENTED);
+    }
+}
@@ -0,0 +1,164 @@
+package com.exercise.atm.domain.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.exercise.atm.api.error.ServiceBusyException;
+import com.exercise.atm.config.metrics.RequestMetrics;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs BCrypt PIN hashing on a pool sized to the CPUs with a bounded queue, so a login burst cannot occupy every
+ * request thread; work that does not fit is shed with {@link ServiceBusyException}. The cost of new hashes is either
+ * fixed or calibrated at startup to the highest strength that still hashes within {@code target-latency}, and never
+ * below {@code min-strength}, the production floor. Hashing time, without the queueing, is recorded per endpoint as
+ * {@code atm.pin.hash}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PinHasher implements DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final RequestMetrics requestMetrics;
+
+    @Value("${security.pin-hashing.threads:0}")
+    private int threads;
+
+    @Value("${security.pin-hashing.queue-capacity:64}")
+    private int queueCapacity = 64;
+
+    @Value("${security.pin-hashing.retry-after:PT1S}")
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    @Value("${security.pin-hashing.strength:0}")
+    private int configuredStrength;
+
+    @Value("${security.pin-hashing.target-latency:PT0.1S}")
+    private Duration targetLatency = Duration.ofMillis(100);
+
+    @Value("${security.pin-hashing.min-strength:10}")
+    private int minStrength = 10;
+
+    @Value("${security.pin-hashing.max-strength:14}")
+    private int maxStrength = 14;
+
+    ThreadPoolExecutor executor;
+    private BCryptPasswordEncoder encoder;
+    private int strength;
+
+    @PostConstruct
+    void init() {
+        if (configuredStrength > 0 && configuredStrength < minStrength) {
+            throw new IllegalStateException("security.pin-hashing.strength " + configuredStrength
+                    + " is below security.pin-hashing.min-strength " + minStrength);
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("pin-hasher-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.strength = configuredStrength > 0
+                ? configuredStrength
+                : calibrate(targetLatency, minStrength, maxStrength);
+        this.encoder = new BCryptPasswordEncoder(strength);
+    }
+
+    public boolean matches(String pin, String pinHash) {
+        return compute("verify", () -> encoder.matches(pin, pinHash));
+    }
+
+    public String encode(String pin) {
+        return compute("encode", () -> encoder.encode(pin));
+    }
+
+    /**
+     * Whether the hash was made with a lower cost than new hashes get. Stronger hashes are kept, so a startup that
+     * calibrates lower (a slower or busier host) never weakens stored PINs.
+     */
+    public boolean needsRehash(String pinHash) {
+        Matcher matcher = BCRYPT_COST.matcher(pinHash);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    public int strength() {
+        return strength;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T compute(String operation, Callable<T> task) {
+        String endpoint = requestMetrics.endpoint();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> requestMetrics.timePinHash(endpoint, operation, task));
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceBusyException("Too many logins in progress, try again later", retryAfter);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing PIN", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("PIN hashing failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Times {@code minStrength} (best of a few runs, after a warm-up) and steps up while the doubled cost still fits
+     * the target; each strength step doubles BCrypt's work.
+     */
+    static int calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration");
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long estimatedNanos = bestNanos;
+        while (strength < maxStrength && estimatedNanos * 2 <= target.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+        log.info(
+                "BCrypt strength {} (~{} ms per hash, target {} ms)",
+                strength,
+                TimeUnit.NANOSECONDS.toMillis(estimatedNanos),
+                target.toMillis());
+        return strength;
+    }
+}
@@ -0,0 +1,19 @@
+package com.exercise.atm.domain.service;
+
+import com.exercise.atm.api.dto.BulkOperationRequest;
+import com.exercise.atm.api.dto.BulkOperationsResponse;
+import java.util.List;
+
+public interface SettlementService {
+
+    /**
+     * Applies a feed of deposits and withdrawals addressed by account id. Lines are grouped by account and committed
+     * in chunks; a rejected line does not affect the others, and a failed chunk only fails its own lines.
+     *
+     * @param operations feed lines, applied in order within each account
+     * @return one result per line, in request order
+     * @throws com.exercise.atm.api.error.BusinessException when the feed is empty or too large, or the engine does not
+     *     support bulk operations
+     */
+    BulkOperationsResponse apply(List<BulkOperationRequest> operations);
+}
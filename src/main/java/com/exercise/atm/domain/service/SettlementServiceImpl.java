@@ -0,0 +1,293 @@
+package com.exercise.atm.domain.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.api.dto.BulkOperationRequest;
+import com.exercise.atm.api.dto.BulkOperationResult;
+import com.exercise.atm.api.dto.BulkOperationResult.Status;
+import com.exercise.atm.api.dto.BulkOperationsResponse;
+import com.exercise.atm.api.dto.ErrorResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies settlement feeds straight to the database. Lines are stably sorted by account and cut into chunks of
+ * {@code app.settlement.chunk-size}; each chunk is one transaction that locks its accounts in id order, applies the
+ * lines with the same balance and daily-limit rules as the account engines, and writes balances, usage and ledger
+ * rows as JDBC batches. Chunks run one after another, so a feed never waits on its own locks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementServiceImpl implements SettlementService {
+
+    static final String LOCK_ACCOUNTS_SQL = """
+            SELECT id, customer_id, balance, daily_limit
+            FROM accounts
+            WHERE id IN (:accountIds)
+            ORDER BY id
+            FOR UPDATE
+            """;
+
+    static final String WITHDRAWN_TODAY_SQL = """
+            SELECT account_id, withdrawn_amount
+            FROM account_daily_usage
+            WHERE account_id IN (:accountIds) AND usage_date = :usageDate
+            """;
+
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = ?, updated_at = ? WHERE id = ?";
+
+    static final String UPDATE_USAGE_SQL =
+            "UPDATE account_daily_usage SET withdrawn_amount = ?, updated_at = ? WHERE account_id = ? AND usage_date = ?";
+
+    static final String INSERT_USAGE_SQL =
+            "INSERT INTO account_daily_usage (account_id, usage_date, withdrawn_amount) VALUES (?, ?, ?)";
+
+    /** Same bound as {@code @Digits(integer = 15)} on single operations; the minor units then always fit a long. */
+    static final int MAX_INTEGER_DIGITS = 15;
+
+    static final String INSERT_LEDGER_SQL = """
+            INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final Clock clock;
+
+    @Value("${app.account.engine:locking}")
+    private String engine = "locking";
+
+    @Value("${app.settlement.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.settlement.max-operations:100000}")
+    private int maxOperations = 100_000;
+
+    @Override
+    public BulkOperationsResponse apply(List<BulkOperationRequest> operations) {
+        if ("partitioned".equals(engine)) {
+            // Partition owners keep balances in memory; writing behind their back would be overwritten.
+            throw new BusinessException(
+                    "Bulk operations are not supported by the partitioned account engine", HttpStatus.NOT_IMPLEMENTED);
+        }
+        if (operations == null || operations.isEmpty()) {
+            throw new BusinessException("No operations", HttpStatus.BAD_REQUEST);
+        }
+        if (operations.size() > maxOperations) {
+            throw new BusinessException("Too many operations, max " + maxOperations, HttpStatus.BAD_REQUEST);
+        }
+
+        BulkOperationResult[] results = new BulkOperationResult[operations.size()];
+        List<Integer> pending = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            String invalid = validate(operations.get(index));
+            if (invalid != null) {
+                results[index] = rejected(index, HttpStatus.BAD_REQUEST, invalid);
+            } else {
+                pending.add(index);
+            }
+        }
+        // Stable, so each account's lines keep their feed order.
+        pending.sort(Comparator.comparing(index -> operations.get(index).accountId()));
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            applyChunk(operations, pending.subList(from, Math.min(pending.size(), from + chunkSize)), results);
+        }
+
+        int applied = 0;
+        int rejected = 0;
+        int failed = 0;
+        for (BulkOperationResult result : results) {
+            switch (result.status()) {
+                case APPLIED -> applied++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+        }
+        return new BulkOperationsResponse(applied, rejected, failed, List.of(results));
+    }
+
+    private void applyChunk(List<BulkOperationRequest> operations, List<Integer> chunk, BulkOperationResult[] results) {
+        Set<UUID> touchedCustomers = new HashSet<>();
+        try {
+            // Results are only published once the chunk has committed.
+            List<BulkOperationResult> outcome = transactionTemplate.execute(
+                    status -> applyLocked(operations, chunk, Instant.now(clock), touchedCustomers));
+            outcome.forEach(result -> results[result.index()] = result);
+        } catch (RuntimeException ex) {
+            log.warn("Settlement chunk of {} operations failed", chunk.size(), ex);
+            ErrorResponse error = new ErrorResponse(
+                    HttpStatus.INTERNAL_SERVER_ERROR.name(), "Unexpected server error");
+            chunk.forEach(index -> results[index] = new BulkOperationResult(index, Status.FAILED, null, null, error));
+        } finally {
+            touchedCustomers.forEach(accountSnapshotCache::evict);
+        }
+    }
+
+    private List<BulkOperationResult> applyLocked(
+            List<BulkOperationRequest> operations, List<Integer> chunk, Instant now, Set<UUID> touchedCustomers) {
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        OffsetDateTime timestamp = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+        List<UUID> accountIds = chunk.stream().map(index -> operations.get(index).accountId()).distinct().toList();
+        Map<UUID, AccountState> accounts = lockAccounts(accountIds, today);
+
+        List<BulkOperationResult> outcome = new ArrayList<>(chunk.size());
+        List<Object[]> ledgerRows = new ArrayList<>(chunk.size());
+        for (int index : chunk) {
+            BulkOperationRequest operation = operations.get(index);
+            AccountState account = accounts.get(operation.accountId());
+            if (account == null) {
+                outcome.add(rejected(index, HttpStatus.NOT_FOUND, "Account not found"));
+                continue;
+            }
+            Money amount = Money.of(operation.amount());
+            if (operation.type() == TransactionType.WITHDRAWAL) {
+                if (amount.isGreaterThan(account.balance)) {
+                    outcome.add(rejected(index, HttpStatus.CONFLICT, "Insufficient funds"));
+                    continue;
+                }
+                if (amount.isGreaterThan(account.dailyLimit.minus(account.withdrawnToday))) {
+                    outcome.add(rejected(index, HttpStatus.CONFLICT, "Daily withdrawal limit exceeded"));
+                    continue;
+                }
+                account.balance = account.balance.minus(amount);
+                account.withdrawnToday = account.withdrawnToday.plus(amount);
+                account.usageChanged = true;
+            } else {
+                account.balance = account.balance.plus(amount);
+            }
+            account.balanceChanged = true;
+            UUID transactionId = UUID.randomUUID();
+            ledgerRows.add(new Object[] {
+                transactionId, account.id, operation.type().name(), amount.minorUnits(), timestamp,
+                account.balance.minorUnits()
+            });
+            outcome.add(new BulkOperationResult(
+                    index, Status.APPLIED, transactionId, account.balance.toBigDecimal(), null));
+        }
+
+        List<Object[]> balanceRows = new ArrayList<>();
+        List<Object[]> usageUpdates = new ArrayList<>();
+        List<Object[]> usageInserts = new ArrayList<>();
+        for (AccountState account : accounts.values()) {
+            if (account.balanceChanged) {
+                balanceRows.add(new Object[] {account.balance.minorUnits(), timestamp, account.id});
+                touchedCustomers.add(account.customerId);
+            }
+            if (account.usageChanged && account.usageExists) {
+                usageUpdates.add(new Object[] {account.withdrawnToday.minorUnits(), timestamp, account.id, today});
+            } else if (account.usageChanged) {
+                usageInserts.add(new Object[] {account.id, today, account.withdrawnToday.minorUnits()});
+            }
+        }
+
+        batchUpdate(UPDATE_BALANCE_SQL, balanceRows);
+        batchUpdate(UPDATE_USAGE_SQL, usageUpdates);
+        batchUpdate(INSERT_USAGE_SQL, usageInserts);
+        batchUpdate(INSERT_LEDGER_SQL, ledgerRows);
+        return outcome;
+    }
+
+    private Map<UUID, AccountState> lockAccounts(List<UUID> accountIds, LocalDate today) {
+        Map<UUID, AccountState> accounts = new HashMap<>();
+        jdbcTemplate.query(LOCK_ACCOUNTS_SQL, new MapSqlParameterSource("accountIds", accountIds), rs -> {
+            AccountState account = new AccountState(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("customer_id", UUID.class),
+                    Money.ofMinor(rs.getLong("balance")),
+                    Money.ofMinor(rs.getLong("daily_limit")));
+            accounts.put(account.id, account);
+        });
+        if (accounts.isEmpty()) {
+            return accounts;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountIds", new ArrayList<>(accounts.keySet()))
+                .addValue("usageDate", today);
+        jdbcTemplate.query(WITHDRAWN_TODAY_SQL, params, rs -> {
+            AccountState account = accounts.get(rs.getObject("account_id", UUID.class));
+            account.usageExists = true;
+            account.withdrawnToday = Money.ofMinor(rs.getLong("withdrawn_amount"));
+        });
+        return accounts;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(sql, rows);
+        }
+    }
+
+    private static String validate(BulkOperationRequest operation) {
+        if (operation == null) {
+            return "Operation is required";
+        }
+        if (operation.accountId() == null) {
+            return "Account is required";
+        }
+        if (operation.type() != TransactionType.DEPOSIT && operation.type() != TransactionType.WITHDRAWAL) {
+            return "Type must be DEPOSIT or WITHDRAWAL";
+        }
+        if (operation.amount() == null || operation.amount().signum() <= 0) {
+            return "Amount must be positive";
+        }
+        BigDecimal amount = operation.amount().stripTrailingZeros();
+        if (amount.scale() > Money.SCALE) {
+            return "Amount must have at most 2 decimals";
+        }
+        if (amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+            return "Amount must have at most " + MAX_INTEGER_DIGITS + " digits before the decimal point";
+        }
+        return null;
+    }
+
+    private static BulkOperationResult rejected(int index, HttpStatus status, String message) {
+        return new BulkOperationResult(index, Status.REJECTED, null, null, new ErrorResponse(status.name(), message));
+    }
+
+    private static final class AccountState {
+
+        private final UUID id;
+        private final UUID customerId;
+        private final Money dailyLimit;
+        private Money balance;
+        private Money withdrawnToday = Money.ZERO;
+        private boolean usageExists;
+        private boolean balanceChanged;
+        private boolean usageChanged;
+
+        private AccountState(UUID id, UUID customerId, Money balance, Money dailyLimit) {
+            this.id = id;
+            this.customerId = customerId;
+            this.balance = balance;
+            this.dailyLimit = dailyLimit;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.exercise.atm.domain.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A validated export request, resolved to the account before any bytes are sent. {@code customerId} is kept for
+ * routing the read, which runs off the request thread.
+ */
+public record StatementExport(UUID customerId, UUID accountId, StatementFormat format, Instant from, Instant to) {}
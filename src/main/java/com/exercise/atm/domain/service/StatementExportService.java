@@ -0,0 +1,30 @@
+package com.exercise.atm.domain.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.UUID;
+
+public interface StatementExportService {
+
+    /**
+     * Resolves and validates an export so errors can still be reported with a status code before streaming starts.
+     *
+     * @param customerId authenticated customer id from the JWT
+     * @param format output format
+     * @param from optional inclusive lower bound on {@code occurredAt}
+     * @param to optional exclusive upper bound on {@code occurredAt}
+     * @return the export to pass to {@link #write(StatementExport, OutputStream)}
+     * @throws com.exercise.atm.api.error.BusinessException when the account is not found
+     */
+    StatementExport prepare(UUID customerId, StatementFormat format, Instant from, Instant to);
+
+    /**
+     * Streams the statement, oldest first, to {@code out} row by row; memory use does not depend on its length.
+     *
+     * @param export the prepared export
+     * @param out destination, not closed by this method
+     * @throws IOException when writing to {@code out} fails, e.g. because the client went away
+     */
+    void write(StatementExport export, OutputStream out) throws IOException;
+}
@@ -0,0 +1,180 @@
+package com.exercise.atm.domain.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.config.datasource.ReplicaRoutingDataSource;
+import com.exercise.atm.domain.entity.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes statements straight from a forward-only JDBC cursor. PostgreSQL only honours the fetch size inside a
+ * transaction, which is why {@link #write} is transactional; it holds one connection for the length of the download.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatementExportServiceImpl implements StatementExportService {
+
+    static final String ACCOUNT_ID_SQL = "SELECT id FROM accounts WHERE customer_id = ?";
+
+    static final String CSV_HEADER = "id,type,amount,balance_after,occurred_at\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.statements.fetch-size:500}")
+    private int fetchSize = 500;
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatementExport prepare(UUID customerId, StatementFormat format, Instant from, Instant to) {
+        UUID accountId = jdbcTemplate.queryForList(ACCOUNT_ID_SQL, UUID.class, customerId).stream()
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+        return new StatementExport(customerId, accountId, format, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void write(StatementExport export, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = export.format() == StatementFormat.CSV ? csvWriter(writer) : ndjsonWriter(writer);
+        // Send the first bytes before the query has produced anything.
+        writer.flush();
+
+        List<Object> params = new ArrayList<>();
+        String sql = statementSql(export, params);
+        // This runs on the MVC async executor, so the customer for read-your-writes routing comes from prepare().
+        try (ReplicaRoutingDataSource.CustomerScope routing =
+                ReplicaRoutingDataSource.bindCustomer(export.customerId())) {
+            jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement statement = connection.prepareStatement(
+                                sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(fetchSize);
+                        for (int i = 0; i < params.size(); i++) {
+                            statement.setObject(i + 1, params.get(i));
+                        }
+                        return statement;
+                    },
+                    (RowCallbackHandler) rs -> {
+                        try {
+                            rowWriter.write(rs);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        rowWriter.finish();
+        writer.flush();
+    }
+
+    static String statementSql(StatementExport export, List<Object> params) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, type, amount, balance_after, occurred_at
+                FROM transactions
+                WHERE account_id = ?
+                """);
+        params.add(export.accountId());
+        if (export.from() != null) {
+            sql.append("  AND occurred_at >= ?\n");
+            params.add(export.from().atOffset(ZoneOffset.UTC));
+        }
+        if (export.to() != null) {
+            sql.append("  AND occurred_at < ?\n");
+            params.add(export.to().atOffset(ZoneOffset.UTC));
+        }
+        sql.append("ORDER BY occurred_at, id");
+        return sql.toString();
+    }
+
+    private static RowWriter csvWriter(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        return new RowWriter() {
+            @Override
+            public void write(ResultSet rs) throws SQLException, IOException {
+                writer.write(rs.getString("id"));
+                writer.write(',');
+                writer.write(rs.getString("type"));
+                writer.write(',');
+                writer.write(Money.toDecimal(rs.getLong("amount")).toPlainString());
+                writer.write(',');
+                writer.write(Money.toDecimal(rs.getLong("balance_after")).toPlainString());
+                writer.write(',');
+                writer.write(occurredAt(rs).toString());
+                writer.write('\n');
+            }
+
+            @Override
+            public void finish() {}
+        };
+    }
+
+    private RowWriter ndjsonWriter(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setRootValueSeparator(null);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return new RowWriter() {
+            @Override
+            public void write(ResultSet rs) throws SQLException, IOException {
+                generator.writeStartObject();
+                generator.writeStringField("id", rs.getString("id"));
+                generator.writeStringField("type", rs.getString("type"));
+                writeDecimal("amount", Money.toDecimal(rs.getLong("amount")));
+                writeDecimal("balanceAfter", Money.toDecimal(rs.getLong("balance_after")));
+                generator.writeStringField("occurredAt", occurredAt(rs).toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+
+            private void writeDecimal(String field, BigDecimal value) throws IOException {
+                generator.writeFieldName(field);
+                generator.writeNumber(value);
+            }
+
+            @Override
+            public void finish() throws IOException {
+                generator.flush();
+            }
+        };
+    }
+
+    private static Instant occurredAt(ResultSet rs) throws SQLException {
+        return rs.getObject("occurred_at", OffsetDateTime.class).toInstant();
+    }
+
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+}
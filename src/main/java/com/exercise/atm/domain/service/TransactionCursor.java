@@ -0,0 +1,32 @@
+package com.exercise.atm.domain.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+
+import com.exercise.atm.api.error.BusinessException;
+
+/** Position after the last row of a history page, encoded as an opaque URL-safe token. */
+record TransactionCursor(Instant occurredAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = occurredAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new TransactionCursor(
+                    Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new BusinessException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
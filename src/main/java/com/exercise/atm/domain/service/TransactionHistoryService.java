@@ -0,0 +1,25 @@
+package com.exercise.atm.domain.service;
+
+import com.exercise.atm.api.dto.TransactionPageResponse;
+import com.exercise.atm.domain.entity.TransactionType;
+import java.time.Instant;
+import java.util.UUID;
+
+public interface TransactionHistoryService {
+
+    /**
+     * Returns one page of the customer's transactions, newest first, continuing after {@code cursor}.
+     *
+     * @param customerId authenticated customer id from the JWT
+     * @param type optional filter on the transaction type
+     * @param from optional inclusive lower bound on {@code occurredAt}
+     * @param to optional exclusive upper bound on {@code occurredAt}
+     * @param cursor {@code nextCursor} from the previous page, or {@code null} for the first page
+     * @param size requested page size; {@code null} uses the default, larger values are capped
+     * @return the page and the cursor for the next one
+     * @throws com.exercise.atm.api.error.BusinessException when the account is not found, or the cursor or size is
+     *     invalid
+     */
+    TransactionPageResponse list(
+            UUID customerId, TransactionType type, Instant from, Instant to, String cursor, Integer size);
+}
@@ -0,0 +1,124 @@
+package com.exercise.atm.domain.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exercise.atm.api.dto.TransactionPageResponse;
+import com.exercise.atm.api.dto.TransactionResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seek pagination over {@code idx_transactions_account_date}: each page starts strictly after the last
+ * {@code (occurred_at, id)} of the previous one, so the cost of a page does not depend on how deep it is.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+
+    static final String ACCOUNT_ID_SQL = "SELECT id FROM accounts WHERE customer_id = :customerId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${app.transactions.default-page-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${app.transactions.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionPageResponse list(
+            UUID customerId, TransactionType type, Instant from, Instant to, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        TransactionCursor after = cursor == null ? null : TransactionCursor.decode(cursor);
+
+        UUID accountId = jdbcTemplate
+                .queryForList(ACCOUNT_ID_SQL, new MapSqlParameterSource("customerId", customerId), UUID.class)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountId", accountId)
+                .addValue("limit", pageSize + 1);
+        List<TransactionResponse> rows = jdbcTemplate.query(
+                pageSql(type, from, to, after, params), params, TransactionHistoryServiceImpl::mapTransaction);
+
+        if (rows.size() <= pageSize) {
+            return new TransactionPageResponse(rows, null);
+        }
+        List<TransactionResponse> page = rows.subList(0, pageSize);
+        TransactionResponse last = page.get(pageSize - 1);
+        return new TransactionPageResponse(
+                List.copyOf(page), new TransactionCursor(last.occurredAt(), last.id()).encode());
+    }
+
+    static String pageSql(
+            TransactionType type, Instant from, Instant to, TransactionCursor after, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT t.id, t.type, t.amount, t.balance_after, t.occurred_at
+                FROM transactions t
+                WHERE t.account_id = :accountId
+                """);
+        if (type != null) {
+            sql.append("  AND t.type = :type\n");
+            params.addValue("type", type.name());
+        }
+        if (from != null) {
+            sql.append("  AND t.occurred_at >= :from\n");
+            params.addValue("from", utc(from));
+        }
+        if (to != null) {
+            sql.append("  AND t.occurred_at < :to\n");
+            params.addValue("to", utc(to));
+        }
+        if (after != null) {
+            // The first conjunct is redundant but gives the planner a range on the index's second column.
+            sql.append("  AND t.occurred_at <= :afterAt\n");
+            sql.append("  AND (t.occurred_at < :afterAt OR t.id < :afterId)\n");
+            params.addValue("afterAt", utc(after.occurredAt())).addValue("afterId", after.id());
+        }
+        sql.append("ORDER BY t.occurred_at DESC, t.id DESC\n");
+        sql.append("LIMIT :limit");
+        return sql.toString();
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BusinessException("Page size must be positive", HttpStatus.BAD_REQUEST);
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static TransactionResponse mapTransaction(ResultSet rs, int rowNum) throws SQLException {
+        return new TransactionResponse(
+                rs.getObject("id", UUID.class),
+                TransactionType.valueOf(rs.getString("type")),
+                Money.toDecimal(rs.getLong("amount")),
+                Money.toDecimal(rs.getLong("balance_after")),
+                rs.getObject("occurred_at", OffsetDateTime.class).toInstant());
+    }
+}
@@ -0,0 +1,91 @@
+package com.exercise.atm.domain.service;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} (PostgreSQL, see {@code V5__partition_transactions.sql})
+ * created a few months ahead, and detaches partitions that fall out of the retention window so they can be archived
+ * and dropped outside the hot table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.transactions.partitioning.enabled", havingValue = "true")
+public class TransactionPartitionManager {
+
+    static final String CREATE_PARTITION_SQL = "SELECT create_transactions_partition(?)";
+
+    static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'transactions'::regclass
+            """;
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    @Value("${app.transactions.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${app.transactions.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.transactions.partitioning.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintain() {
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= monthsAhead; i++) {
+            String partition = jdbcTemplate.queryForObject(
+                    CREATE_PARTITION_SQL, String.class, current.plusMonths(i).atDay(1));
+            log.debug("Ensured transactions partition {}", partition);
+        }
+        if (retentionMonths > 0) {
+            detachBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    private void detachBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                // CONCURRENTLY avoids blocking the ledger; it must run outside a transaction (autocommit here).
+                jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition + " CONCURRENTLY");
+                log.info("Detached transactions partition {} (before {})", partition, oldestKept.atDay(1));
+            } catch (DataAccessException ex) {
+                log.warn("Could not detach transactions partition {}", partition, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.exercise.atm.domain.service.partition;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.IdempotencyRecordId;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+import com.exercise.atm.domain.service.IdempotencyClaim;
+import com.exercise.atm.domain.service.IdempotencyResponseCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One partition of the in-memory account engine. A single owner thread holds the state of every account hashed to
+ * this partition and applies commands strictly in arrival order, so no locks are needed. Each drained batch of
+ * mutations is appended to the journal with one fsync before any caller is answered, then handed to the
+ * write-behind for the database.
+ *
+ * <p>{@code Idempotency-Key}s are journaled with the change they guard and de-duplicated here: a key is remembered
+ * until the write-behind has recorded it, and looked up in {@code idempotency_keys} otherwise, so a duplicate is
+ * answered with the recorded response (or rejected) before it is applied.
+ *
+ * <p>At most {@code maxAccounts} account states are kept, least recently used first out, and a state older than
+ * {@code stateTtl} is reloaded, which picks up {@code daily_limit} changes. Only states whose journaled changes the
+ * write-behind has applied are dropped, since the database is behind for the others; under a write-behind outage
+ * the partition can therefore hold more states than the limit.
+ */
+@Slf4j
+final class AccountPartition {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    static final String LOAD_ACCOUNT_SQL = """
+            SELECT a.id, a.customer_id, c.name, a.balance, a.daily_limit,
+                   COALESCE(u.withdrawn_amount, 0) AS withdrawn_amount
+            FROM accounts a
+            JOIN customers c ON c.id = a.customer_id
+            LEFT JOIN account_daily_usage u ON u.account_id = a.id AND u.usage_date = :usageDate
+            WHERE a.customer_id = :customerId
+            """;
+
+    static final String FIND_IDEMPOTENCY_KEYS_SQL = """
+            SELECT customer_id, idempotency_key, operation, amount, response_body
+            FROM idempotency_keys
+            WHERE customer_id IN (:customerIds) AND idempotency_key IN (:keys)
+            """;
+
+    private final int index;
+    private final LedgerJournal journal;
+    private final JournalWriteBehind writeBehind;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final IdempotencyResponseCodec responseCodec;
+    private final Clock clock;
+    private final int maxBatchSize;
+    private final int maxAccounts;
+    private final Duration stateTtl;
+    private final BlockingQueue<Command> commands;
+    // Access order, so iteration starts at the least recently used state.
+    private final Map<UUID, AccountState> accounts = new LinkedHashMap<>(16, 0.75f, true);
+    // Keys journaled but not yet applied by the write-behind, in sequence order.
+    private final Map<IdempotencyRecordId, RecordedKey> pendingKeys = new LinkedHashMap<>();
+
+    private volatile boolean running;
+    private Thread owner;
+
+    AccountPartition(
+            int index,
+            LedgerJournal journal,
+            JournalWriteBehind writeBehind,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            IdempotencyResponseCodec responseCodec,
+            Clock clock,
+            int maxBatchSize,
+            int queueCapacity,
+            int maxAccounts,
+            Duration stateTtl) {
+        this.index = index;
+        this.journal = journal;
+        this.writeBehind = writeBehind;
+        this.jdbcTemplate = jdbcTemplate;
+        this.responseCodec = responseCodec;
+        this.clock = clock;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAccounts = maxAccounts;
+        this.stateTtl = stateTtl;
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void start() {
+        running = true;
+        owner = new Thread(this::run, "account-partition-" + index);
+        owner.setDaemon(true);
+        owner.start();
+    }
+
+    void stop(long timeoutMillis) throws InterruptedException, IOException {
+        running = false;
+        owner.join(timeoutMillis);
+        List<Command> abandoned = new ArrayList<>();
+        commands.drainTo(abandoned);
+        abandoned.forEach(command -> command.future.completeExceptionally(
+                new BusinessException("Service is shutting down", HttpStatus.SERVICE_UNAVAILABLE)));
+        writeBehind.stop(timeoutMillis);
+        journal.close();
+    }
+
+    CompletableFuture<AccountSnapshotResponse> submit(
+            UUID customerId, Operation operation, BigDecimal amount, IdempotencyClaim claim) {
+        Command command = new Command(customerId, operation, amount == null ? null : Money.of(amount), claim);
+        if (!running || !commands.offer(command)) {
+            throw new BusinessException("Too many pending operations, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return command.future;
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>(maxBatchSize);
+        while (running || !commands.isEmpty()) {
+            try {
+                Command first = commands.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                commands.drainTo(batch, maxBatchSize - 1);
+                process(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(command -> command.future.completeExceptionally(ex));
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Account partition {} failed to process a batch", index, ex);
+                batch.forEach(command -> command.future.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Command> batch) {
+        Instant now = Instant.now(clock);
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        List<JournalEntry> entries = new ArrayList<>();
+        Map<UUID, AccountState> before = new HashMap<>();
+        Map<IdempotencyRecordId, RecordedKey> recorded = recordedKeys(batch);
+        List<IdempotencyRecordId> claimed = new ArrayList<>();
+
+        for (Command command : batch) {
+            if (command.failure != null) {
+                continue;
+            }
+            try {
+                IdempotencyClaim claim = command.claim;
+                RecordedKey replay = claim == null ? null : recorded.get(claim.id());
+                if (replay != null) {
+                    if (!claim.matches(replay.operation(), replay.amount())) {
+                        throw IdempotencyClaim.reusedForDifferentRequest();
+                    }
+                    command.result = replay.response();
+                    continue;
+                }
+                AccountState account = account(command.customerId, today, now);
+                if (command.operation != Operation.SNAPSHOT) {
+                    before.putIfAbsent(command.customerId, account.copy());
+                }
+                account.rollTo(today);
+                JournalEntry entry = switch (command.operation) {
+                    case DEPOSIT -> account.deposit(command.amount, journal.nextSequence(), now);
+                    case WITHDRAW -> account.withdraw(command.amount, journal.nextSequence(), now);
+                    case SNAPSHOT -> null;
+                };
+                command.result = account.snapshot();
+                if (entry == null) {
+                    continue;
+                }
+                if (claim != null) {
+                    entry = entry.withIdempotencyKey(new JournalEntry.IdempotencyKey(
+                            claim.customerId(), claim.key(), claim.expiresAt(), responseCodec.write(command.result)));
+                    RecordedKey key = new RecordedKey(entry.type(), entry.amount(), command.result, entry.sequence());
+                    recorded.put(claim.id(), key);
+                    pendingKeys.put(claim.id(), key);
+                    claimed.add(claim.id());
+                }
+                account.lastSequence = entry.sequence();
+                entries.add(entry);
+            } catch (RuntimeException ex) {
+                command.failure = ex;
+            }
+        }
+
+        if (!entries.isEmpty()) {
+            try {
+                journal.append(entries);
+            } catch (IOException ex) {
+                log.error("Account partition {} could not journal {} entries", index, entries.size(), ex);
+                accounts.putAll(before);
+                claimed.forEach(pendingKeys::remove);
+                BusinessException unavailable =
+                        new BusinessException("Ledger unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+                for (Command command : batch) {
+                    if (command.failure == null) {
+                        command.failure = unavailable;
+                    }
+                }
+                entries.clear();
+            }
+            writeBehind.enqueue(entries);
+        }
+
+        batch.forEach(Command::complete);
+        forgetApplied();
+    }
+
+    /**
+     * Responses recorded for the keys of this batch: pending ones from memory, the rest from the database. Keyed
+     * commands fail with 503 when that lookup does.
+     */
+    private Map<IdempotencyRecordId, RecordedKey> recordedKeys(List<Command> batch) {
+        Map<IdempotencyRecordId, RecordedKey> recorded = new HashMap<>();
+        List<Command> unknown = new ArrayList<>();
+        for (Command command : batch) {
+            if (command.claim == null) {
+                continue;
+            }
+            RecordedKey pending = pendingKeys.get(command.claim.id());
+            if (pending != null) {
+                recorded.put(command.claim.id(), pending);
+            } else {
+                unknown.add(command);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return recorded;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("customerIds", unknown.stream().map(command -> command.customerId).distinct().toList())
+                .addValue("keys", unknown.stream().map(command -> command.claim.key()).distinct().toList());
+        try {
+            jdbcTemplate.query(FIND_IDEMPOTENCY_KEYS_SQL, params, rs -> {
+                recorded.put(
+                        new IdempotencyRecordId(
+                                rs.getObject("customer_id", UUID.class), rs.getString("idempotency_key")),
+                        new RecordedKey(
+                                TransactionType.valueOf(rs.getString("operation")),
+                                Money.ofMinor(rs.getLong("amount")),
+                                responseCodec.read(rs.getString("response_body")),
+                                0));
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Account partition {} could not look up idempotency keys", index, ex);
+            BusinessException unavailable =
+                    new BusinessException("Ledger unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+            unknown.forEach(command -> command.failure = unavailable);
+        }
+        return recorded;
+    }
+
+    /** Drops pending keys the write-behind has recorded, then the least recently used states over the limit. */
+    private void forgetApplied() {
+        long applied = writeBehind.appliedSequence();
+        Iterator<RecordedKey> keys = pendingKeys.values().iterator();
+        while (keys.hasNext() && keys.next().sequence() <= applied) {
+            keys.remove();
+        }
+        Iterator<AccountState> states = accounts.values().iterator();
+        while (accounts.size() > maxAccounts && states.hasNext()) {
+            if (states.next().lastSequence <= applied) {
+                states.remove();
+            }
+        }
+    }
+
+    private AccountState account(UUID customerId, LocalDate today, Instant now) {
+        AccountState account = accounts.get(customerId);
+        if (account != null
+                && account.loadedAt.plus(stateTtl).isBefore(now)
+                && account.lastSequence <= writeBehind.appliedSequence()) {
+            // The database has every change, so reloading loses nothing and picks up a new daily limit.
+            account = null;
+        }
+        if (account == null) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("customerId", customerId)
+                    .addValue("usageDate", today);
+            account = jdbcTemplate.query(LOAD_ACCOUNT_SQL, params, (rs, rowNum) -> new AccountState(
+                            rs.getObject("id", UUID.class),
+                            rs.getObject("customer_id", UUID.class),
+                            rs.getString("name"),
+                            Money.ofMinor(rs.getLong("balance")),
+                            Money.ofMinor(rs.getLong("daily_limit")),
+                            today,
+                            Money.ofMinor(rs.getLong("withdrawn_amount")),
+                            now,
+                            0))
+                    .stream()
+                    .findFirst()
+                    .orElseThrow(() -> new BusinessException("Account not found", HttpStatus.NOT_FOUND));
+            accounts.put(customerId, account);
+        }
+        return account;
+    }
+
+    enum Operation {
+        SNAPSHOT,
+        DEPOSIT,
+        WITHDRAW
+    }
+
+    private static final class Command {
+
+        private final UUID customerId;
+        private final Operation operation;
+        private final Money amount;
+        private final IdempotencyClaim claim;
+        private final CompletableFuture<AccountSnapshotResponse> future = new CompletableFuture<>();
+        private AccountSnapshotResponse result;
+        private RuntimeException failure;
+
+        private Command(UUID customerId, Operation operation, Money amount, IdempotencyClaim claim) {
+            this.customerId = customerId;
+            this.operation = operation;
+            this.amount = amount;
+            this.claim = claim;
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    /** A response recorded for a key; {@code sequence} is its journal entry, 0 when read from the database. */
+    private record RecordedKey(
+            TransactionType operation, Money amount, AccountSnapshotResponse response, long sequence) {}
+
+    private static final class AccountState {
+
+        private final UUID id;
+        private final UUID customerId;
+        private final String customerName;
+        private final Money dailyLimit;
+        private final Instant loadedAt;
+        private Money balance;
+        private LocalDate usageDate;
+        private Money withdrawnToday;
+        // Journal sequence of the last change; the state may be dropped once the write-behind has applied it.
+        private long lastSequence;
+
+        private AccountState(
+                UUID id,
+                UUID customerId,
+                String customerName,
+                Money balance,
+                Money dailyLimit,
+                LocalDate usageDate,
+                Money withdrawnToday,
+                Instant loadedAt,
+                long lastSequence) {
+            this.id = id;
+            this.customerId = customerId;
+            this.customerName = customerName;
+            this.balance = balance;
+            this.dailyLimit = dailyLimit;
+            this.usageDate = usageDate;
+            this.withdrawnToday = withdrawnToday;
+            this.loadedAt = loadedAt;
+            this.lastSequence = lastSequence;
+        }
+
+        private AccountState copy() {
+            return new AccountState(
+                    id, customerId, customerName, balance, dailyLimit, usageDate, withdrawnToday, loadedAt,
+                    lastSequence);
+        }
+
+        private void rollTo(LocalDate today) {
+            if (!today.equals(usageDate)) {
+                usageDate = today;
+                withdrawnToday = Money.ZERO;
+            }
+        }
+
+        private JournalEntry deposit(Money amount, long sequence, Instant now) {
+            balance = balance.plus(amount);
+            return entry(TransactionType.DEPOSIT, amount, sequence, now);
+        }
+
+        private JournalEntry withdraw(Money amount, long sequence, Instant now) {
+            if (amount.isGreaterThan(balance)) {
+                throw BusinessException.insufficientFunds();
+            }
+            if (amount.isGreaterThan(dailyLimit.minus(withdrawnToday))) {
+                throw BusinessException.dailyLimitExceeded();
+            }
+            balance = balance.minus(amount);
+            withdrawnToday = withdrawnToday.plus(amount);
+            return entry(TransactionType.WITHDRAWAL, amount, sequence, now);
+        }
+
+        private JournalEntry entry(TransactionType type, Money amount, long sequence, Instant now) {
+            return new JournalEntry(
+                    sequence, UUID.randomUUID(), id, type, amount, now, balance, usageDate, withdrawnToday);
+        }
+
+        private AccountSnapshotResponse snapshot() {
+            return new AccountSnapshotResponse(
+                    customerId,
+                    customerName,
+                    balance.toBigDecimal(),
+                    dailyLimit.toBigDecimal(),
+                    withdrawnToday.toBigDecimal(),
+                    dailyLimit.minus(withdrawnToday).max(Money.ZERO).toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.exercise.atm.domain.service.partition;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.domain.service.IdempotencyClaim;
+import com.exercise.atm.domain.service.IdempotencyResponseCodec;
+import com.exercise.atm.domain.service.partition.AccountPartition.Operation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entry point of the {@code partitioned} account engine: hashes each customer to one of N {@link AccountPartition}s,
+ * replays any journal entries the database has not seen yet, then starts the partition owners and their
+ * write-behind threads.
+ *
+ * <p>The engine assumes it is the only writer of the accounts it serves (a single instance, or terminals routed to
+ * instances by customer). Changing the partition count requires a clean shutdown first, so every journal is empty.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.account.engine", havingValue = "partitioned")
+public class AccountPartitions {
+
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyResponseCodec responseCodec;
+    private final Clock clock;
+
+    @Value("${app.account.partitioned.partitions:8}")
+    private int partitionCount = 8;
+
+    @Value("${app.account.partitioned.journal-dir:./data/journal}")
+    private String journalDir = "./data/journal";
+
+    @Value("${app.account.partitioned.max-batch-size:256}")
+    private int maxBatchSize = 256;
+
+    @Value("${app.account.partitioned.queue-capacity:10000}")
+    private int queueCapacity = 10_000;
+
+    @Value("${app.account.partitioned.max-segment-bytes:67108864}")
+    private long maxSegmentBytes = 64L * 1024 * 1024;
+
+    @Value("${app.account.partitioned.max-accounts:100000}")
+    private int maxAccounts = 100_000;
+
+    @Value("${app.account.partitioned.state-ttl:PT5M}")
+    private Duration stateTtl = Duration.ofMinutes(5);
+
+    private final List<AccountPartition> partitions = new ArrayList<>();
+
+    @PostConstruct
+    void start() throws IOException {
+        Path directory = Path.of(journalDir);
+        for (int i = 0; i < partitionCount; i++) {
+            LedgerJournal journal = new LedgerJournal(directory, i, maxSegmentBytes);
+            JournalWriteBehind writeBehind =
+                    new JournalWriteBehind(journal, jdbcTemplate, transactionTemplate, maxBatchSize);
+            List<JournalEntry> pending = journal.open();
+            if (!pending.isEmpty()) {
+                log.info("Replaying {} journal entries of account partition {}", pending.size(), i);
+                writeBehind.replay(pending);
+            }
+            writeBehind.start("account-partition-" + i + "-writer");
+
+            AccountPartition partition = new AccountPartition(
+                    i, journal, writeBehind, jdbcTemplate, responseCodec, clock, maxBatchSize, queueCapacity,
+                    maxAccounts, stateTtl);
+            partition.start();
+            partitions.add(partition);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        for (AccountPartition partition : partitions) {
+            partition.stop(STOP_TIMEOUT_MILLIS);
+        }
+    }
+
+    public CompletableFuture<AccountSnapshotResponse> snapshot(UUID customerId) {
+        return partitionFor(customerId).submit(customerId, Operation.SNAPSHOT, null, null);
+    }
+
+    /** @param claim idempotency key to journal with the deposit, or {@code null} */
+    public CompletableFuture<AccountSnapshotResponse> deposit(
+            UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return partitionFor(customerId).submit(customerId, Operation.DEPOSIT, amount, claim);
+    }
+
+    /** @param claim idempotency key to journal with the withdrawal, or {@code null} */
+    public CompletableFuture<AccountSnapshotResponse> withdraw(
+            UUID customerId, BigDecimal amount, IdempotencyClaim claim) {
+        return partitionFor(customerId).submit(customerId, Operation.WITHDRAW, amount, claim);
+    }
+
+    private AccountPartition partitionFor(UUID customerId) {
+        return partitions.get(Math.floorMod(customerId.hashCode(), partitions.size()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.exercise.atm.domain.service.partition;
+
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * One acknowledged balance change: the ledger row to insert plus the account state it leaves behind, so replaying an
+ * entry is idempotent. A change guarded by an {@code Idempotency-Key} carries the key and its response, which the
+ * write-behind records in the same transaction as the ledger row. Amounts are written as decimals, as they were
+ * before they were held in minor units, so older journals still replay.
+ */
+record JournalEntry(
+        long sequence,
+        UUID transactionId,
+        UUID accountId,
+        TransactionType type,
+        Money amount,
+        Instant occurredAt,
+        Money balanceAfter,
+        LocalDate usageDate,
+        Money withdrawnToday,
+        IdempotencyKey idempotencyKey) {
+
+    private static final String SEPARATOR = "|";
+    private static final int FIELDS = 9;
+    private static final int FIELDS_WITH_KEY = 13;
+
+    /** A key and the response recorded for it; key and body are Base64 encoded in the journal line. */
+    record IdempotencyKey(UUID customerId, String key, Instant expiresAt, String responseBody) {}
+
+    JournalEntry(
+            long sequence,
+            UUID transactionId,
+            UUID accountId,
+            TransactionType type,
+            Money amount,
+            Instant occurredAt,
+            Money balanceAfter,
+            LocalDate usageDate,
+            Money withdrawnToday) {
+        this(sequence, transactionId, accountId, type, amount, occurredAt, balanceAfter, usageDate, withdrawnToday,
+                null);
+    }
+
+    JournalEntry withIdempotencyKey(IdempotencyKey key) {
+        return new JournalEntry(
+                sequence, transactionId, accountId, type, amount, occurredAt, balanceAfter, usageDate, withdrawnToday,
+                key);
+    }
+
+    String toLine() {
+        String line = String.join(
+                SEPARATOR,
+                Long.toString(sequence),
+                transactionId.toString(),
+                accountId.toString(),
+                type.name(),
+                amount.toString(),
+                occurredAt.toString(),
+                balanceAfter.toString(),
+                usageDate.toString(),
+                withdrawnToday.toString());
+        if (idempotencyKey == null) {
+            return line;
+        }
+        return String.join(
+                SEPARATOR,
+                line,
+                idempotencyKey.customerId().toString(),
+                encode(idempotencyKey.key()),
+                idempotencyKey.expiresAt().toString(),
+                encode(idempotencyKey.responseBody()));
+    }
+
+    static JournalEntry parse(String line) {
+        String[] fields = line.split("\\|", -1);
+        if (fields.length != FIELDS && fields.length != FIELDS_WITH_KEY) {
+            throw new IllegalStateException("Corrupt journal entry: " + line);
+        }
+        IdempotencyKey key = fields.length == FIELDS
+                ? null
+                : new IdempotencyKey(
+                        UUID.fromString(fields[9]), decode(fields[10]), Instant.parse(fields[11]), decode(fields[12]));
+        return new JournalEntry(
+                Long.parseLong(fields[0]),
+                UUID.fromString(fields[1]),
+                UUID.fromString(fields[2]),
+                TransactionType.valueOf(fields[3]),
+                Money.of(new BigDecimal(fields[4])),
+                Instant.parse(fields[5]),
+                Money.of(new BigDecimal(fields[6])),
+                LocalDate.parse(fields[7]),
+                Money.of(new BigDecimal(fields[8])),
+                key);
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
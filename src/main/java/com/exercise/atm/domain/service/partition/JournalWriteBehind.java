@@ -0,0 +1,262 @@
+package com.exercise.atm.domain.service.partition;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.domain.entity.TransactionType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies journaled entries to the database in batches, one transaction per batch, and advances the journal
+ * checkpoint afterwards. Failed batches are retried with backoff; anything not applied at shutdown stays in the
+ * journal and is replayed on the next start. {@link #appliedSequence()} tells the partition owner which entries are in
+ * the database, so it knows which account states and idempotency keys it may forget.
+ */
+@Slf4j
+final class JournalWriteBehind {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    // The occurred_at bound lets a partitioned ledger skip partitions older than the batch.
+    static final String RECORDED_IDS_SQL =
+            "SELECT id FROM transactions WHERE id IN (:ids) AND occurred_at >= :oldest";
+
+    static final String INSERT_LEDGER_SQL = """
+            INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = ?, updated_at = ? WHERE id = ?";
+
+    static final String UPDATE_USAGE_SQL =
+            "UPDATE account_daily_usage SET withdrawn_amount = ?, updated_at = ? WHERE account_id = ? AND usage_date = ?";
+
+    static final String INSERT_USAGE_SQL =
+            "INSERT INTO account_daily_usage (account_id, usage_date, withdrawn_amount) VALUES (?, ?, ?)";
+
+    static final String INSERT_IDEMPOTENCY_KEY_SQL = """
+            INSERT INTO idempotency_keys
+                (customer_id, idempotency_key, operation, amount, response_body, created_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final LedgerJournal journal;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final BlockingQueue<JournalEntry> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private volatile long appliedSequence;
+    private Thread thread;
+
+    JournalWriteBehind(
+            LedgerJournal journal,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            int maxBatchSize) {
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Synchronously applies entries recovered from the journal. Ledger rows that already made it to the database
+     * before the crash are skipped; balances and usage are absolute values, so re-applying them is harmless.
+     */
+    void replay(List<JournalEntry> recovered) throws IOException {
+        for (int from = 0; from < recovered.size(); from += maxBatchSize) {
+            List<JournalEntry> batch = recovered.subList(from, Math.min(recovered.size(), from + maxBatchSize));
+            apply(batch, true);
+            long last = batch.get(batch.size() - 1).sequence();
+            journal.markApplied(last);
+            appliedSequence = last;
+        }
+    }
+
+    /** The sequence up to which every enqueued entry is committed to the database. */
+    long appliedSequence() {
+        return appliedSequence;
+    }
+
+    void start(String threadName) {
+        running = true;
+        thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void enqueue(List<JournalEntry> entries) {
+        queue.addAll(entries);
+    }
+
+    void stop(long timeoutMillis) throws InterruptedException {
+        running = false;
+        thread.join(timeoutMillis);
+    }
+
+    private void run() {
+        List<JournalEntry> batch = new ArrayList<>(maxBatchSize);
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        boolean retrying = false;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    JournalEntry first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+                apply(batch, retrying);
+                long last = batch.get(batch.size() - 1).sequence();
+                appliedSequence = last;
+                checkpoint(last);
+                batch.clear();
+                retrying = false;
+                backoffMillis = INITIAL_BACKOFF_MILLIS;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Write-behind of {} journal entries failed, retrying in {} ms", batch.size(), backoffMillis, ex);
+                if (!running) {
+                    return;
+                }
+                retrying = true;
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void checkpoint(long sequence) {
+        try {
+            journal.markApplied(sequence);
+        } catch (IOException ex) {
+            // Only means a longer (deduplicated) replay after a restart.
+            log.warn("Could not record journal checkpoint {}", sequence, ex);
+        }
+    }
+
+    private void apply(List<JournalEntry> batch, boolean skipRecorded) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<UUID> recorded = skipRecorded ? recordedTransactionIds(batch) : Set.of();
+
+            List<Object[]> ledgerRows = new ArrayList<>(batch.size());
+            List<Object[]> keyRows = new ArrayList<>();
+            Map<UUID, JournalEntry> latestByAccount = new LinkedHashMap<>();
+            Map<UsageKey, JournalEntry> latestUsage = new LinkedHashMap<>();
+            for (JournalEntry entry : batch) {
+                if (!recorded.contains(entry.transactionId())) {
+                    ledgerRows.add(new Object[] {
+                        entry.transactionId(),
+                        entry.accountId(),
+                        entry.type().name(),
+                        entry.amount().minorUnits(),
+                        timestamp(entry),
+                        entry.balanceAfter().minorUnits()
+                    });
+                    // Recorded with the ledger row, so a replayed entry finds both or neither.
+                    JournalEntry.IdempotencyKey key = entry.idempotencyKey();
+                    if (key != null) {
+                        keyRows.add(new Object[] {
+                            key.customerId(),
+                            key.key(),
+                            entry.type().name(),
+                            entry.amount().minorUnits(),
+                            key.responseBody(),
+                            timestamp(entry),
+                            OffsetDateTime.ofInstant(key.expiresAt(), ZoneOffset.UTC)
+                        });
+                    }
+                }
+                latestByAccount.put(entry.accountId(), entry);
+                if (entry.type() == TransactionType.WITHDRAWAL) {
+                    latestUsage.put(new UsageKey(entry.accountId(), entry.usageDate()), entry);
+                }
+            }
+
+            List<Object[]> balanceRows = new ArrayList<>(latestByAccount.size());
+            for (JournalEntry entry : latestByAccount.values()) {
+                balanceRows.add(new Object[] {
+                    entry.balanceAfter().minorUnits(), timestamp(entry), entry.accountId()
+                });
+            }
+            List<JournalEntry> usageEntries = new ArrayList<>(latestUsage.values());
+            List<Object[]> usageRows = new ArrayList<>(usageEntries.size());
+            for (JournalEntry entry : usageEntries) {
+                usageRows.add(new Object[] {
+                    entry.withdrawnToday().minorUnits(), timestamp(entry), entry.accountId(), entry.usageDate()
+                });
+            }
+
+            batchUpdate(INSERT_LEDGER_SQL, ledgerRows);
+            batchUpdate(INSERT_IDEMPOTENCY_KEY_SQL, keyRows);
+            batchUpdate(UPDATE_BALANCE_SQL, balanceRows);
+            if (!usageRows.isEmpty()) {
+                int[] updated = jdbcTemplate.getJdbcOperations().batchUpdate(UPDATE_USAGE_SQL, usageRows);
+                List<Object[]> usageInserts = new ArrayList<>();
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] == 0) {
+                        JournalEntry entry = usageEntries.get(i);
+                        usageInserts.add(new Object[] {
+                            entry.accountId(), entry.usageDate(), entry.withdrawnToday().minorUnits()
+                        });
+                    }
+                }
+                batchUpdate(INSERT_USAGE_SQL, usageInserts);
+            }
+        });
+    }
+
+    private Set<UUID> recordedTransactionIds(List<JournalEntry> batch) {
+        List<UUID> ids = batch.stream().map(JournalEntry::transactionId).toList();
+        JournalEntry oldest = batch.stream()
+                .min(Comparator.comparing(JournalEntry::occurredAt))
+                .orElseThrow();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("oldest", timestamp(oldest));
+        return new HashSet<>(jdbcTemplate.queryForList(RECORDED_IDS_SQL, params, UUID.class));
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(sql, rows);
+        }
+    }
+
+    private static OffsetDateTime timestamp(JournalEntry entry) {
+        return OffsetDateTime.ofInstant(entry.occurredAt(), ZoneOffset.UTC);
+    }
+
+    private record UsageKey(UUID accountId, LocalDate usageDate) {}
+}
@@ -0,0 +1,176 @@
+package com.exercise.atm.domain.service.partition;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, fsynced journal for one partition, split into segments named after their first sequence number. The
+ * partition owner appends; the write-behind thread records how far the database has caught up and deletes segments
+ * that are fully applied. Entries after the checkpoint are replayed on startup.
+ */
+final class LedgerJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final String segmentPrefix;
+    private final Path checkpointFile;
+    private final long maxSegmentBytes;
+
+    private final ReentrantLock segmentsLock = new ReentrantLock();
+    private final NavigableMap<Long, Path> segments = new TreeMap<>();
+
+    private FileChannel current;
+    private long nextSequence;
+
+    LedgerJournal(Path directory, int partition, long maxSegmentBytes) {
+        this.directory = directory;
+        this.segmentPrefix = String.format("partition-%03d-", partition);
+        this.checkpointFile = directory.resolve(String.format("partition-%03d.checkpoint", partition));
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /**
+     * Opens the journal for appending and returns the entries that were acknowledged but not yet applied to the
+     * database. A torn last line (a crash mid-append, never acknowledged) is ignored.
+     */
+    List<JournalEntry> open() throws IOException {
+        Files.createDirectories(directory);
+        long applied = readCheckpoint();
+        long lastSequence = applied;
+        List<JournalEntry> pending = new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(this::isSegment).forEach(path -> segments.put(firstSequence(path), path));
+        }
+        for (Path segment : segments.values()) {
+            for (String line : completeLines(segment)) {
+                JournalEntry entry = JournalEntry.parse(line);
+                lastSequence = Math.max(lastSequence, entry.sequence());
+                if (entry.sequence() > applied) {
+                    pending.add(entry);
+                }
+            }
+        }
+
+        nextSequence = lastSequence + 1;
+        startSegment();
+        return pending;
+    }
+
+    long nextSequence() {
+        return nextSequence++;
+    }
+
+    /**
+     * Appends entries and forces them to disk. On failure the partial write is cut off again, so nothing from this
+     * call is replayed later.
+     */
+    void append(List<JournalEntry> entries) throws IOException {
+        StringBuilder lines = new StringBuilder(entries.size() * 160);
+        for (JournalEntry entry : entries) {
+            lines.append(entry.toLine()).append('\n');
+        }
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines.toString());
+        long start = current.position();
+        try {
+            while (buffer.hasRemaining()) {
+                current.write(buffer);
+            }
+            current.force(false);
+        } catch (IOException ex) {
+            current.truncate(start);
+            current.position(start);
+            throw ex;
+        }
+        if (current.size() >= maxSegmentBytes) {
+            current.close();
+            startSegment();
+        }
+    }
+
+    /**
+     * Records that every entry up to {@code sequence} is in the database and drops segments that hold nothing newer.
+     */
+    void markApplied(long sequence) throws IOException {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(sequence), StandardCharsets.UTF_8);
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        segmentsLock.lock();
+        try {
+            Map.Entry<Long, Path> segment = segments.firstEntry();
+            while (segment != null) {
+                Long next = segments.higherKey(segment.getKey());
+                if (next == null || next - 1 > sequence) {
+                    break;
+                }
+                Files.deleteIfExists(segment.getValue());
+                segments.remove(segment.getKey());
+                segment = segments.firstEntry();
+            }
+        } finally {
+            segmentsLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void startSegment() throws IOException {
+        // A segment named after nextSequence can only hold a torn line, so it is safe to start it over.
+        Path path = directory.resolve(segmentPrefix + String.format("%019d", nextSequence) + SEGMENT_SUFFIX);
+        current = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segmentsLock.lock();
+        try {
+            segments.put(nextSequence, path);
+        } finally {
+            segmentsLock.unlock();
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim());
+    }
+
+    private boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(segmentPrefix) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(segmentPrefix.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static List<String> completeLines(Path segment) throws IOException {
+        String content = Files.readString(segment, StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n');
+        if (end < 0) {
+            return List.of();
+        }
+        return content.substring(0, end).lines().filter(line -> !line.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,16 @@
+CREATE TABLE account_daily_usage (
+    account_id UUID NOT NULL,
+    usage_date DATE NOT NULL,
+    withdrawn_amount NUMERIC(19,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT pk_account_daily_usage PRIMARY KEY (account_id, usage_date),
+    CONSTRAINT fk_account_daily_usage_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
+
+-- Backfill from the ledger so withdrawals made before this migration keep counting against the limit.
+INSERT INTO account_daily_usage (account_id, usage_date, withdrawn_amount)
+SELECT account_id, CAST(occurred_at AT TIME ZONE 'UTC' AS DATE), SUM(amount)
+FROM transactions
+WHERE type = 'WITHDRAWAL'
+GROUP BY account_id, CAST(occurred_at AT TIME ZONE 'UTC' AS DATE);
@@ -0,0 +1,13 @@
+CREATE TABLE idempotency_keys (
+    customer_id UUID NOT NULL,
+    idempotency_key VARCHAR(128) NOT NULL,
+    operation VARCHAR(32) NOT NULL,
+    amount NUMERIC(19,2) NOT NULL,
+    response_body VARCHAR(2000) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (customer_id, idempotency_key),
+    CONSTRAINT fk_idempotency_keys_customer FOREIGN KEY (customer_id) REFERENCES customers(id)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,28 @@
+-- End-of-day rollup of the ledger, filled incrementally by AccountDailyBalanceRollup. A day only has a row if the
+-- account had transactions on it.
+CREATE TABLE account_daily_balances (
+    account_id UUID NOT NULL,
+    balance_date DATE NOT NULL,
+    opening_balance NUMERIC(19,2) NOT NULL,
+    closing_balance NUMERIC(19,2) NOT NULL,
+    deposit_total NUMERIC(19,2) NOT NULL DEFAULT 0,
+    withdrawal_total NUMERIC(19,2) NOT NULL DEFAULT 0,
+    transaction_count INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT pk_account_daily_balances PRIMARY KEY (account_id, balance_date),
+    CONSTRAINT fk_account_daily_balances_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
+
+-- Position of incremental jobs in the ledger, ordered by (occurred_at, id).
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(64) PRIMARY KEY,
+    last_occurred_at TIMESTAMP WITH TIME ZONE NULL,
+    last_transaction_id UUID NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+INSERT INTO job_checkpoints (job_name) VALUES ('account-daily-balances');
+
+-- Lets the rollup read the ledger across accounts in (occurred_at, id) order.
+CREATE INDEX idx_transactions_occurred_at ON transactions(occurred_at, id);
@@ -0,0 +1,30 @@
+package com.exercise.atm.reactive;
+
+import java.time.Clock;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.exercise.atm.config.security.JwtProvider;
+import com.exercise.atm.config.security.VerifiedTokenCache;
+
+/**
+ * Non-blocking (WebFlux + R2DBC) variant of the account and login API. It runs against the schema migrated by the
+ * servlet application and issues tokens that either stack accepts.
+ */
+@SpringBootApplication(exclude = ReactiveUserDetailsServiceAutoConfiguration.class)
+@Import({JwtProvider.class, VerifiedTokenCache.class})
+public class ReactiveAtmApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAtmApplication.class, args);
+    }
+
+    @Bean
+    Clock clock() {
+        return Clock.systemUTC();
+    }
+}
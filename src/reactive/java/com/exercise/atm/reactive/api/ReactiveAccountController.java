@@ -0,0 +1,40 @@
+package com.exercise.atm.reactive.api;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.dto.AmountRequest;
+import com.exercise.atm.reactive.domain.ReactiveAccountService;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/account")
+@RequiredArgsConstructor
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+
+    @GetMapping
+    public Mono<AccountSnapshotResponse> getSnapshot(@AuthenticationPrincipal UUID customerId) {
+        return accountService.getSnapshot(customerId);
+    }
+
+    @PostMapping("/deposit")
+    public Mono<AccountSnapshotResponse> deposit(
+            @AuthenticationPrincipal UUID customerId, @Valid @RequestBody AmountRequest request) {
+        return accountService.deposit(customerId, request.amount());
+    }
+
+    @PostMapping("/withdraw")
+    public Mono<AccountSnapshotResponse> withdraw(
+            @AuthenticationPrincipal UUID customerId, @Valid @RequestBody AmountRequest request) {
+        return accountService.withdraw(customerId, request.amount());
+    }
+}
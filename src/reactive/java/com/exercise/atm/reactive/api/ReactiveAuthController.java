@@ -0,0 +1,26 @@
+package com.exercise.atm.reactive.api;
+
+import com.exercise.atm.api.dto.LoginRequest;
+import com.exercise.atm.api.dto.LoginResponse;
+import com.exercise.atm.reactive.domain.ReactiveAuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+
+    @PostMapping("/login")
+    public Mono<LoginResponse> login(@RequestBody LoginRequest request) {
+        return authService.login(request.cardNumber(), request.pin())
+                .map(result -> new LoginResponse(
+                        result.accessToken(), "Bearer", result.expiresInSeconds(), result.customerId(), result.customerName()));
+    }
+}
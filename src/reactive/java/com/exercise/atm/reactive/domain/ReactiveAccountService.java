@@ -0,0 +1,213 @@
+package com.exercise.atm.reactive.domain;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * The rules of {@code AccountServiceImpl} over R2DBC: each operation locks the account row, applies the change and
+ * reads the resulting snapshot in one transaction. Nothing blocks; requests beyond the connection pool wait for a
+ * connection (up to {@code spring.r2dbc.pool.max-acquire-time}) without holding a thread.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+
+    static final String SNAPSHOT_SQL = """
+            SELECT a.customer_id, c.name, a.balance, a.daily_limit,
+                   COALESCE(u.withdrawn_amount, 0) AS withdrawn_amount
+            FROM accounts a
+            JOIN customers c ON c.id = a.customer_id
+            LEFT JOIN account_daily_usage u ON u.account_id = a.id AND u.usage_date = :usageDate
+            WHERE a.customer_id = :customerId
+            """;
+
+    static final String LOCK_ACCOUNT_SQL =
+            "SELECT id, balance, daily_limit FROM accounts WHERE customer_id = :customerId FOR UPDATE";
+
+    static final String WITHDRAWN_SQL = """
+            SELECT withdrawn_amount FROM account_daily_usage
+            WHERE account_id = :accountId AND usage_date = :usageDate
+            """;
+
+    static final String UPDATE_BALANCE_SQL =
+            "UPDATE accounts SET balance = :balance, updated_at = :updatedAt WHERE id = :accountId";
+
+    static final String UPDATE_USAGE_SQL = """
+            UPDATE account_daily_usage SET withdrawn_amount = :withdrawnAmount, updated_at = :updatedAt
+            WHERE account_id = :accountId AND usage_date = :usageDate
+            """;
+
+    static final String INSERT_USAGE_SQL = """
+            INSERT INTO account_daily_usage (account_id, usage_date, withdrawn_amount)
+            VALUES (:accountId, :usageDate, :withdrawnAmount)
+            """;
+
+    static final String INSERT_LEDGER_SQL = """
+            INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after)
+            VALUES (:id, :accountId, :type, :amount, :occurredAt, :balanceAfter)
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final Clock clock;
+
+    public Mono<AccountSnapshotResponse> getSnapshot(UUID customerId) {
+        return Mono.defer(() -> readSnapshot(customerId, today(Instant.now(clock))))
+                .switchIfEmpty(Mono.error(ReactiveAccountService::accountNotFound));
+    }
+
+    public Mono<AccountSnapshotResponse> deposit(UUID customerId, BigDecimal requestedAmount) {
+        return Mono.defer(() -> {
+                    Money amount = Money.of(requestedAmount);
+                    Instant now = Instant.now(clock);
+                    return lockAccount(customerId).flatMap(account -> {
+                        Money newBalance = account.balance().plus(amount);
+                        return updateBalance(account.id(), newBalance, now)
+                                .then(insertLedger(account.id(), TransactionType.DEPOSIT, amount, now, newBalance))
+                                .then(readSnapshot(customerId, today(now)));
+                    });
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<AccountSnapshotResponse> withdraw(UUID customerId, BigDecimal requestedAmount) {
+        return Mono.defer(() -> {
+                    Money amount = Money.of(requestedAmount);
+                    Instant now = Instant.now(clock);
+                    return lockAccount(customerId).flatMap(account -> withdrawnOn(account.id(), today(now))
+                            .flatMap(withdrawn -> applyWithdrawal(customerId, account, withdrawn, amount, now)));
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<AccountSnapshotResponse> applyWithdrawal(
+            UUID customerId, LockedAccount account, Money withdrawnToday, Money amount, Instant now) {
+        Money remainingLimit = account.dailyLimit().minus(withdrawnToday);
+
+        if (amount.isGreaterThan(account.balance())) {
+            return Mono.error(BusinessException.insufficientFunds());
+        }
+
+        if (amount.isGreaterThan(remainingLimit)) {
+            return Mono.error(BusinessException.dailyLimitExceeded());
+        }
+
+        Money newBalance = account.balance().minus(amount);
+        LocalDate today = today(now);
+        return updateBalance(account.id(), newBalance, now)
+                .then(upsertUsage(account.id(), today, withdrawnToday.plus(amount), now))
+                .then(insertLedger(account.id(), TransactionType.WITHDRAWAL, amount, now, newBalance))
+                .then(readSnapshot(customerId, today));
+    }
+
+    private Mono<LockedAccount> lockAccount(UUID customerId) {
+        return databaseClient.sql(LOCK_ACCOUNT_SQL)
+                .bind("customerId", customerId)
+                .map(row -> new LockedAccount(
+                        row.get("id", UUID.class),
+                        Money.ofMinor(row.get("balance", Long.class)),
+                        Money.ofMinor(row.get("daily_limit", Long.class))))
+                .one()
+                .switchIfEmpty(Mono.error(ReactiveAccountService::accountNotFound));
+    }
+
+    // Safe to read-modify-write: every writer of this row holds the account lock.
+    private Mono<Money> withdrawnOn(UUID accountId, LocalDate day) {
+        return databaseClient.sql(WITHDRAWN_SQL)
+                .bind("accountId", accountId)
+                .bind("usageDate", day)
+                .map(row -> Money.ofMinor(row.get("withdrawn_amount", Long.class)))
+                .one()
+                .defaultIfEmpty(Money.ZERO);
+    }
+
+    private Mono<Void> updateBalance(UUID accountId, Money balance, Instant now) {
+        return databaseClient.sql(UPDATE_BALANCE_SQL)
+                .bind("balance", balance.minorUnits())
+                .bind("updatedAt", timestamp(now))
+                .bind("accountId", accountId)
+                .then();
+    }
+
+    private Mono<Void> upsertUsage(UUID accountId, LocalDate day, Money withdrawnAmount, Instant now) {
+        return databaseClient.sql(UPDATE_USAGE_SQL)
+                .bind("withdrawnAmount", withdrawnAmount.minorUnits())
+                .bind("updatedAt", timestamp(now))
+                .bind("accountId", accountId)
+                .bind("usageDate", day)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated > 0
+                        ? Mono.<Void>empty()
+                        : databaseClient.sql(INSERT_USAGE_SQL)
+                                .bind("accountId", accountId)
+                                .bind("usageDate", day)
+                                .bind("withdrawnAmount", withdrawnAmount.minorUnits())
+                                .then());
+    }
+
+    private Mono<Void> insertLedger(
+            UUID accountId, TransactionType type, Money amount, Instant now, Money balanceAfter) {
+        return databaseClient.sql(INSERT_LEDGER_SQL)
+                .bind("id", UUID.randomUUID())
+                .bind("accountId", accountId)
+                .bind("type", type.name())
+                .bind("amount", amount.minorUnits())
+                .bind("occurredAt", timestamp(now))
+                .bind("balanceAfter", balanceAfter.minorUnits())
+                .then();
+    }
+
+    private Mono<AccountSnapshotResponse> readSnapshot(UUID customerId, LocalDate usageDate) {
+        return databaseClient.sql(SNAPSHOT_SQL)
+                .bind("customerId", customerId)
+                .bind("usageDate", usageDate)
+                .map(ReactiveAccountService::mapSnapshot)
+                .one();
+    }
+
+    private static AccountSnapshotResponse mapSnapshot(Readable row) {
+        Money dailyLimit = Money.ofMinor(row.get("daily_limit", Long.class));
+        Money withdrawnToday = Money.ofMinor(row.get("withdrawn_amount", Long.class));
+        return new AccountSnapshotResponse(
+                row.get("customer_id", UUID.class),
+                row.get("name", String.class),
+                Money.toDecimal(row.get("balance", Long.class)),
+                dailyLimit.toBigDecimal(),
+                withdrawnToday.toBigDecimal(),
+                dailyLimit.minus(withdrawnToday).max(Money.ZERO).toBigDecimal());
+    }
+
+    private static BusinessException accountNotFound() {
+        return new BusinessException("Account not found", HttpStatus.NOT_FOUND);
+    }
+
+    private static LocalDate today(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private record LockedAccount(UUID id, Money balance, Money dailyLimit) {}
+}
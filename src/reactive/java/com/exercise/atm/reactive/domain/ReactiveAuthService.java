@@ -0,0 +1,139 @@
+package com.exercise.atm.reactive.domain;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.config.security.JwtProvider;
+import com.exercise.atm.domain.service.LoginResult;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The login rules of {@code AuthServiceImpl} over R2DBC. Failed-attempt and lock updates are written before the
+ * error is signalled, as the servlet version commits them despite the {@link BusinessException}.
+ */
+@Service
+public class ReactiveAuthService {
+
+    static final String FIND_BY_CARD_SQL =
+            "SELECT id, name, pin_hash, failed_attempts, locked_until FROM customers WHERE card_number = :cardNumber";
+
+    static final String UPDATE_LOGIN_STATE_SQL = """
+            UPDATE customers SET failed_attempts = :failedAttempts, locked_until = :lockedUntil, updated_at = :updatedAt
+            WHERE id = :id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtProvider jwtProvider;
+    private final Clock clock;
+    private final int maxFailedAttempts;
+    private final Duration lockDuration;
+    private final long tokenExpirationSeconds;
+
+    public ReactiveAuthService(
+            DatabaseClient databaseClient,
+            PasswordEncoder passwordEncoder,
+            JwtProvider jwtProvider,
+            Clock clock,
+            @Value("${security.auth.max-failed-attempts:3}") int maxFailedAttempts,
+            @Value("${security.auth.lock-duration-minutes:15}") int lockDurationMinutes,
+            @Value("${security.jwt.expiration-seconds:3600}") long tokenExpirationSeconds) {
+        this.databaseClient = databaseClient;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtProvider = jwtProvider;
+        this.clock = clock;
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.lockDuration = Duration.ofMinutes(lockDurationMinutes);
+        this.tokenExpirationSeconds = tokenExpirationSeconds;
+    }
+
+    public Mono<LoginResult> login(String cardNumber, String pin) {
+        return findByCardNumber(cardNumber)
+                .switchIfEmpty(Mono.error(() -> new BusinessException("Invalid Card", HttpStatus.UNAUTHORIZED)))
+                .flatMap(customer -> {
+                    Instant now = Instant.now(clock);
+
+                    if (customer.lockedUntil() != null && customer.lockedUntil().isAfter(now)) {
+                        return Mono.<LoginResult>error(
+                                new BusinessException("Account Locked, try again later", HttpStatus.LOCKED));
+                    }
+                    // An expired lock window forgives past failures
+                    int failedAttempts = customer.lockedUntil() != null ? 0 : customer.failedAttempts();
+
+                    return pinMatches(pin, customer.pinHash()).flatMap(matches -> {
+                        if (!matches) {
+                            int attempts = failedAttempts + 1;
+                            if (attempts >= maxFailedAttempts) {
+                                return updateLoginState(customer.id(), attempts, now.plus(lockDuration), now)
+                                        .then(Mono.<LoginResult>error(new BusinessException(
+                                                "Account Locked, try again later", HttpStatus.LOCKED)));
+                            }
+                            return updateLoginState(customer.id(), attempts, null, now)
+                                    .then(Mono.<LoginResult>error(
+                                            new BusinessException("Invalid PIN", HttpStatus.UNAUTHORIZED)));
+                        }
+
+                        // Same as the JPA version: nothing is written when there was nothing to reset.
+                        Mono<Void> reset = customer.failedAttempts() == 0 && customer.lockedUntil() == null
+                                ? Mono.empty()
+                                : updateLoginState(customer.id(), 0, null, now);
+                        return reset.then(Mono.fromSupplier(() -> new LoginResult(
+                                customer.id(),
+                                customer.name(),
+                                jwtProvider.generateToken(customer.id(), customer.name()),
+                                tokenExpirationSeconds)));
+                    });
+                });
+    }
+
+    /** BCrypt is deliberately slow, so it runs on the CPU-bound scheduler rather than an event-loop thread. */
+    private Mono<Boolean> pinMatches(String pin, String pinHash) {
+        return Mono.fromCallable(() -> passwordEncoder.matches(pin, pinHash)).subscribeOn(Schedulers.parallel());
+    }
+
+    private Mono<CustomerCredentials> findByCardNumber(String cardNumber) {
+        return databaseClient.sql(FIND_BY_CARD_SQL)
+                .bind("cardNumber", cardNumber)
+                .map(row -> {
+                    OffsetDateTime lockedUntil = row.get("locked_until", OffsetDateTime.class);
+                    return new CustomerCredentials(
+                            row.get("id", UUID.class),
+                            row.get("name", String.class),
+                            row.get("pin_hash", String.class),
+                            row.get("failed_attempts", Integer.class),
+                            lockedUntil == null ? null : lockedUntil.toInstant());
+                })
+                .one();
+    }
+
+    private Mono<Void> updateLoginState(UUID customerId, int failedAttempts, Instant lockedUntil, Instant now) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(UPDATE_LOGIN_STATE_SQL)
+                .bind("failedAttempts", failedAttempts)
+                .bind("updatedAt", timestamp(now))
+                .bind("id", customerId);
+        spec = lockedUntil == null
+                ? spec.bindNull("lockedUntil", OffsetDateTime.class)
+                : spec.bind("lockedUntil", timestamp(lockedUntil));
+        return spec.then();
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private record CustomerCredentials(
+            UUID id, String name, String pinHash, int failedAttempts, Instant lockedUntil) {}
+}
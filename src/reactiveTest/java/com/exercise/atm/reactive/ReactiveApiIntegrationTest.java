@@ -0,0 +1,50 @@
+package com.exercise.atm.reactive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.exercise.atm.api.AccountApiScenarios;
+
+/**
+ * The shared account and login scenarios, run against the reactive stack. Nothing here runs in a rolled-back test
+ * transaction, so Alice's seed state is restored after each test.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class ReactiveApiIntegrationTest extends AccountApiScenarios {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Override
+    protected WebTestClient webTestClient() {
+        return webTestClient;
+    }
+
+    @AfterEach
+    void restoreSeedData() {
+        databaseClient.sql("DELETE FROM transactions WHERE account_id = :accountId")
+                .bind("accountId", ACCOUNT_ID)
+                .then()
+                .then(databaseClient.sql("DELETE FROM account_daily_usage WHERE account_id = :accountId")
+                        .bind("accountId", ACCOUNT_ID)
+                        .then())
+                .then(databaseClient.sql("UPDATE accounts SET balance = 120000 WHERE id = :accountId")
+                        .bind("accountId", ACCOUNT_ID)
+                        .then())
+                .then(databaseClient.sql(
+                                "UPDATE customers SET failed_attempts = 0, locked_until = NULL WHERE id = :customerId")
+                        .bind("customerId", CUSTOMER_ID)
+                        .then())
+                .block();
+    }
+}
@@ -1,25 +1,41 @@
 package com.exercise.atm.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import com.exercise.atm.domain.service.AccountSnapshotCache;
+import com.exercise.atm.domain.service.LoginAttemptTracker;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 
 @SpringBootTest
@@ -30,6 +46,10 @@ class ApiIntegrationTest {
 
     private static final String CARD = "4111111111111111";
     private static final String PIN = "p@ssw0rd";
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000201");
+    private static final String SETTLEMENT_API_KEY = "test-settlement-key";
+    private static final String MANAGEMENT_API_KEY = "test-management-key";
 
     @Autowired
     private MockMvc mockMvc;
@@ -37,50 +57,62 @@ class ApiIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Test
-    void loginReturnsToken() throws Exception {
-        mockMvc.perform(
-                        post("/api/v1/auth/login")
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(Map.of("cardNumber", CARD, "pin", PIN))))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.accessToken").isNotEmpty())
-                .andExpect(jsonPath("$.tokenType").value("Bearer"))
-                .andExpect(jsonPath("$.customerId").isNotEmpty())
-                .andExpect(jsonPath("$.customerName").value("Alice Carter"));
+    @Autowired
+    private AccountSnapshotCache accountSnapshotCache;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void evictSnapshot() {
+        // Test transactions roll back without going through the controller, so drop anything cached from them.
+        accountSnapshotCache.evict(CUSTOMER_ID);
+        loginAttemptTracker.reset(CUSTOMER_ID);
     }
 
     @Test
-    void loginWithInvalidPinReturnsUnauthorized() throws Exception {
-        mockMvc.perform(
-                        post("/api/v1/auth/login")
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(Map.of("cardNumber", CARD, "pin", "wrong"))))
-                .andExpect(status().isUnauthorized())
-                .andExpect(jsonPath("$.code").value("UNAUTHORIZED"));
+    void successfulLoginDoesNotWriteTheCustomer() throws Exception {
+        String customerState = "SELECT failed_attempts, locked_until, updated_at FROM customers WHERE id = ?";
+        Map<String, Object> before = jdbcTemplate.queryForMap(customerState, CUSTOMER_ID);
+
+        loginAndGetToken();
+
+        assertThat(jdbcTemplate.queryForMap(customerState, CUSTOMER_ID)).isEqualTo(before);
     }
 
     @Test
-    void depositUpdatesBalance() throws Exception {
+    void depositRetriedWithSameIdempotencyKeyIsAppliedOnce() throws Exception {
         String token = loginAndGetToken();
+        String idempotencyKey = UUID.randomUUID().toString();
 
-        MvcResult result = mockMvc.perform(
-                        post("/api/v1/account/deposit")
-                                .header("Authorization", "Bearer " + token)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal("200.00")))))
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MvcResult deposit = mockMvc.perform(
+                            post("/api/v1/account/deposit")
+                                    .header("Authorization", "Bearer " + token)
+                                    .header("Idempotency-Key", idempotencyKey)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal("200.00")))))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            var replayed = objectMapper.readTree(deposit.getResponse().getContentAsString());
+            assertThat(new BigDecimal(replayed.get("balance").asText())).isEqualByComparingTo("1400.00");
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/v1/account").header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
                 .andReturn();
-
         var node = objectMapper.readTree(result.getResponse().getContentAsString());
         assertThat(new BigDecimal(node.get("balance").asText())).isEqualByComparingTo("1400.00");
-        assertThat(new BigDecimal(node.get("withdrawnToday").asText())).isEqualByComparingTo("0");
-        assertThat(new BigDecimal(node.get("dailyLimit").asText())).isEqualByComparingTo("500.00");
-        assertThat(node.get("customerName").asText()).isEqualTo("Alice Carter");
     }
 
     @Test
-    void withdrawWithInsufficientFundsReturnsConflict() throws Exception {
+    void recordsServiceOutcomeLockWaitBcryptAndStatementsPerEndpoint() throws Exception {
         String token = loginAndGetToken();
 
         mockMvc.perform(
@@ -88,79 +120,192 @@ class ApiIntegrationTest {
                                 .header("Authorization", "Bearer " + token)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal("2000.00")))))
-                .andExpect(status().isConflict())
-                .andExpect(jsonPath("$.code").value("CONFLICT"))
-                .andExpect(jsonPath("$.message").value("Insufficient funds"));
+                .andExpect(status().isConflict());
+
+        String withdraw = "POST /api/v1/account/withdraw";
+        assertThat(meterRegistry.get("atm.service.duration")
+                        .tags("service", "account", "method", "withdraw", "outcome", "insufficient_funds")
+                        .timer()
+                        .count())
+                .isPositive();
+        assertThat(meterRegistry.get("atm.lock.wait").tags("endpoint", withdraw, "lock", "account").timer().count())
+                .isPositive();
+        assertThat(meterRegistry.get("atm.request.sql.statements").tag("endpoint", withdraw).summary().max())
+                .isPositive();
+        assertThat(meterRegistry.get("atm.pin.hash")
+                        .tags("endpoint", "POST /api/v1/auth/login", "operation", "verify")
+                        .timer()
+                        .count())
+                .isPositive();
+        assertThat(meterRegistry.get("atm.service.duration")
+                        .tags("service", "auth", "method", "login", "outcome", "success")
+                        .timer()
+                        .count())
+                .isPositive();
     }
 
     @Test
-    void withdrawExceedingDailyLimitReturnsConflict() throws Exception {
+    void hotAccountsEndpointRequiresTheOperatorKeyAndRanksLockedAccounts() throws Exception {
         String token = loginAndGetToken();
-
         mockMvc.perform(
-                        post("/api/v1/account/withdraw")
+                        post("/api/v1/account/deposit")
                                 .header("Authorization", "Bearer " + token)
                                 .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal("450.00")))))
+                                .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal("10.00")))))
                 .andExpect(status().isOk());
 
-        mockMvc.perform(
-                        post("/api/v1/account/withdraw")
-                                .header("Authorization", "Bearer " + token)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal("100.00")))))
-                .andExpect(status().isConflict())
-                .andExpect(jsonPath("$.code").value("CONFLICT"))
-                .andExpect(jsonPath("$.message").value("Daily withdrawal limit exceeded"));
+        mockMvc.perform(get("/actuator/hotaccounts")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        // Only the management endpoints answer 401; the API keeps answering 403 without a token.
+        mockMvc.perform(get("/api/v1/account")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/hotaccounts").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/hotaccounts").header("X-Api-Key", MANAGEMENT_API_KEY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byRequests[*].accountId", hasItem(ACCOUNT_ID.toString())))
+                .andExpect(jsonPath("$.byLockWait").isArray());
     }
 
     @Test
-    void withdrawWithinLimitsSucceeds() throws Exception {
+    void snapshotIsNotModifiedUntilBalanceChanges() throws Exception {
         String token = loginAndGetToken();
 
-        MvcResult result = mockMvc.perform(
-                        post("/api/v1/account/withdraw")
-                                .header("Authorization", "Bearer " + token)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal("100.00")))))
+        String etag = mockMvc.perform(get("/api/v1/account").header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
 
-        var node = objectMapper.readTree(result.getResponse().getContentAsString());
-        assertThat(new BigDecimal(node.get("balance").asText())).isEqualByComparingTo("1100.00");
-        assertThat(new BigDecimal(node.get("withdrawnToday").asText())).isEqualByComparingTo("100.00");
-        assertThat(new BigDecimal(node.get("dailyLimit").asText())).isEqualByComparingTo("500.00");
-        assertThat(node.get("customerId").asText()).isNotBlank();
-        assertThat(node.get("customerName").asText()).isNotBlank();
+        mockMvc.perform(get("/api/v1/account")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/v1/account/deposit")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal("10.00")))))
+                .andExpect(status().isOk());
+
+        MvcResult changed = mockMvc.perform(get("/api/v1/account")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        var node = objectMapper.readTree(changed.getResponse().getContentAsString());
+        assertThat(new BigDecimal(node.get("balance").asText())).isEqualByComparingTo("1210.00");
     }
 
     @Test
-    void snapshotReturnsCurrentState() throws Exception {
+    // History is read over JDBC, which does not flush deposits pending in a test transaction; commit them instead.
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void transactionHistoryPagesWithCursorAndFilters() throws Exception {
+        try {
+            pageThroughHistory();
+        } finally {
+            jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", ACCOUNT_ID);
+            jdbcTemplate.update("UPDATE accounts SET balance = 120000 WHERE id = ?", ACCOUNT_ID);
+        }
+    }
+
+    private void pageThroughHistory() throws Exception {
         String token = loginAndGetToken();
+        for (int i = 1; i <= 5; i++) {
+            mockMvc.perform(post("/api/v1/account/deposit")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("amount", new BigDecimal(i)))))
+                    .andExpect(status().isOk());
+        }
 
-        MvcResult result = mockMvc.perform(get("/api/v1/account").header("Authorization", "Bearer " + token))
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/v1/account/transactions")
+                    .header("Authorization", "Bearer " + token)
+                    .param("type", "DEPOSIT")
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            var node = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+            node.get("items").forEach(item -> {
+                assertThat(item.get("type").asText()).isEqualTo("DEPOSIT");
+                assertThat(seen.add(item.get("id").asText())).isTrue();
+            });
+            cursor = node.get("nextCursor").isNull() ? null : node.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(5);
+        assertThat(pages).isEqualTo(3);
+
+        mockMvc.perform(get("/api/v1/account/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("type", "WITHDRAWAL"))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    void transactionHistoryRejectsInvalidCursor() throws Exception {
+        String token = loginAndGetToken();
+
+        mockMvc.perform(get("/api/v1/account/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void statementStreamsCsvAttachment() throws Exception {
+        String token = loginAndGetToken();
+
+        MvcResult started = mockMvc.perform(get("/api/v1/account/statement")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
                 .andReturn();
 
-        var node = objectMapper.readTree(result.getResponse().getContentAsString());
-        assertThat(node.get("customerName").asText()).isNotBlank();
-        assertThat(node.get("customerName").asText()).isEqualTo("Alice Carter");
-        assertThat(new BigDecimal(node.get("balance").asText())).isEqualByComparingTo("1200.00");
-        assertThat(new BigDecimal(node.get("dailyLimit").asText())).isEqualByComparingTo("500.00");
-        assertThat(new BigDecimal(node.get("withdrawnToday").asText())).isEqualByComparingTo("0");
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(
+                        HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statement.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(startsWith("id,type,amount,balance_after,occurred_at\n")));
     }
 
     @Test
-    void genericExceptionYieldsInternalError() throws Exception {
+    void settlementOperationsRequireTheApiKey() throws Exception {
         String token = loginAndGetToken();
+        String feed = objectMapper.writeValueAsString(Map.of("operations", List.of(
+                Map.of("accountId", ACCOUNT_ID, "type", "DEPOSIT", "amount", new BigDecimal("25.00")))));
+
         mockMvc.perform(
-                        post("/api/v1/account/deposit")
+                        post("/api/v1/settlement/operations")
                                 .header("Authorization", "Bearer " + token)
                                 .contentType(MediaType.APPLICATION_JSON)
-                                .content("{\"amount\": \"not-a-number\"}"))
-                .andExpect(status().isInternalServerError())
-                .andExpect(jsonPath("$.code").value("INTERNAL_SERVER_ERROR"))
-                .andExpect(jsonPath("$.message").value("Unexpected server error"));
+                                .content(feed))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(
+                        post("/api/v1/settlement/operations")
+                                .header("X-Api-Key", SETTLEMENT_API_KEY)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(feed))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("APPLIED"))
+                .andExpect(jsonPath("$.results[0].balanceAfter").value(1225.00));
     }
 
     private String loginAndGetToken() throws Exception {
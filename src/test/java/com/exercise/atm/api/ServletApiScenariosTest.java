@@ -0,0 +1,60 @@
+package com.exercise.atm.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+import com.exercise.atm.domain.service.AccountSnapshotCache;
+import com.exercise.atm.domain.service.LoginAttemptTracker;
+
+/**
+ * The shared account and login scenarios, run against the servlet stack through MockMvc. The requests commit, so
+ * Alice's seed state is restored after each test, along with the snapshot cache and login attempts held in memory.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServletApiScenariosTest extends AccountApiScenarios {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountSnapshotCache accountSnapshotCache;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void bindClient() {
+        webTestClient = MockMvcWebTestClient.bindTo(mockMvc).build();
+    }
+
+    @Override
+    protected WebTestClient webTestClient() {
+        return webTestClient;
+    }
+
+    @AfterEach
+    void restoreSeedData() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update("DELETE FROM account_daily_usage WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update("UPDATE accounts SET balance = 120000 WHERE id = ?", ACCOUNT_ID);
+        jdbcTemplate.update(
+                "UPDATE customers SET failed_attempts = 0, locked_until = NULL WHERE id = ?", CUSTOMER_ID);
+        accountSnapshotCache.evict(CUSTOMER_ID);
+        loginAttemptTracker.reset(CUSTOMER_ID);
+    }
+}
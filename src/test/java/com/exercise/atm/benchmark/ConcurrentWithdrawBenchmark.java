@@ -0,0 +1,125 @@
+package com.exercise.atm.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.service.AccountService;
+
+/**
+ * Hammers a single account with concurrent withdrawals and reports throughput, database commits per second and
+ * latency for whichever engine the subclass selects. Needs PostgreSQL: set {@code BENCHMARK_DATASOURCE_URL} and run {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@ActiveProfiles({"test", "postgres"})
+abstract class ConcurrentWithdrawBenchmark {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000103");
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000203");
+    private static final int THREADS = 32;
+    private static final int WITHDRAWALS_PER_THREAD = 200;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void fundAccount() {
+        resetAccount(OPENING_BALANCE, OPENING_BALANCE);
+    }
+
+    @AfterEach
+    void restoreSeed() {
+        resetAccount(new BigDecimal("5000.00"), new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BENCHMARK_DATASOURCE_URL", matches = ".+")
+    void concurrentWithdrawalsOnOneAccount() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                long[] latencies = new long[WITHDRAWALS_PER_THREAD];
+                start.await();
+                for (int i = 0; i < WITHDRAWALS_PER_THREAD; i++) {
+                    long began = System.nanoTime();
+                    accountService.withdraw(CUSTOMER_ID, BigDecimal.ONE);
+                    latencies[i] = System.nanoTime() - began;
+                }
+                return latencies;
+            }));
+        }
+
+        long commitsBefore = databaseCommits();
+        long began = System.nanoTime();
+        start.countDown();
+        long[] all = new long[THREADS * WITHDRAWALS_PER_THREAD];
+        int offset = 0;
+        for (Future<long[]> worker : workers) {
+            long[] latencies = worker.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        double elapsedSeconds = (System.nanoTime() - began) / 1_000_000_000.0;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        long commits = databaseCommits() - commitsBefore;
+
+        Arrays.sort(all);
+        System.out.printf(
+                "%s: %d withdrawals, %.0f ops/s, %.0f commits/s, p50=%.2f ms, p99=%.2f ms%n",
+                getClass().getSimpleName(),
+                all.length,
+                all.length / elapsedSeconds,
+                commits / elapsedSeconds,
+                all[all.length / 2] / 1_000_000.0,
+                all[all.length * 99 / 100] / 1_000_000.0);
+
+        BigDecimal balance = Money.toDecimal(jdbcTemplate.queryForObject(
+                "SELECT balance FROM accounts WHERE id = ?", Long.class, ACCOUNT_ID));
+        assertThat(balance).isEqualByComparingTo(OPENING_BALANCE.subtract(BigDecimal.valueOf(all.length)));
+    }
+
+    /**
+     * Committed transactions in this database so far. Other backends publish their counters with a short delay, so
+     * wait for that before reading.
+     */
+    private long databaseCommits() throws InterruptedException {
+        Thread.sleep(1_500);
+        jdbcTemplate.execute("SELECT pg_stat_clear_snapshot()");
+        return jdbcTemplate.queryForObject(
+                "SELECT xact_commit FROM pg_stat_database WHERE datname = current_database()", Long.class);
+    }
+
+    private void resetAccount(BigDecimal balance, BigDecimal dailyLimit) {
+        jdbcTemplate.update("DELETE FROM account_daily_usage WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update(
+                "UPDATE accounts SET balance = ?, daily_limit = ? WHERE id = ?",
+                Money.toMinor(balance), Money.toMinor(dailyLimit), ACCOUNT_ID);
+    }
+}
@@ -0,0 +1,114 @@
+package com.exercise.atm.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.service.AccountService;
+
+/**
+ * Runs the same number of transfers between two accounts once in a single direction and once in both directions at
+ * the same time. Because both rows are locked in id order, cross transfers only queue behind each other and should
+ * keep roughly the one-way throughput instead of deadlocking. Needs PostgreSQL: set {@code BENCHMARK_DATASOURCE_URL}
+ * and run {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "app.account.engine=locking")
+@ActiveProfiles({"test", "postgres"})
+class CrossTransferBenchmark {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    private static final UUID CARLA = UUID.fromString("00000000-0000-0000-0000-000000000103");
+    private static final List<UUID> ACCOUNT_IDS = List.of(
+            UUID.fromString("00000000-0000-0000-0000-000000000201"),
+            UUID.fromString("00000000-0000-0000-0000-000000000203"));
+    private static final int THREADS = 32;
+    private static final int TRANSFERS_PER_THREAD = 200;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void fundAccounts() {
+        resetAccount(ACCOUNT_IDS.get(0), OPENING_BALANCE, OPENING_BALANCE);
+        resetAccount(ACCOUNT_IDS.get(1), OPENING_BALANCE, OPENING_BALANCE);
+    }
+
+    @AfterEach
+    void restoreSeed() {
+        resetAccount(ACCOUNT_IDS.get(0), new BigDecimal("1200.00"), new BigDecimal("500.00"));
+        resetAccount(ACCOUNT_IDS.get(1), new BigDecimal("5000.00"), new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BENCHMARK_DATASOURCE_URL", matches = ".+")
+    void crossTransfersKeepOneWayThroughput() throws Exception {
+        double oneWay = run(false);
+        double crossed = run(true);
+        System.out.printf("one-way: %.0f transfers/s, cross: %.0f transfers/s%n", oneWay, crossed);
+
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT SUM(balance) FROM accounts WHERE id IN (?, ?)",
+                Long.class,
+                ACCOUNT_IDS.get(0),
+                ACCOUNT_IDS.get(1));
+        assertThat(total).isEqualTo(2 * Money.toMinor(OPENING_BALANCE));
+        assertThat(crossed).isGreaterThan(oneWay / 2);
+    }
+
+    private double run(boolean crossed) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean reverse = crossed && t % 2 == 1;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    accountService.transfer(reverse ? CARLA : ALICE, reverse ? ALICE : CARLA, BigDecimal.ONE);
+                }
+                return null;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - began) / 1_000_000_000.0;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        return THREADS * TRANSFERS_PER_THREAD / elapsedSeconds;
+    }
+
+    private void resetAccount(UUID accountId, BigDecimal balance, BigDecimal dailyLimit) {
+        jdbcTemplate.update("DELETE FROM account_daily_usage WHERE account_id = ?", accountId);
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", accountId);
+        jdbcTemplate.update(
+                "UPDATE accounts SET balance = ?, daily_limit = ? WHERE id = ?",
+                Money.toMinor(balance), Money.toMinor(dailyLimit), accountId);
+    }
+}
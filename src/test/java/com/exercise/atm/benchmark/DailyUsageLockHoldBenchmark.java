@@ -0,0 +1,134 @@
+package com.exercise.atm.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.domain.entity.AccountDailyUsageId;
+import com.exercise.atm.domain.repository.AccountDailyUsageRepository;
+import com.exercise.atm.domain.repository.AccountRepository;
+
+/**
+ * Compares how long the account row lock is held when the daily withdrawal total comes from re-summing the ledger
+ * versus the {@code account_daily_usage} counter. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class DailyUsageLockHoldBenchmark {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000201");
+    private static final int LEDGER_ROWS = 50_000;
+    private static final int ITERATIONS = 500;
+
+    // How the daily total was read before account_daily_usage existed.
+    private static final String LEDGER_SUM_SQL = """
+            SELECT COALESCE(SUM(amount), 0) FROM transactions
+            WHERE account_id = ? AND type = 'WITHDRAWAL' AND occurred_at BETWEEN ? AND ?
+            """;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountDailyUsageRepository accountDailyUsageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void seedLedger() {
+        today = LocalDate.now(ZoneOffset.UTC);
+        OffsetDateTime startOfDay = today.atStartOfDay().atOffset(ZoneOffset.UTC);
+
+        List<Object[]> rows = new ArrayList<>(LEDGER_ROWS);
+        for (int i = 0; i < LEDGER_ROWS; i++) {
+            rows.add(new Object[] {UUID.randomUUID(), ACCOUNT_ID, startOfDay.plusSeconds(i % 86_400)});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after) "
+                        + "VALUES (?, ?, 'WITHDRAWAL', 1, ?, 120000)",
+                rows);
+        jdbcTemplate.update(
+                "INSERT INTO account_daily_usage (account_id, usage_date, withdrawn_amount) VALUES (?, ?, ?)",
+                ACCOUNT_ID,
+                today,
+                (long) LEDGER_ROWS);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM account_daily_usage WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", ACCOUNT_ID);
+    }
+
+    @Test
+    void usageCounterShortensLockHoldTime() {
+        OffsetDateTime start = today.atStartOfDay().atOffset(ZoneOffset.UTC);
+        Runnable ledgerSum = () -> jdbcTemplate.queryForObject(
+                LEDGER_SUM_SQL, Long.class, ACCOUNT_ID, start, start.plusDays(1).minusNanos(1000));
+        Runnable usageLookup = () -> accountDailyUsageRepository.findById(new AccountDailyUsageId(ACCOUNT_ID, today));
+
+        // Warm up both paths before sampling.
+        measureLockHold(ledgerSum);
+        measureLockHold(usageLookup);
+
+        long[] before = measureLockHold(ledgerSum);
+        long[] after = measureLockHold(usageLookup);
+
+        report("ledger sum (before)", before);
+        report("usage lookup (after)", after);
+
+        assertThat(percentile(after, 50)).isLessThan(percentile(before, 50));
+    }
+
+    private long[] measureLockHold(Runnable readWithdrawnToday) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            Long elapsed = transactionTemplate.execute(status -> {
+                long lockedAt = System.nanoTime();
+                accountRepository.findOneByCustomerId(CUSTOMER_ID).orElseThrow();
+                readWithdrawnToday.run();
+                status.setRollbackOnly();
+                return System.nanoTime() - lockedAt;
+            });
+            samples[i] = elapsed;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private static void report(String label, long[] sorted) {
+        System.out.printf(
+                "%-22s rows=%d p50=%.3f ms p99=%.3f ms%n",
+                label, LEDGER_ROWS, percentile(sorted, 50) / 1_000_000.0, percentile(sorted, 99) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,6 @@
+package com.exercise.atm.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "app.account.engine=group-commit")
+class GroupCommitEngineWithdrawBenchmark extends ConcurrentWithdrawBenchmark {}
@@ -0,0 +1,6 @@
+package com.exercise.atm.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "app.account.engine=locking")
+class LockingEngineWithdrawBenchmark extends ConcurrentWithdrawBenchmark {}
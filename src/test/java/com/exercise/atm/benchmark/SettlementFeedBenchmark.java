@@ -0,0 +1,94 @@
+package com.exercise.atm.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.exercise.atm.api.dto.BulkOperationRequest;
+import com.exercise.atm.api.dto.BulkOperationsResponse;
+import com.exercise.atm.domain.entity.TransactionType;
+import com.exercise.atm.domain.service.SettlementService;
+
+/**
+ * Applies a 100k-line deposit feed spread over a thousand accounts in shuffled order and reports operations per
+ * second. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class SettlementFeedBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int OPERATIONS = 100_000;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> accountIds = new ArrayList<>();
+
+    @BeforeEach
+    void createAccounts() {
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            UUID customerId = UUID.randomUUID();
+            UUID accountId = UUID.randomUUID();
+            customers.add(new Object[] {customerId, "bench-" + i});
+            accounts.add(new Object[] {accountId, customerId});
+            accountIds.add(accountId);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO customers (id, card_number, pin_hash, name) VALUES (?, ?, 'x', 'Benchmark')", customers);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO accounts (id, customer_id, balance, daily_limit) VALUES (?, ?, 0, 0)", accounts);
+    }
+
+    @AfterEach
+    void dropAccounts() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id IN "
+                + "(SELECT a.id FROM accounts a JOIN customers c ON c.id = a.customer_id WHERE c.card_number LIKE 'bench-%')");
+        jdbcTemplate.update("DELETE FROM accounts WHERE customer_id IN "
+                + "(SELECT id FROM customers WHERE card_number LIKE 'bench-%')");
+        jdbcTemplate.update("DELETE FROM customers WHERE card_number LIKE 'bench-%'");
+    }
+
+    @Test
+    void appliesALargeFeedAtThousandsOfOperationsPerSecond() {
+        List<BulkOperationRequest> feed = new ArrayList<>(OPERATIONS);
+        for (int i = 0; i < OPERATIONS; i++) {
+            // Striding over the accounts leaves every account's lines scattered across the feed.
+            UUID accountId = accountIds.get((int) ((i * 7919L) % ACCOUNTS));
+            feed.add(new BulkOperationRequest(accountId, TransactionType.DEPOSIT, BigDecimal.ONE));
+        }
+
+        long began = System.nanoTime();
+        BulkOperationsResponse response = settlementService.apply(feed);
+        double elapsedSeconds = (System.nanoTime() - began) / 1_000_000_000.0;
+        System.out.printf(
+                "%d operations in %.2f s, %.0f ops/s%n", OPERATIONS, elapsedSeconds, OPERATIONS / elapsedSeconds);
+
+        assertThat(response.applied()).isEqualTo(OPERATIONS);
+        BigDecimal total = jdbcTemplate.queryForObject(
+                "SELECT SUM(a.balance) FROM accounts a JOIN customers c ON c.id = a.customer_id "
+                        + "WHERE c.card_number LIKE 'bench-%'",
+                BigDecimal.class);
+        // Balances are stored in cents.
+        assertThat(total).isEqualByComparingTo(BigDecimal.valueOf(OPERATIONS * 100L));
+        assertThat(OPERATIONS / elapsedSeconds).isGreaterThan(1_000);
+    }
+}
@@ -0,0 +1,173 @@
+package com.exercise.atm.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.exercise.atm.AtmApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Starts the application twice, once on platform Tomcat threads and once on virtual threads, and drives each with
+ * 1k, 5k and 10k concurrent HTTP clients. Every client posts a deposit to the same account (a
+ * {@code PESSIMISTIC_WRITE} lock wait plus JDBC) and then reads a page of its history. Prints throughput, latency and
+ * failures per mode and level. Run with {@code ./gradlew benchmark}; 10k clients need about 25k open files
+ * ({@code ulimit -n 65536}).
+ */
+@Tag("benchmark")
+class ThreadModelLoadBenchmark {
+
+    private static final int[] CLIENT_LEVELS = {1_000, 5_000, 10_000};
+    private static final String CARD = "6011000000001111";
+    private static final String PIN = "p@ssw0rd";
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000203");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restoreSeed() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", ACCOUNT_ID);
+            jdbcTemplate.update("UPDATE accounts SET balance = 500000 WHERE id = ?", ACCOUNT_ID);
+        }
+    }
+
+    @Test
+    void virtualThreadsServeMoreConcurrentClients() throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                jdbcTemplate = context.getBean(JdbcTemplate.class);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String token = login(port);
+                for (int clients : CLIENT_LEVELS) {
+                    Result result = drive(port, token, clients);
+                    String label = (virtual ? "virtual" : "platform") + " x" + clients;
+                    results.put(label, result);
+                    System.out.printf(
+                            "%-16s %8.0f req/s  p50=%8.1f ms  p99=%8.1f ms  failed=%d%n",
+                            label, result.throughput(), result.p50Millis(), result.p99Millis(), result.failed());
+                }
+                restoreSeed();
+            }
+        }
+
+        for (int clients : CLIENT_LEVELS) {
+            assertThat(results.get("virtual x" + clients).failed())
+                    .isLessThanOrEqualTo(results.get("platform x" + clients).failed());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(AtmApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "logging.level.root=warn")
+                .run();
+    }
+
+    private String login(int port) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(Map.of("cardNumber", CARD, "pin", PIN))))
+                .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return objectMapper.readTree(body).get("accessToken").asText();
+    }
+
+    private static Result drive(int port, String token, int clients) throws Exception {
+        HttpRequest deposit = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/account/deposit"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 1.00}"))
+                .build();
+        HttpRequest history = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/account/transactions?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> calls = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .executor(executor)
+                        .build()) {
+            for (int i = 0; i < clients; i++) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    long[] latencies = new long[2];
+                    int n = 0;
+                    for (HttpRequest request : List.of(deposit, history)) {
+                        long began = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 200) {
+                                failed.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            failed.incrementAndGet();
+                        }
+                        latencies[n++] = System.nanoTime() - began;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long began = System.nanoTime();
+            start.countDown();
+            long[] all = new long[clients * 2];
+            int offset = 0;
+            for (Future<long[]> call : calls) {
+                long[] latencies = call.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            double elapsedSeconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+            Arrays.sort(all);
+            return new Result(
+                    all.length / elapsedSeconds,
+                    all[all.length / 2] / 1_000_000.0,
+                    all[all.length * 99 / 100] / 1_000_000.0,
+                    failed.get());
+        }
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int failed) {}
+}
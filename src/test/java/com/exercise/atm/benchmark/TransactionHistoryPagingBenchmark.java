@@ -0,0 +1,99 @@
+package com.exercise.atm.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.exercise.atm.api.dto.TransactionPageResponse;
+import com.exercise.atm.domain.service.TransactionHistoryService;
+
+/**
+ * Walks a long ledger page by page and compares the latency of the first pages with the deepest ones; with keyset
+ * pagination they should be about the same. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionHistoryPagingBenchmark {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000103");
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000203");
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGES = 10_000;
+    private static final int SAMPLED_PAGES = 100;
+
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedLedger() {
+        OffsetDateTime start = OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        List<Object[]> rows = new ArrayList<>(PAGE_SIZE * PAGES);
+        for (int i = 0; i < PAGE_SIZE * PAGES; i++) {
+            rows.add(new Object[] {UUID.randomUUID(), ACCOUNT_ID, start.plusSeconds(i)});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after) "
+                        + "VALUES (?, ?, 'DEPOSIT', 1, ?, 500000)",
+                rows);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", ACCOUNT_ID);
+    }
+
+    @Test
+    void deepPagesAreAsFastAsTheFirst() {
+        // Warm up before sampling.
+        transactionHistoryService.list(CUSTOMER_ID, null, null, null, null, PAGE_SIZE);
+
+        long[] elapsed = new long[PAGES];
+        String cursor = null;
+        for (int page = 0; page < PAGES; page++) {
+            long startedAt = System.nanoTime();
+            TransactionPageResponse response =
+                    transactionHistoryService.list(CUSTOMER_ID, null, null, null, cursor, PAGE_SIZE);
+            elapsed[page] = System.nanoTime() - startedAt;
+            assertThat(response.items()).hasSize(PAGE_SIZE);
+            cursor = response.nextCursor();
+        }
+        assertThat(cursor).isNull();
+
+        long[] first = Arrays.copyOfRange(elapsed, 0, SAMPLED_PAGES);
+        long[] deepest = Arrays.copyOfRange(elapsed, PAGES - SAMPLED_PAGES, PAGES);
+        Arrays.sort(first);
+        Arrays.sort(deepest);
+        report("pages 1-" + SAMPLED_PAGES, first);
+        report("pages " + (PAGES - SAMPLED_PAGES + 1) + "-" + PAGES, deepest);
+
+        assertThat(percentile(deepest, 50)).isLessThan(percentile(first, 50) * 3);
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private static void report(String label, long[] sorted) {
+        System.out.printf(
+                "%-20s p50=%.3f ms p99=%.3f ms%n",
+                label, percentile(sorted, 50) / 1_000_000.0, percentile(sorted, 99) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,160 @@
+package com.exercise.atm.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.domain.service.AccountService;
+import com.exercise.atm.domain.service.StatementExport;
+import com.exercise.atm.domain.service.StatementExportService;
+import com.exercise.atm.domain.service.StatementFormat;
+
+/**
+ * Runs against two in-memory H2 databases: the usual test database as primary and a second one, migrated by the test,
+ * as the replica. The replica's copy of Alice's balance is changed so each read shows which side served it.
+ */
+@SpringBootTest(properties = {
+    "app.datasource.replicas.enabled=true",
+    "app.datasource.replicas.urls=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+    "app.datasource.replicas.lag-query=SELECT lag_seconds FROM replica_lag",
+    "app.datasource.replicas.max-lag=PT10S",
+    // Checks are driven by the test.
+    "app.datasource.replicas.health-check-interval=PT1H"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:atm-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    private static final UUID ALICE_ACCOUNT = UUID.fromString("00000000-0000-0000-0000-000000000201");
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StatementExportService statementExportService;
+
+    @BeforeAll
+    static void createReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        REPLICA.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds INT NOT NULL)");
+        REPLICA.update("DELETE FROM replica_lag");
+        REPLICA.update("INSERT INTO replica_lag VALUES (0)");
+        REPLICA.update("UPDATE accounts SET balance = 99900 WHERE customer_id = ?", ALICE);
+    }
+
+    @BeforeEach
+    void markReplicaHealthy() {
+        REPLICA.update("UPDATE replica_lag SET lag_seconds = 0");
+        routingDataSource.checkReplicas();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(routingDataSource.healthyReplicas()).containsExactly("replica-1");
+        assertThat(accountService.getSnapshot(ALICE).balance()).isEqualByComparingTo("999.00");
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        Long balance = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT balance FROM accounts WHERE customer_id = ?", Long.class, ALICE));
+
+        assertThat(balance).isEqualTo(120000L);
+    }
+
+    @Test
+    void customerReadsOwnWritesFromThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(ALICE, null, List.of()));
+        readYourWritesTracker.recordWrite(ALICE);
+
+        assertThat(accountService.getSnapshot(ALICE).balance()).isEqualByComparingTo("1200.00");
+    }
+
+    @Test
+    void statementStreamedOffTheRequestThreadReadsOwnWritesFromThePrimary() {
+        UUID transactionId = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after) "
+                        + "VALUES (?, ?, 'DEPOSIT', 2500, ?, 122500)",
+                transactionId,
+                ALICE_ACCOUNT,
+                OffsetDateTime.now(ZoneOffset.UTC));
+        try {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(ALICE, null, List.of()));
+            readYourWritesTracker.recordWrite(ALICE);
+            StatementExport export = statementExportService.prepare(ALICE, StatementFormat.CSV, null, null);
+
+            // Like the MVC async executor, this thread has no security context.
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CompletableFuture.runAsync(() -> {
+                        try {
+                            statementExportService.write(export, out);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    })
+                    .join();
+
+            assertThat(out.toString(StandardCharsets.UTF_8)).contains(transactionId + ",DEPOSIT,25.00,1225.00,");
+        } finally {
+            jdbcTemplate.update("DELETE FROM transactions WHERE id = ?", transactionId);
+        }
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() {
+        REPLICA.update("UPDATE replica_lag SET lag_seconds = 60");
+        routingDataSource.checkReplicas();
+
+        assertThat(routingDataSource.healthyReplicas()).isEmpty();
+        assertThat(accountService.getSnapshot(ALICE).balance()).isEqualByComparingTo("1200.00");
+    }
+}
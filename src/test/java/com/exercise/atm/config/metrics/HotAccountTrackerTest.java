@@ -0,0 +1,94 @@
+package com.exercise.atm.config.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HotAccountTrackerTest {
+
+    private static final UUID HOT = UUID.randomUUID();
+
+    private final AtomicLong now = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private HotAccountTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new HotAccountTracker(meterRegistry);
+        ReflectionTestUtils.setField(tracker, "capacity", 8);
+        ReflectionTestUtils.setField(tracker, "top", 3);
+        ReflectionTestUtils.setField(tracker, "halfLife", Duration.ofSeconds(10));
+        tracker.nanoTime = now::get;
+        tracker.init();
+    }
+
+    @Test
+    void findsTheHotAccountAmongManyColdOnes() {
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record(UUID.randomUUID(), TimeUnit.MICROSECONDS.toNanos(100));
+            if (i % 5 == 0) {
+                tracker.record(HOT, TimeUnit.MILLISECONDS.toNanos(20));
+            }
+        }
+
+        HotAccountTracker.Snapshot snapshot = tracker.snapshot();
+
+        assertThat(snapshot.byLockWait()).hasSizeLessThanOrEqualTo(3);
+        assertThat(snapshot.byLockWait().get(0).accountId()).isEqualTo(HOT);
+        assertThat(snapshot.byRequests().get(0).accountId()).isEqualTo(HOT);
+        // Gaining faster than the smallest counter, the hot account is never evicted, so its figures are exact.
+        assertThat(snapshot.byLockWait().get(0).meanLockWaitMillis()).isCloseTo(20.0, within(1e-6));
+    }
+
+    @Test
+    void ratesHalveEveryHalfLife() {
+        for (int i = 0; i < 100; i++) {
+            tracker.record(HOT, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        double before = tracker.snapshot().byRequests().get(0).requestsPerSecond();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        tracker.decay();
+
+        // 100 requests over a 10 s half-life read as 100 * ln 2 / 10 per second.
+        assertThat(before).isCloseTo(100 * Math.log(2) / 10, within(1e-9));
+        assertThat(tracker.snapshot().byRequests().get(0).requestsPerSecond()).isCloseTo(before / 2, within(1e-9));
+    }
+
+    @Test
+    void decayPublishesTheRankingAsGauges() {
+        tracker.record(HOT, TimeUnit.MILLISECONDS.toNanos(10));
+
+        tracker.decay();
+
+        assertThat(meterRegistry.get(HotAccountTracker.REQUESTS_GAUGE).tag("rank", "1").gauge().value())
+                .isPositive();
+        assertThat(meterRegistry.get(HotAccountTracker.LOCK_WAIT_GAUGE).tag("rank", "1").gauge().value())
+                .isPositive();
+        // Account ids stay off the metrics registry.
+        assertThat(meterRegistry.find(HotAccountTracker.REQUESTS_GAUGE).tagKeys("account").gauges()).isEmpty();
+    }
+
+    @Test
+    void disabledTrackerReportsNothing() {
+        ReflectionTestUtils.setField(tracker, "enabled", false);
+
+        tracker.record(HOT, 1);
+
+        assertThat(tracker.snapshot().byRequests()).isEmpty();
+        assertThat(tracker.snapshot().byLockWait()).isEmpty();
+    }
+}
@@ -0,0 +1,121 @@
+package com.exercise.atm.config.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.api.error.ErrorCode;
+import com.exercise.atm.api.error.RateLimitExceededException;
+import com.exercise.atm.api.error.ServiceBusyException;
+import com.exercise.atm.domain.service.AccountService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ServiceTimerTest {
+
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ServiceTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timer = new ServiceTimer(meterRegistry, "account");
+    }
+
+    @Test
+    void timesSuccessfulCallsPerMethod() {
+        AccountSnapshotResponse snapshot = new AccountSnapshotResponse(
+                CUSTOMER_ID, "Mike Albert", BigDecimal.TEN, BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.TEN);
+        AccountService accountService = new TimedAccountService(new FixedAccountService(snapshot), timer);
+
+        assertThat(accountService.deposit(CUSTOMER_ID, BigDecimal.ONE)).isSameAs(snapshot);
+
+        assertThat(count("deposit", ServiceTimer.SUCCESS)).isEqualTo(1);
+        assertThat(meterRegistry.find(ServiceTimer.METRIC).tag("method", "withdraw").timer()).isNull();
+    }
+
+    @Test
+    void splitsRejectionsByCause() {
+        AccountService accountService = new TimedAccountService(
+                new FixedAccountService(BusinessException.insufficientFunds()), timer);
+
+        assertThatThrownBy(() -> accountService.withdraw(CUSTOMER_ID, BigDecimal.ONE))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(count("withdraw", ServiceTimer.INSUFFICIENT_FUNDS)).isEqualTo(1);
+    }
+
+    @Test
+    void classifiesOutcomes() {
+        assertThat(ServiceTimer.outcome(BusinessException.dailyLimitExceeded())).isEqualTo(ServiceTimer.LIMIT_EXCEEDED);
+        // The code decides, not the wording of the message.
+        assertThat(ServiceTimer.outcome(
+                        new BusinessException(ErrorCode.INSUFFICIENT_FUNDS, "Not enough money", HttpStatus.CONFLICT)))
+                .isEqualTo(ServiceTimer.INSUFFICIENT_FUNDS);
+        assertThat(ServiceTimer.outcome(new BusinessException("Insufficient funds", HttpStatus.CONFLICT)))
+                .isEqualTo(ServiceTimer.REJECTED);
+        assertThat(ServiceTimer.outcome(new BusinessException("Account Locked, try again later", HttpStatus.LOCKED)))
+                .isEqualTo(ServiceTimer.LOCKED);
+        assertThat(ServiceTimer.outcome(new BusinessException("Invalid PIN", HttpStatus.UNAUTHORIZED)))
+                .isEqualTo(ServiceTimer.UNAUTHORIZED);
+        assertThat(ServiceTimer.outcome(new BusinessException("Account not found", HttpStatus.NOT_FOUND)))
+                .isEqualTo(ServiceTimer.NOT_FOUND);
+        assertThat(ServiceTimer.outcome(new ServiceBusyException("Too many logins", Duration.ofSeconds(1))))
+                .isEqualTo(ServiceTimer.BUSY);
+        assertThat(ServiceTimer.outcome(new RateLimitExceededException("Too many requests", Duration.ofSeconds(1))))
+                .isEqualTo(ServiceTimer.BUSY);
+        assertThat(ServiceTimer.outcome(new BusinessException("No operations", HttpStatus.BAD_REQUEST)))
+                .isEqualTo(ServiceTimer.REJECTED);
+        assertThat(ServiceTimer.outcome(new IllegalStateException())).isEqualTo(ServiceTimer.ERROR);
+    }
+
+    private long count(String method, String outcome) {
+        return meterRegistry.get(ServiceTimer.METRIC)
+                .tags("service", "account", "method", method, "outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    /** Answers every call with the same snapshot, or throws the same exception. */
+    private record FixedAccountService(Object answer) implements AccountService {
+
+        @Override
+        public AccountSnapshotResponse getSnapshot(UUID customerId) {
+            return reply();
+        }
+
+        @Override
+        public AccountSnapshotResponse deposit(UUID customerId, BigDecimal amount) {
+            return reply();
+        }
+
+        @Override
+        public AccountSnapshotResponse withdraw(UUID customerId, BigDecimal amount) {
+            return reply();
+        }
+
+        @Override
+        public AccountSnapshotResponse transfer(UUID customerId, UUID toCustomerId, BigDecimal amount) {
+            return reply();
+        }
+
+        private AccountSnapshotResponse reply() {
+            if (answer instanceof RuntimeException ex) {
+                throw ex;
+            }
+            return (AccountSnapshotResponse) answer;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.exercise.atm.config.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10_000;
+    private static final int HOT_KEYS = 5;
+
+    @Test
+    void newcomerReplacesTheSmallestCounterAndInheritsItsWeight() {
+        SpaceSaving<String> sketch = new SpaceSaving<>(3);
+        sketch.add("a", 5);
+        sketch.add("b", 1);
+        sketch.add("c", 4);
+        sketch.add("b", 1);
+
+        sketch.add("d", 1);
+
+        assertThat(sketch.top(3)).containsExactly(
+                new SpaceSaving.Estimate<>("a", 5.0),
+                new SpaceSaving.Estimate<>("c", 4.0),
+                new SpaceSaving.Estimate<>("d", 3.0));
+        assertThat(sketch.weightOf("b")).isZero();
+    }
+
+    @Test
+    void concurrentUpdatesKeepTheHeavyHittersInOrder() throws Exception {
+        int capacity = 64;
+        SpaceSaving<String> sketch = new SpaceSaving<>(capacity);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ROUNDS; i++) {
+                    sketch.add("cold-" + ThreadLocalRandom.current().nextInt(100_000), 1);
+                    if (i % 10 == 0) {
+                        for (int hot = 0; hot < HOT_KEYS; hot++) {
+                            sketch.add("hot-" + hot, hot + 1);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // hot-4 is the heaviest; the gap between neighbours is far larger than any inherited weight.
+        List<SpaceSaving.Estimate<String>> top = sketch.top(HOT_KEYS);
+        assertThat(top).extracting(SpaceSaving.Estimate::key)
+                .containsExactly("hot-4", "hot-3", "hot-2", "hot-1", "hot-0");
+        double total = THREADS * (ROUNDS + ROUNDS / 10 * (HOT_KEYS * (HOT_KEYS + 1) / 2));
+        for (SpaceSaving.Estimate<String> estimate : top) {
+            int hot = Integer.parseInt(estimate.key().substring("hot-".length()));
+            double exact = THREADS * (ROUNDS / 10) * (hot + 1);
+            assertThat(estimate.weight()).isBetween(exact, exact + total / SpaceSaving.MIN_STRIPE_CAPACITY);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.exercise.atm.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimiter rateLimiter = new RateLimiter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(rateLimiter, "addressCapacity", 2);
+        ReflectionTestUtils.setField(rateLimiter, "addressPeriod", Duration.ofMinutes(1));
+        rateLimiter.init();
+        filter = new RateLimitFilter(rateLimiter, new ObjectMapper());
+    }
+
+    @Test
+    void answers429WithRetryAfterOnceTheAddressIsOverItsLimit() throws Exception {
+        assertThat(call("/api/v1/auth/login").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(call("/api/v1/account").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse rejected = call("/api/v1/account/transactions");
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(rejected.getContentAsString()).contains("\"code\":\"TOO_MANY_REQUESTS\"");
+    }
+
+    @Test
+    void leavesOtherPathsAlone() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(call("/actuator/health").getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    private MockHttpServletResponse call(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (chain.getRequest() == null) {
+            return response;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        return response;
+    }
+}
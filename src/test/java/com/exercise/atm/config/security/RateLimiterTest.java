@@ -0,0 +1,92 @@
+package com.exercise.atm.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.exercise.atm.api.error.RateLimitExceededException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+    private static final String CARD = "4111111111111111";
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "cardCapacity", 3);
+        ReflectionTestUtils.setField(rateLimiter, "cardPeriod", Duration.ofSeconds(30));
+        rateLimiter.nanoTime = now::get;
+        rateLimiter.init();
+    }
+
+    @Test
+    void allowsABurstOfCapacityThenRejectsWithTheTimeToTheNextToken() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimiter.Scope.CARD, CARD);
+        }
+
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Scope.CARD, CARD))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.TOO_MANY_REQUESTS)
+                .hasFieldOrPropertyWithValue("retryAfter", Duration.ofSeconds(10));
+        assertThat(meterRegistry.get("atm.rate_limit.rejected").tag("scope", "card").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void refillsOneTokenPerPeriodOverCapacity() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimiter.Scope.CARD, CARD);
+        }
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThatCode(() -> rateLimiter.acquire(RateLimiter.Scope.CARD, CARD)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Scope.CARD, CARD))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void keysAndScopesHaveTheirOwnBuckets() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimiter.Scope.CARD, CARD);
+        }
+
+        assertThatCode(() -> rateLimiter.acquire(RateLimiter.Scope.CARD, "5555444433331111"))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.acquire(RateLimiter.Scope.CUSTOMER, UUID.randomUUID()))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.acquire(RateLimiter.Scope.ADDRESS, "127.0.0.1"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        RateLimiter disabled = new RateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        disabled.init();
+
+        for (int i = 0; i < 100; i++) {
+            disabled.acquire(RateLimiter.Scope.CARD, CARD);
+        }
+        assertThat(disabled.isEnabled()).isFalse();
+    }
+}
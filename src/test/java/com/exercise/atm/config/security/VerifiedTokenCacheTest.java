@@ -0,0 +1,93 @@
+package com.exercise.atm.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtProvider, meterRegistry);
+        verifiedTokenCache.init();
+    }
+
+    @Test
+    void verifiesEachTokenOnceUntilItExpires() {
+        Claims claims = claimsExpiringAt(Instant.now().plusSeconds(3600));
+        when(jwtProvider.parseClaims("token")).thenReturn(Optional.of(claims));
+
+        assertThat(verifiedTokenCache.parseClaims("token")).containsSame(claims);
+        assertThat(verifiedTokenCache.parseClaims("token")).containsSame(claims);
+
+        verify(jwtProvider, times(1)).parseClaims("token");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME).tag("result", "hit")
+                        .functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rejectedTokensAreVerifiedEveryTime() {
+        when(jwtProvider.parseClaims("forged")).thenReturn(Optional.empty());
+
+        assertThat(verifiedTokenCache.parseClaims("forged")).isEmpty();
+        assertThat(verifiedTokenCache.parseClaims("forged")).isEmpty();
+
+        verify(jwtProvider, times(2)).parseClaims("forged");
+    }
+
+    @Test
+    void tokensPastTheirExpiryAreNotServedFromTheCache() {
+        Claims claims = claimsExpiringAt(Instant.now().minusSeconds(1));
+        when(jwtProvider.parseClaims("stale")).thenReturn(Optional.of(claims));
+
+        verifiedTokenCache.parseClaims("stale");
+        verifiedTokenCache.parseClaims("stale");
+
+        verify(jwtProvider, times(2)).parseClaims("stale");
+    }
+
+    @Test
+    void zeroMaxSizeDisablesTheCache() {
+        VerifiedTokenCache disabled = new VerifiedTokenCache(jwtProvider, meterRegistry);
+        ReflectionTestUtils.setField(disabled, "maxSize", 0L);
+        disabled.init();
+        Claims claims = claimsExpiringAt(Instant.now().plusSeconds(3600));
+        when(jwtProvider.parseClaims("token")).thenReturn(Optional.of(claims));
+
+        disabled.parseClaims("token");
+        disabled.parseClaims("token");
+
+        verify(jwtProvider, times(2)).parseClaims("token");
+    }
+
+    private static Claims claimsExpiringAt(Instant expiry) {
+        return Jwts.claims().setSubject(UUID.randomUUID().toString()).setExpiration(Date.from(expiry));
+    }
+}
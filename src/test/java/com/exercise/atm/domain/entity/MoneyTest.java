@@ -0,0 +1,45 @@
+package com.exercise.atm.domain.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    @Test
+    void convertsDecimalsToCentsAndBack() {
+        Money money = Money.of(new BigDecimal("1200.5"));
+
+        assertThat(money.minorUnits()).isEqualTo(120050);
+        assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("1200.50"));
+        assertThat(Money.of(new BigDecimal("7"))).isEqualTo(Money.ofMinor(700));
+    }
+
+    @Test
+    void rejectsFractionsOfACent() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void arithmeticFailsInsteadOfOverflowing() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).minus(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void comparesByAmount() {
+        Money ten = Money.ofMinor(1000);
+        Money five = Money.ofMinor(500);
+
+        assertThat(ten.minus(five)).isEqualTo(five);
+        assertThat(ten.isGreaterThan(five)).isTrue();
+        assertThat(five.minus(ten).max(Money.ZERO)).isEqualTo(Money.ZERO);
+        assertThat(ten.toString()).isEqualTo("10.00");
+    }
+}
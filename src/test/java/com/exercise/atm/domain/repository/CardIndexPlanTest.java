@@ -0,0 +1,86 @@
+package com.exercise.atm.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * PostgreSQL only: runs when {@code BENCHMARK_DATASOURCE_URL} points at a scratch database. Seeds {@value #CUSTOMERS}
+ * customers, then checks the card lookup plan with {@code EXPLAIN (ANALYZE, BUFFERS)} so a dropped or mismatched index
+ * fails the build instead of showing up as sequential scans in production.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DATASOURCE_URL", matches = ".+")
+class CardIndexPlanTest {
+
+    private static final int CUSTOMERS = 1_000;
+
+    private static final String SEED_CUSTOMERS_SQL = """
+            INSERT INTO customers (id, card_number, pin_hash, name)
+            SELECT md5('plan-customer-' || n)::uuid, '99' || lpad(n::text, 14, '0'), 'not-a-hash', 'Plan ' || n
+            FROM generate_series(1, ?) n
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update(SEED_CUSTOMERS_SQL, CUSTOMERS);
+        jdbcTemplate.execute("ANALYZE customers");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update(
+                "DELETE FROM customers WHERE id IN "
+                        + "(SELECT md5('plan-customer-' || n)::uuid FROM generate_series(1, ?) n)",
+                CUSTOMERS);
+    }
+
+    @Test
+    void cardLookupUsesTheUniqueConstraintIndexOnly() throws Exception {
+        assertThat(jdbcTemplate.queryForList(
+                        "SELECT indexname FROM pg_indexes WHERE tablename = 'customers'", String.class))
+                .doesNotContain("idx_customers_card_number");
+
+        JsonNode plan = explain("SELECT * FROM customers WHERE card_number = ?", "99" + "0".repeat(13) + "1");
+        List<JsonNode> scans = nodes(plan.get("Plan")).stream()
+                .filter(node -> node.has("Index Name"))
+                .toList();
+
+        assertThat(scans).singleElement()
+                .satisfies(node -> assertThat(node.get("Index Name").asText()).isEqualTo("customers_card_number_key"));
+    }
+
+    private JsonNode explain(String sql, Object... args) throws Exception {
+        String json = jdbcTemplate.queryForObject(
+                "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql, String.class, args);
+        return objectMapper.readTree(json).get(0);
+    }
+
+    private static List<JsonNode> nodes(JsonNode plan) {
+        List<JsonNode> nodes = new ArrayList<>();
+        nodes.add(plan);
+        if (plan.has("Plans")) {
+            plan.get("Plans").forEach(child -> nodes.addAll(nodes(child)));
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,262 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.api.dto.BalanceSummaryResponse;
+import com.exercise.atm.domain.entity.AccountDailyBalance;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.repository.AccountDailyBalanceRepository;
+import com.exercise.atm.domain.repository.JobCheckpointRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountDailyBalanceRollupTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000103");
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000203");
+    private static final LocalDate DAY_ONE = LocalDate.of(2020, 3, 1);
+    private static final UUID OTHER_ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000202");
+    private static final LocalDate DAY_TWO = LocalDate.of(2020, 3, 2);
+    private static final LocalDate DAY_THREE = LocalDate.of(2020, 3, 3);
+
+    @Autowired
+    private AccountDailyBalanceRollup rollup;
+
+    @Autowired
+    private AccountDailyBalanceRepository accountDailyBalanceRepository;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    @BeforeEach
+    void seedLedger() {
+        resetRollup();
+        insert("DEPOSIT", "100.00", "5100.00", at(DAY_ONE, 10));
+        insert("WITHDRAWAL", "40.00", "5060.00", at(DAY_ONE, 12));
+        insert("DEPOSIT", "5.00", "5065.00", at(DAY_TWO, 9));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        resetRollup();
+        jdbcTemplate.update(
+                "DELETE FROM transactions WHERE account_id IN (?, ?)", ACCOUNT_ID, OTHER_ACCOUNT_ID);
+    }
+
+    @Test
+    void rollsUpIncrementallyFromCheckpoint() {
+        rollup.rollUp();
+
+        List<AccountDailyBalance> days = accountDailyBalanceRepository.findRange(ACCOUNT_ID, DAY_ONE, DAY_TWO);
+        assertThat(days).hasSize(2);
+        AccountDailyBalance first = days.get(0);
+        assertThat(first.getOpeningBalance().toBigDecimal()).isEqualByComparingTo("5000.00");
+        assertThat(first.getClosingBalance().toBigDecimal()).isEqualByComparingTo("5060.00");
+        assertThat(first.getDepositTotal().toBigDecimal()).isEqualByComparingTo("100.00");
+        assertThat(first.getWithdrawalTotal().toBigDecimal()).isEqualByComparingTo("40.00");
+        assertThat(first.getTransactionCount()).isEqualTo(2);
+
+        insert("WITHDRAWAL", "65.00", "5000.00", at(DAY_TWO, 15));
+        assertThat(rollup.rollUp()).isEqualTo(1);
+
+        AccountDailyBalance second = accountDailyBalanceRepository.findRange(ACCOUNT_ID, DAY_TWO, DAY_TWO).get(0);
+        assertThat(second.getOpeningBalance().toBigDecimal()).isEqualByComparingTo("5060.00");
+        assertThat(second.getClosingBalance().toBigDecimal()).isEqualByComparingTo("5000.00");
+        assertThat(second.getDepositTotal().toBigDecimal()).isEqualByComparingTo("5.00");
+        assertThat(second.getWithdrawalTotal().toBigDecimal()).isEqualByComparingTo("65.00");
+        assertThat(second.getTransactionCount()).isEqualTo(2);
+        assertThat(accountDailyBalanceRepository.findRange(ACCOUNT_ID, DAY_ONE, DAY_ONE).get(0).getTransactionCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void ordersRowsWithTheSameTimestampByLedgerSequence() {
+        // One group commit stamps all its rows with the same occurred_at.
+        OffsetDateTime batchTime = at(DAY_THREE, 10);
+        insert("WITHDRAWAL", "15.00", "5050.00", batchTime);
+        insert("DEPOSIT", "100.00", "5150.00", batchTime);
+        insert("WITHDRAWAL", "50.00", "5100.00", batchTime);
+
+        rollup.rollUp();
+
+        AccountDailyBalance day = accountDailyBalanceRepository.findRange(ACCOUNT_ID, DAY_THREE, DAY_THREE).get(0);
+        assertThat(day.getOpeningBalance().toBigDecimal()).isEqualByComparingTo("5065.00");
+        assertThat(day.getClosingBalance().toBigDecimal()).isEqualByComparingTo("5100.00");
+        assertThat(day.getTransactionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void rollsUpRowsThatCommitAfterLaterNumbers() {
+        rollup.rollUp();
+        // A transaction draws its number, then a transaction on another account draws and commits the next one.
+        long inFlight = jdbcTemplate.queryForObject("SELECT nextval('transactions_ledger_seq')", Long.class);
+        insert(OTHER_ACCOUNT_ID, null, "DEPOSIT", "10.00", "310.00", at(DAY_THREE, 9));
+
+        assertThat(rollup.rollUp()).isEqualTo(1);
+        assertThat(accountDailyBalanceRepository.findRange(ACCOUNT_ID, DAY_THREE, DAY_THREE)).isEmpty();
+
+        insert(ACCOUNT_ID, inFlight, "WITHDRAWAL", "65.00", "5000.00", at(DAY_THREE, 8));
+        rollup.rollUp();
+        rollup.rollUp();
+
+        AccountDailyBalance day = accountDailyBalanceRepository.findRange(ACCOUNT_ID, DAY_THREE, DAY_THREE).get(0);
+        assertThat(day.getOpeningBalance().toBigDecimal()).isEqualByComparingTo("5065.00");
+        assertThat(day.getClosingBalance().toBigDecimal()).isEqualByComparingTo("5000.00");
+        assertThat(day.getTransactionCount()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM job_checkpoint_gaps", Integer.class))
+                .isZero();
+    }
+
+    @Test
+    void lateRowCommittingDuringABatchIsNotFoldedAfterANewerRow() {
+        rollup.rollUp();
+        long inFlight = jdbcTemplate.queryForObject("SELECT nextval('transactions_ledger_seq')", Long.class);
+        insert(OTHER_ACCOUNT_ID, null, "DEPOSIT", "10.00", "310.00", at(DAY_THREE, 9));
+        rollup.rollUp();
+
+        // Right after the batch reads the ledger, the in-flight row commits, followed by a newer row of its account.
+        AtomicBoolean committed = new AtomicBoolean();
+        NamedParameterJdbcTemplate racingTemplate = new NamedParameterJdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+                List<T> rows = super.query(sql, paramSource, rowMapper);
+                if (committed.compareAndSet(false, true)) {
+                    CompletableFuture.runAsync(() -> {
+                                insert(ACCOUNT_ID, inFlight, "WITHDRAWAL", "65.00", "5000.00", at(DAY_THREE, 8));
+                                insert("DEPOSIT", "10.00", "5010.00", at(DAY_THREE, 11));
+                            })
+                            .join();
+                }
+                return rows;
+            }
+        };
+        new AccountDailyBalanceRollup(
+                        racingTemplate,
+                        accountDailyBalanceRepository,
+                        jobCheckpointRepository,
+                        transactionTemplate,
+                        clock)
+                .rollUp();
+        rollup.rollUp();
+
+        AccountDailyBalance day = accountDailyBalanceRepository.findRange(ACCOUNT_ID, DAY_THREE, DAY_THREE).get(0);
+        assertThat(day.getOpeningBalance().toBigDecimal()).isEqualByComparingTo("5065.00");
+        assertThat(day.getClosingBalance().toBigDecimal()).isEqualByComparingTo("5010.00");
+        assertThat(day.getTransactionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void summarizesRangeFromRollup() {
+        rollup.rollUp();
+
+        BalanceSummaryResponse month =
+                balanceHistoryService.summarize(CUSTOMER_ID, LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 31));
+        assertThat(month.openingBalance()).isEqualByComparingTo("5000.00");
+        assertThat(month.closingBalance()).isEqualByComparingTo("5065.00");
+        assertThat(month.depositTotal()).isEqualByComparingTo("105.00");
+        assertThat(month.withdrawalTotal()).isEqualByComparingTo("40.00");
+        assertThat(month.transactionCount()).isEqualTo(3);
+        assertThat(month.days()).hasSize(2);
+
+        BalanceSummaryResponse later =
+                balanceHistoryService.summarize(CUSTOMER_ID, DAY_TWO.plusDays(1), DAY_TWO.plusDays(5));
+        assertThat(later.openingBalance()).isEqualByComparingTo("5065.00");
+        assertThat(later.closingBalance()).isEqualByComparingTo("5065.00");
+        assertThat(later.days()).isEmpty();
+
+        BalanceSummaryResponse earlier =
+                balanceHistoryService.summarize(CUSTOMER_ID, LocalDate.of(2020, 2, 1), LocalDate.of(2020, 2, 29));
+        assertThat(earlier.openingBalance()).isEqualByComparingTo("5000.00");
+        assertThat(earlier.transactionCount()).isZero();
+    }
+
+    private void resetRollup() {
+        jdbcTemplate.update("DELETE FROM account_daily_balances");
+        jdbcTemplate.update("DELETE FROM job_checkpoint_gaps");
+        // Start after the numbers other tests drew; their deleted rows would otherwise be recorded as gaps.
+        long drawn = jdbcTemplate.queryForObject("SELECT nextval('transactions_ledger_seq')", Long.class);
+        jdbcTemplate.update(
+                "UPDATE job_checkpoints SET last_ledger_seq = ? WHERE job_name = ?",
+                drawn,
+                AccountDailyBalanceRollup.JOB_NAME);
+    }
+
+    private static OffsetDateTime at(LocalDate day, int hour) {
+        return day.atTime(hour, 0).atOffset(ZoneOffset.UTC);
+    }
+
+    private void insert(String type, String amount, String balanceAfter, OffsetDateTime occurredAt) {
+        insert(ACCOUNT_ID, null, type, amount, balanceAfter, occurredAt);
+    }
+
+    /** Inserts a ledger row, numbered by the column default unless {@code ledgerSeq} is given. */
+    private void insert(
+            UUID accountId,
+            Long ledgerSeq,
+            String type,
+            String amount,
+            String balanceAfter,
+            OffsetDateTime occurredAt) {
+        Object[] values = {
+            UUID.randomUUID(),
+            accountId,
+            type,
+            Money.toMinor(new BigDecimal(amount)),
+            occurredAt,
+            Money.toMinor(new BigDecimal(balanceAfter))
+        };
+        if (ledgerSeq == null) {
+            jdbcTemplate.update(
+                    "INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)",
+                    values);
+            return;
+        }
+        Object[] numbered = Arrays.copyOf(values, values.length + 1);
+        numbered[values.length] = ledgerSeq;
+        jdbcTemplate.update(
+                "INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after, ledger_seq) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                numbered);
+    }
+}
@@ -10,7 +10,6 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,14 +23,22 @@ import org.springframework.http.HttpStatus;
 
 import com.exercise.atm.api.dto.AccountSnapshotResponse;
 import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.config.metrics.HotAccountTracker;
+import com.exercise.atm.config.metrics.RequestMetrics;
 import com.exercise.atm.domain.entity.Account;
+import com.exercise.atm.domain.entity.AccountDailyUsage;
+import com.exercise.atm.domain.entity.AccountDailyUsageId;
 import com.exercise.atm.domain.entity.Customer;
+import com.exercise.atm.domain.entity.Money;
 import com.exercise.atm.domain.entity.Transaction;
 import com.exercise.atm.domain.entity.TransactionType;
+import com.exercise.atm.domain.repository.AccountDailyUsageRepository;
 import com.exercise.atm.domain.repository.AccountRepository;
 import com.exercise.atm.domain.repository.CustomerRepository;
 import com.exercise.atm.domain.repository.TransactionRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class AccountServiceImplTest {
 
@@ -41,9 +48,15 @@ class AccountServiceImplTest {
         @Mock
         private TransactionRepository transactionRepository;
 
+        @Mock
+        private AccountDailyUsageRepository accountDailyUsageRepository;
+
         @Mock
         private CustomerRepository customerRepository;
 
+        @Mock
+        private AccountTransfers accountTransfers;
+
         private Clock clock;
 
         private AccountServiceImpl accountService;
@@ -51,30 +64,32 @@ class AccountServiceImplTest {
         private UUID customerId;
         private UUID accountId;
         private Account account;
-        private Instant startOfDay;
-        private Instant endOfDay;
+        private AccountDailyUsageId usageId;
+        private HotAccountTracker hotAccountTracker;
 
         @BeforeEach
         void setUp() {
                 clock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC);
 
-                startOfDay = LocalDate.ofInstant(clock.instant(), clock.getZone())
-                                .atStartOfDay()
-                                .toInstant(clock.getZone().getRules().getOffset(clock.instant()));
-
-                endOfDay = startOfDay.plus(1, ChronoUnit.DAYS).minusNanos(1);
-
                 customerId = UUID.randomUUID();
                 accountId = UUID.randomUUID();
+                usageId = new AccountDailyUsageId(accountId, LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC));
 
                 account = new Account();
                 account.setId(accountId);
                 account.setCustomerId(customerId);
-                account.setBalance(new BigDecimal("1000.00"));
-                account.setDailyLimit(new BigDecimal("500.00"));
-
-                accountService = new AccountServiceImpl(accountRepository, transactionRepository, customerRepository,
-                                clock);
+                account.setBalance(Money.of(new BigDecimal("1000.00")));
+                account.setDailyLimit(Money.of(new BigDecimal("500.00")));
+
+                SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+                hotAccountTracker = new HotAccountTracker(meterRegistry);
+                hotAccountTracker.init();
+                CustomerProfileCache customerProfileCache =
+                                new CustomerProfileCache(customerRepository, new SimpleMeterRegistry());
+                customerProfileCache.init();
+                accountService = new AccountServiceImpl(accountRepository, transactionRepository,
+                                accountDailyUsageRepository, customerProfileCache, accountTransfers,
+                                new RequestMetrics(meterRegistry), hotAccountTracker, clock);
         }
 
         @Test
@@ -83,8 +98,9 @@ class AccountServiceImplTest {
                 when(customerRepository.findById(customerId))
                                 .thenReturn(Optional.of(
                                                 new Customer(null, null, null, "Mike Albert", 0, null, null, null)));
-                when(transactionRepository.sumWithdrawnToday(accountId, startOfDay, endOfDay))
-                                .thenReturn(new BigDecimal("100.00"));
+                when(accountDailyUsageRepository.findById(usageId))
+                                .thenReturn(Optional.of(
+                                                new AccountDailyUsage(usageId, Money.of(new BigDecimal("100.00")))));
 
                 AccountSnapshotResponse snapshot = accountService.getSnapshot(customerId);
 
@@ -101,8 +117,7 @@ class AccountServiceImplTest {
                 when(customerRepository.findById(customerId))
                                 .thenReturn(Optional.of(new com.exercise.atm.domain.entity.Customer(null, null, null,
                                                 "Mike Albert", 0, null, null, null)));
-                when(transactionRepository.sumWithdrawnToday(accountId, startOfDay, endOfDay))
-                                .thenReturn(BigDecimal.ZERO);
+                when(accountDailyUsageRepository.findById(usageId)).thenReturn(Optional.empty());
 
                 AccountSnapshotResponse response = accountService.deposit(customerId, new BigDecimal("200.00"));
 
@@ -110,16 +125,15 @@ class AccountServiceImplTest {
                 ArgumentCaptor<Transaction> txCaptor = ArgumentCaptor.forClass(Transaction.class);
                 verify(transactionRepository).save(txCaptor.capture());
                 assertThat(txCaptor.getValue().getType()).isEqualTo(TransactionType.DEPOSIT);
-                assertThat(txCaptor.getValue().getAmount()).isEqualByComparingTo("200.00");
-                assertThat(txCaptor.getValue().getBalanceAfter()).isEqualByComparingTo("1200.00");
+                assertThat(txCaptor.getValue().getAmount().toBigDecimal()).isEqualByComparingTo("200.00");
+                assertThat(txCaptor.getValue().getBalanceAfter().toBigDecimal()).isEqualByComparingTo("1200.00");
         }
 
         @Test
         void withdraw_whenInsufficientFunds_throwsBusinessException() {
-                account.setBalance(new BigDecimal("50.00"));
+                account.setBalance(Money.of(new BigDecimal("50.00")));
                 when(accountRepository.findOneByCustomerId(customerId)).thenReturn(Optional.of(account));
-                when(transactionRepository.sumWithdrawnToday(accountId, startOfDay, endOfDay))
-                                .thenReturn(BigDecimal.ZERO);
+                when(accountDailyUsageRepository.findById(usageId)).thenReturn(Optional.empty());
 
                 assertThatThrownBy(() -> accountService.withdraw(customerId, new BigDecimal("100.00")))
                                 .isInstanceOf(BusinessException.class)
@@ -130,8 +144,8 @@ class AccountServiceImplTest {
         @Test
     void withdraw_whenExceedsDailyLimit_throwsBusinessException() {
         when(accountRepository.findOneByCustomerId(customerId)).thenReturn(Optional.of(account));
-        when(transactionRepository.sumWithdrawnToday(accountId, startOfDay, endOfDay))
-                .thenReturn(new BigDecimal("400.00"));
+        when(accountDailyUsageRepository.findById(usageId))
+                .thenReturn(Optional.of(new AccountDailyUsage(usageId, Money.of(new BigDecimal("400.00")))));
 
         assertThatThrownBy(() -> accountService.withdraw(customerId, new BigDecimal("200.00")))
                 .isInstanceOf(BusinessException.class)
@@ -139,6 +153,28 @@ class AccountServiceImplTest {
                 .containsExactly(HttpStatus.CONFLICT, "Daily withdrawal limit exceeded");
     }
 
+    @Test
+    void withdraw_addsAmountToDailyUsage() {
+        when(accountRepository.findOneByCustomerId(customerId)).thenReturn(Optional.of(account));
+        when(customerRepository.findById(customerId))
+                .thenReturn(Optional.of(new Customer(null, null, null, "Mike Albert", 0, null, null, null)));
+        when(accountDailyUsageRepository.findById(usageId))
+                .thenReturn(Optional.of(new AccountDailyUsage(usageId, Money.of(new BigDecimal("150.00")))));
+
+        AccountSnapshotResponse response = accountService.withdraw(customerId, new BigDecimal("100.00"));
+
+        assertThat(response.balance()).isEqualByComparingTo("900.00");
+        assertThat(response.withdrawnToday()).isEqualByComparingTo("250.00");
+        assertThat(response.remainingDailyLimit()).isEqualByComparingTo("250.00");
+        ArgumentCaptor<AccountDailyUsage> usageCaptor = ArgumentCaptor.forClass(AccountDailyUsage.class);
+        verify(accountDailyUsageRepository).save(usageCaptor.capture());
+        assertThat(usageCaptor.getValue().getId()).isEqualTo(usageId);
+        assertThat(usageCaptor.getValue().getWithdrawnAmount().toBigDecimal()).isEqualByComparingTo("250.00");
+        assertThat(hotAccountTracker.snapshot().byRequests())
+                .extracting(HotAccountTracker.HotAccount::accountId)
+                .containsExactly(accountId);
+    }
+
     @Test
     void getSnapshot_whenAccountMissing_throwsNotFound() {
         when(accountRepository.findByCustomerId(customerId)).thenReturn(Optional.empty());
@@ -0,0 +1,104 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSnapshotCacheTest {
+
+    @Mock
+    private AccountService accountService;
+
+    private AccountSnapshotCache cache;
+
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC);
+        cache = new AccountSnapshotCache(accountService, new SimpleMeterRegistry(), clock);
+        cache.init();
+        customerId = UUID.randomUUID();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(accountService.getSnapshot(customerId)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return snapshot("100.00");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<AccountSnapshotCache.CachedSnapshot>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> cache.get(customerId), executor));
+        }
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        release.countDown();
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        verify(accountService, times(1)).getSnapshot(customerId);
+        assertThat(calls).allSatisfy(call -> assertThat(call.join().etag()).isEqualTo(calls.get(0).join().etag()));
+    }
+
+    @Test
+    void evictForcesReloadWithNewEtag() {
+        when(accountService.getSnapshot(customerId)).thenReturn(snapshot("100.00"), snapshot("90.00"));
+
+        String first = cache.get(customerId).etag();
+        assertThat(cache.get(customerId).etag()).isEqualTo(first);
+
+        cache.evict(customerId);
+        AccountSnapshotCache.CachedSnapshot reloaded = cache.get(customerId);
+
+        verify(accountService, times(2)).getSnapshot(customerId);
+        assertThat(reloaded.snapshot().balance()).isEqualByComparingTo("90.00");
+        assertThat(reloaded.etag()).isNotEqualTo(first);
+    }
+
+    @Test
+    void etagIgnoresScale() {
+        assertThat(AccountSnapshotCache.etagOf(snapshot("100")))
+                .isEqualTo(AccountSnapshotCache.etagOf(snapshot("100.00")));
+    }
+
+    private AccountSnapshotResponse snapshot(String balance) {
+        return new AccountSnapshotResponse(
+                customerId,
+                "Alice",
+                new BigDecimal(balance),
+                new BigDecimal("500.00"),
+                BigDecimal.ZERO,
+                new BigDecimal("500.00"));
+    }
+}
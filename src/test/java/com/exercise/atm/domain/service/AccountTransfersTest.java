@@ -0,0 +1,133 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountTransfersTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    private static final UUID BRIAN = UUID.fromString("00000000-0000-0000-0000-000000000102");
+    private static final UUID CARLA = UUID.fromString("00000000-0000-0000-0000-000000000103");
+    private static final UUID ALICE_ACCOUNT = UUID.fromString("00000000-0000-0000-0000-000000000201");
+    private static final UUID CARLA_ACCOUNT = UUID.fromString("00000000-0000-0000-0000-000000000203");
+
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 100;
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    @Autowired
+    private AccountTransfers accountTransfers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restoreSeed() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM account_daily_usage");
+        jdbcTemplate.update("UPDATE accounts SET balance = 120000 WHERE customer_id = ?", ALICE);
+        jdbcTemplate.update("UPDATE accounts SET balance = 30000 WHERE customer_id = ?", BRIAN);
+        jdbcTemplate.update("UPDATE accounts SET balance = 500000 WHERE customer_id = ?", CARLA);
+    }
+
+    @Test
+    void transferMovesFundsAndRecordsBothLegs() {
+        AccountSnapshotResponse snapshot = accountTransfers.transfer(ALICE, CARLA, new BigDecimal("100.00"));
+
+        assertThat(snapshot.balance()).isEqualByComparingTo("1100.00");
+        assertThat(snapshot.withdrawnToday()).isEqualByComparingTo("100.00");
+        assertThat(balanceOf(CARLA_ACCOUNT)).isEqualByComparingTo("5100.00");
+        assertThat(jdbcTemplate.queryForList(
+                        "SELECT type FROM transactions WHERE account_id = ?", String.class, ALICE_ACCOUNT))
+                .containsExactly("TRANSFER_OUT");
+        assertThat(jdbcTemplate.queryForList(
+                        "SELECT type FROM transactions WHERE account_id = ?", String.class, CARLA_ACCOUNT))
+                .containsExactly("TRANSFER_IN");
+    }
+
+    @Test
+    void debitSideIsHeldToTheDailyLimit() {
+        assertThatThrownBy(() -> accountTransfers.transfer(BRIAN, CARLA, new BigDecimal("250.00")))
+                .isInstanceOfSatisfying(BusinessException.class, ex -> {
+                    assertThat(ex.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(ex.getMessage()).isEqualTo("Daily withdrawal limit exceeded");
+                });
+        assertThat(balanceOf(CARLA_ACCOUNT)).isEqualByComparingTo("5000.00");
+    }
+
+    @Test
+    void rejectsSelfTransfersAndUnknownRecipients() {
+        assertThatThrownBy(() -> accountTransfers.transfer(ALICE, ALICE, BigDecimal.ONE))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> accountTransfers.transfer(ALICE, UUID.randomUUID(), BigDecimal.ONE))
+                .isInstanceOfSatisfying(BusinessException.class, ex -> {
+                    assertThat(ex.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+                    assertThat(ex.getMessage()).isEqualTo("Recipient account not found");
+                });
+    }
+
+    @Test
+    void concurrentCrossTransfersDoNotDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            UUID from = t % 2 == 0 ? ALICE : CARLA;
+            UUID to = t % 2 == 0 ? CARLA : ALICE;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    accountTransfers.transfer(from, to, CENT);
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        double elapsedSeconds = (System.nanoTime() - began) / 1_000_000_000.0;
+        executor.shutdown();
+
+        int transfers = THREADS * TRANSFERS_PER_THREAD;
+        System.out.printf("%d cross transfers, %.0f ops/s%n", transfers, transfers / elapsedSeconds);
+
+        // Both directions moved the same amount, so the balances end where they started.
+        assertThat(balanceOf(ALICE_ACCOUNT)).isEqualByComparingTo("1200.00");
+        assertThat(balanceOf(CARLA_ACCOUNT)).isEqualByComparingTo("5000.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class))
+                .isEqualTo(2L * transfers);
+    }
+
+    private BigDecimal balanceOf(UUID accountId) {
+        return Money.toDecimal(
+                jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", Long.class, accountId));
+    }
+}
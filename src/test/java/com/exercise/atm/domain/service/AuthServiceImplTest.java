@@ -2,6 +2,13 @@ package com.exercise.atm.domain.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Clock;
@@ -10,16 +17,18 @@ import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.api.error.ServiceBusyException;
 import com.exercise.atm.config.security.JwtProvider;
 import com.exercise.atm.domain.entity.Customer;
 import com.exercise.atm.domain.repository.CustomerRepository;
@@ -31,13 +40,18 @@ class AuthServiceImplTest {
     private CustomerRepository customerRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PinHasher pinHasher;
 
     @Mock
     private JwtProvider jwtProvider;
 
+    @Mock
+    private CustomerProfileCache customerProfileCache;
+
     private Clock clock;
 
+    private LoginAttemptTracker loginAttemptTracker;
+
     private AuthServiceImpl authService;
 
     private Customer customer;
@@ -53,14 +67,20 @@ class AuthServiceImplTest {
         customer.setFailedAttempts(0);
         customer.setLockedUntil(null);
 
-        authService = new AuthServiceImpl(customerRepository, passwordEncoder, jwtProvider, clock);
+        loginAttemptTracker = new LoginAttemptTracker();
+        loginAttemptTracker.init();
+        authService = new AuthServiceImpl(
+                customerRepository, pinHasher, loginAttemptTracker, jwtProvider, customerProfileCache, clock);
+        ReflectionTestUtils.setField(authService, "maxFailedAttempts", 3);
+        ReflectionTestUtils.setField(authService, "lockDurationMinutes", 15);
         authService.init();
     }
 
     @Test
     void loginSuccessResetsFailedAttempts() {
+        customer.setFailedAttempts(2);
         when(customerRepository.findByCardNumber(customer.getCardNumber())).thenReturn(Optional.of(customer));
-        when(passwordEncoder.matches("1234", "hash")).thenReturn(true);
+        when(pinHasher.matches("1234", "hash")).thenReturn(true);
         when(jwtProvider.generateToken(customer.getId(), customer.getName())).thenReturn("token");
 
         LoginResult result = authService.login(customer.getCardNumber(), "1234");
@@ -68,13 +88,92 @@ class AuthServiceImplTest {
         assertThat(result.customerId()).isEqualTo(customer.getId());
         assertThat(result.accessToken()).isEqualTo("token");
         assertThat(result.expiresInSeconds()).isEqualTo(3600);
+        verify(customerRepository).updateLoginState(customer.getId(), 0, null, Instant.now(clock));
+        verify(customerProfileCache).put(customer);
+    }
+
+    @Test
+    void loginSuccessWithoutPriorFailuresWritesNothing() {
+        when(customerRepository.findByCardNumber(customer.getCardNumber())).thenReturn(Optional.of(customer));
+        when(pinHasher.matches("1234", "hash")).thenReturn(true);
+
+        authService.login(customer.getCardNumber(), "1234");
+
+        verify(customerRepository, never()).updateLoginState(any(), anyInt(), any(), any());
+        verify(customerRepository, never()).updatePinHash(any(), any(), any());
+    }
+
+    @Test
+    void invalidPinsAreCountedInMemoryUntilTheLock() {
+        when(customerRepository.findByCardNumber(customer.getCardNumber())).thenReturn(Optional.of(customer));
+        when(pinHasher.matches("bad", "hash")).thenReturn(false);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "bad"))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting("status", "message")
+                    .containsExactly(HttpStatus.UNAUTHORIZED, "Invalid PIN");
+        }
+        verify(customerRepository, never()).updateLoginState(any(), anyInt(), any(), any());
+
+        assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "bad"))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status")
+                .isEqualTo(HttpStatus.LOCKED);
+        Instant now = Instant.now(clock);
+        verify(customerRepository).updateLoginState(customer.getId(), 3, now.plus(Duration.ofMinutes(15)), now);
+    }
+
+    @Test
+    void successForgetsEarlierFailures() {
+        when(customerRepository.findByCardNumber(customer.getCardNumber())).thenReturn(Optional.of(customer));
+        when(pinHasher.matches("bad", "hash")).thenReturn(false);
+        when(pinHasher.matches("1234", "hash")).thenReturn(true);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "bad"))
+                    .isInstanceOf(BusinessException.class);
+        }
+        authService.login(customer.getCardNumber(), "1234");
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "bad"))
+                    .extracting("status")
+                    .isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+
+        verify(customerRepository, never()).updateLoginState(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void loginRehashesPinWhenTheCostChanged() {
+        when(customerRepository.findByCardNumber(customer.getCardNumber())).thenReturn(Optional.of(customer));
+        when(pinHasher.matches("1234", "hash")).thenReturn(true);
+        when(pinHasher.needsRehash("hash")).thenReturn(true);
+        when(pinHasher.encode("1234")).thenReturn("rehashed");
+
+        authService.login(customer.getCardNumber(), "1234");
+
+        verify(customerRepository).updatePinHash(customer.getId(), "rehashed", Instant.now(clock));
+        assertThat(customer.getPinHash()).isEqualTo("rehashed");
+    }
+
+    @Test
+    void busyHasherSkipsTheRehash() {
+        when(customerRepository.findByCardNumber(customer.getCardNumber())).thenReturn(Optional.of(customer));
+        when(pinHasher.matches("1234", "hash")).thenReturn(true);
+        when(pinHasher.needsRehash("hash")).thenReturn(true);
+        when(pinHasher.encode("1234")).thenThrow(new ServiceBusyException("busy", Duration.ofSeconds(1)));
+        when(jwtProvider.generateToken(customer.getId(), customer.getName())).thenReturn("token");
+
+        assertThat(authService.login(customer.getCardNumber(), "1234").accessToken()).isEqualTo("token");
+        verify(customerRepository, never()).updatePinHash(any(), any(), any());
     }
 
     @Test
     void exceededFailedAttemptsLocksAccount() {
         customer.setFailedAttempts(2);
         when(customerRepository.findByCardNumber(customer.getCardNumber())).thenReturn(Optional.of(customer));
-        when(passwordEncoder.matches("bad", "hash")).thenReturn(false);
+        when(pinHasher.matches("bad", "hash")).thenReturn(false);
 
         assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "bad"))
                 .isInstanceOf(BusinessException.class)
@@ -82,6 +181,48 @@ class AuthServiceImplTest {
                 .containsExactly(HttpStatus.LOCKED, "Account Locked, try again later");
     }
 
+    @Test
+    void accountLocksAgainAfterAnExpiredLock() {
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-01-01T10:00:00Z"));
+        Clock movingClock = mock(Clock.class);
+        when(movingClock.instant()).thenAnswer(invocation -> now.get());
+        authService = new AuthServiceImpl(
+                customerRepository, pinHasher, loginAttemptTracker, jwtProvider, customerProfileCache, movingClock);
+        ReflectionTestUtils.setField(authService, "maxFailedAttempts", 3);
+        ReflectionTestUtils.setField(authService, "lockDurationMinutes", 15);
+        authService.init();
+        when(customerRepository.findByCardNumber(customer.getCardNumber())).thenReturn(Optional.of(customer));
+        when(pinHasher.matches("bad", "hash")).thenReturn(false);
+        doAnswer(invocation -> {
+                    customer.setFailedAttempts(invocation.getArgument(1));
+                    customer.setLockedUntil(invocation.getArgument(2));
+                    return 1;
+                })
+                .when(customerRepository)
+                .updateLoginState(eq(customer.getId()), anyInt(), any(), any());
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "bad"))
+                    .isInstanceOf(BusinessException.class);
+        }
+        assertThat(customer.getLockedUntil()).isNotNull();
+
+        now.set(now.get().plus(Duration.ofMinutes(16)));
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "bad"))
+                    .extracting("status")
+                    .isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+        assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "bad"))
+                .extracting("status")
+                .isEqualTo(HttpStatus.LOCKED);
+        assertThatThrownBy(() -> authService.login(customer.getCardNumber(), "1234"))
+                .extracting("status")
+                .isEqualTo(HttpStatus.LOCKED);
+        // The expired lock was cleared once, not on every attempt.
+        verify(customerRepository).updateLoginState(customer.getId(), 0, null, now.get());
+    }
+
     @Test
     void alreadyLockedAccountThrowsLocked() {
         customer.setLockedUntil(Instant.now(clock).plus(Duration.ofMinutes(5)));
@@ -0,0 +1,138 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalUpdateAccountServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AccountSnapshotReader snapshotReader;
+
+    @Mock
+    private AccountTransfers accountTransfers;
+
+    private ConditionalUpdateAccountServiceImpl accountService;
+
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC);
+        customerId = UUID.randomUUID();
+        accountService = new ConditionalUpdateAccountServiceImpl(jdbcTemplate, snapshotReader, accountTransfers, clock);
+    }
+
+    @Test
+    void withdraw_returnsSnapshotFromStatement() {
+        AccountSnapshotResponse snapshot = new AccountSnapshotResponse(
+                customerId,
+                "Mike Albert",
+                new BigDecimal("900.00"),
+                new BigDecimal("500.00"),
+                new BigDecimal("100.00"),
+                new BigDecimal("400.00"));
+        when(jdbcTemplate.query(eq(ConditionalUpdateAccountServiceImpl.WITHDRAW_SQL), any(SqlParameterSource.class),
+                        ArgumentMatchers.<RowMapper<AccountSnapshotResponse>>any()))
+                .thenReturn(List.of(snapshot));
+
+        assertThat(accountService.withdraw(customerId, new BigDecimal("100.00"))).isEqualTo(snapshot);
+    }
+
+    @Test
+    void withdraw_whenNothingDebitedAndBalanceTooLow_throwsInsufficientFunds() {
+        stubRejectedWithdrawal(List.of(Money.toMinor(new BigDecimal("50.00"))));
+
+        assertThatThrownBy(() -> accountService.withdraw(customerId, new BigDecimal("100.00")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status", "message")
+                .containsExactly(HttpStatus.CONFLICT, "Insufficient funds");
+    }
+
+    @Test
+    void withdraw_whenNothingDebitedAndBalanceSufficient_throwsLimitExceeded() {
+        stubRejectedWithdrawal(List.of(Money.toMinor(new BigDecimal("1000.00"))));
+
+        assertThatThrownBy(() -> accountService.withdraw(customerId, new BigDecimal("100.00")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status", "message")
+                .containsExactly(HttpStatus.CONFLICT, "Daily withdrawal limit exceeded");
+    }
+
+    @Test
+    void withdraw_whenDebitedButOverDailyLimit_throwsLimitExceeded() {
+        when(jdbcTemplate.query(eq(ConditionalUpdateAccountServiceImpl.WITHDRAW_SQL), any(SqlParameterSource.class),
+                        ArgumentMatchers.<RowMapper<AccountSnapshotResponse>>any()))
+                .thenReturn(Collections.singletonList(null));
+
+        assertThatThrownBy(() -> accountService.withdraw(customerId, new BigDecimal("100.00")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status", "message")
+                .containsExactly(HttpStatus.CONFLICT, "Daily withdrawal limit exceeded");
+        verify(jdbcTemplate, never()).query(eq(ConditionalUpdateAccountServiceImpl.BALANCE_SQL),
+                any(SqlParameterSource.class), ArgumentMatchers.<RowMapper<Long>>any());
+    }
+
+    @Test
+    void withdraw_whenAccountMissing_throwsNotFound() {
+        stubRejectedWithdrawal(List.of());
+
+        assertThatThrownBy(() -> accountService.withdraw(customerId, new BigDecimal("100.00")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status")
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void deposit_whenAccountMissing_throwsNotFound() {
+        when(jdbcTemplate.query(eq(ConditionalUpdateAccountServiceImpl.DEPOSIT_SQL), any(SqlParameterSource.class),
+                        ArgumentMatchers.<RowMapper<AccountSnapshotResponse>>any()))
+                .thenReturn(List.of());
+
+        assertThatThrownBy(() -> accountService.deposit(customerId, new BigDecimal("10.00")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status")
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    /** Stubs a withdrawal that debited nothing; the follow-up query reads the balance in minor units. */
+    private void stubRejectedWithdrawal(List<Long> balance) {
+        when(jdbcTemplate.query(eq(ConditionalUpdateAccountServiceImpl.WITHDRAW_SQL), any(SqlParameterSource.class),
+                        ArgumentMatchers.<RowMapper<AccountSnapshotResponse>>any()))
+                .thenReturn(List.of());
+        when(jdbcTemplate.query(eq(ConditionalUpdateAccountServiceImpl.BALANCE_SQL), any(SqlParameterSource.class),
+                        ArgumentMatchers.<RowMapper<Long>>any()))
+                .thenReturn(balance);
+    }
+}
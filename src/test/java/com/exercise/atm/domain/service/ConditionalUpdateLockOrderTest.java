@@ -0,0 +1,127 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.exercise.atm.api.dto.BulkOperationRequest;
+import com.exercise.atm.api.dto.BulkOperationsResponse;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+/**
+ * PostgreSQL only: runs when {@code BENCHMARK_DATASOURCE_URL} points at a scratch database. Conditional-update
+ * withdrawals, transfers and settlement withdrawals hit the same account at once; all of them must lock the account row
+ * before its daily usage row, otherwise PostgreSQL aborts one side with a deadlock and a worker fails.
+ */
+@SpringBootTest(properties = "app.account.engine=conditional-update")
+@ActiveProfiles({"test", "postgres"})
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DATASOURCE_URL", matches = ".+")
+class ConditionalUpdateLockOrderTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    private static final UUID CARLA = UUID.fromString("00000000-0000-0000-0000-000000000103");
+    private static final UUID ALICE_ACCOUNT = UUID.fromString("00000000-0000-0000-0000-000000000201");
+    private static final UUID CARLA_ACCOUNT = UUID.fromString("00000000-0000-0000-0000-000000000203");
+
+    private static final int THREADS_PER_KIND = 4;
+    private static final int ROUNDS = 100;
+    private static final int SETTLEMENT_LINES = 20;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void fundAccounts() {
+        resetAccount(ALICE_ACCOUNT, OPENING_BALANCE, OPENING_BALANCE);
+        resetAccount(CARLA_ACCOUNT, OPENING_BALANCE, OPENING_BALANCE);
+    }
+
+    @AfterEach
+    void restoreSeed() {
+        resetAccount(ALICE_ACCOUNT, new BigDecimal("1200.00"), new BigDecimal("500.00"));
+        resetAccount(CARLA_ACCOUNT, new BigDecimal("5000.00"), new BigDecimal("1000.00"));
+    }
+
+    @Test
+    void withdrawalsTransfersAndSettlementDoNotDeadlock() throws Exception {
+        List<BulkOperationRequest> feed = Collections.nCopies(
+                SETTLEMENT_LINES, new BulkOperationRequest(ALICE_ACCOUNT, TransactionType.WITHDRAWAL, BigDecimal.ONE));
+        ExecutorService executor = Executors.newFixedThreadPool(4 * THREADS_PER_KIND);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS_PER_KIND; t++) {
+            workers.add(executor.submit(() -> repeat(start, () -> accountService.withdraw(ALICE, BigDecimal.ONE))));
+            workers.add(executor.submit(
+                    () -> repeat(start, () -> accountService.transfer(ALICE, CARLA, BigDecimal.ONE))));
+            workers.add(executor.submit(
+                    () -> repeat(start, () -> accountService.transfer(CARLA, ALICE, BigDecimal.ONE))));
+            workers.add(executor.submit(() -> repeat(start, () -> {
+                BulkOperationsResponse response = settlementService.apply(feed);
+                assertThat(response.failed()).isZero();
+                assertThat(response.applied()).isEqualTo(SETTLEMENT_LINES);
+            })));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        long operations = (long) THREADS_PER_KIND * ROUNDS;
+        long debits = operations + operations + operations * SETTLEMENT_LINES;
+        long credits = operations;
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT balance FROM accounts WHERE id = ?", Long.class, ALICE_ACCOUNT))
+                .isEqualTo(Money.toMinor(OPENING_BALANCE) - Money.toMinor(BigDecimal.valueOf(debits - credits)));
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT withdrawn_amount FROM account_daily_usage WHERE account_id = ? AND usage_date = ?",
+                        Long.class,
+                        ALICE_ACCOUNT,
+                        LocalDate.now(ZoneOffset.UTC)))
+                .isEqualTo(Money.toMinor(BigDecimal.valueOf(debits)));
+    }
+
+    private static Void repeat(CountDownLatch start, Runnable operation) throws InterruptedException {
+        start.await();
+        for (int i = 0; i < ROUNDS; i++) {
+            operation.run();
+        }
+        return null;
+    }
+
+    private void resetAccount(UUID accountId, BigDecimal balance, BigDecimal dailyLimit) {
+        jdbcTemplate.update("DELETE FROM account_daily_usage WHERE account_id = ?", accountId);
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", accountId);
+        jdbcTemplate.update(
+                "UPDATE accounts SET balance = ?, daily_limit = ? WHERE id = ?",
+                Money.toMinor(balance), Money.toMinor(dailyLimit), accountId);
+    }
+}
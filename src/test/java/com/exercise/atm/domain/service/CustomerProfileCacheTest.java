@@ -0,0 +1,74 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exercise.atm.domain.entity.Customer;
+import com.exercise.atm.domain.repository.CustomerRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerProfileCacheTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CustomerProfileCache cache;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CustomerProfileCache(customerRepository, meterRegistry);
+        cache.init();
+
+        customer = new Customer();
+        customer.setId(UUID.randomUUID());
+        customer.setName("Alice");
+    }
+
+    @Test
+    void populatedProfileIsServedWithoutQuery() {
+        cache.put(customer);
+
+        assertThat(cache.nameOf(customer.getId())).isEqualTo("Alice");
+        verify(customerRepository, never()).findById(customer.getId());
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void missIsLoadedOnceAndThenServedFromCache() {
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+
+        assertThat(cache.nameOf(customer.getId())).isEqualTo("Alice");
+        assertThat(cache.nameOf(customer.getId())).isEqualTo("Alice");
+
+        verify(customerRepository, times(1)).findById(customer.getId());
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CustomerProfileCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
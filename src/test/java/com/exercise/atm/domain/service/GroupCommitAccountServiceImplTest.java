@@ -0,0 +1,152 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.TransactionType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+    "app.account.engine=group-commit",
+    "app.account.group-commit.max-batch-size=50",
+    "app.account.group-commit.max-wait=PT0.02S"
+})
+@ActiveProfiles("test")
+class GroupCommitAccountServiceImplTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000102");
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000202");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restoreSeed() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE customer_id = ?", CUSTOMER_ID);
+        jdbcTemplate.update("DELETE FROM account_daily_usage WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update("UPDATE accounts SET balance = 30000 WHERE id = ?", ACCOUNT_ID);
+    }
+
+    @Test
+    void usesGroupCommitEngine() {
+        // The bean is wrapped in a timing decorator, so look it up by the engine's bean name.
+        assertThat(applicationContext.getBean("groupCommitAccountServiceImpl", AccountService.class)).isSameAs(accountService);
+    }
+
+    @Test
+    void concurrentDepositsShareCommits() {
+        int deposits = 200;
+        double commitsBefore = meterRegistry.get("atm.ledger.group.commits").counter().count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        for (int i = 0; i < deposits; i++) {
+            calls.add(CompletableFuture.runAsync(() -> accountService.deposit(CUSTOMER_ID, BigDecimal.ONE), executor));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        double commits = meterRegistry.get("atm.ledger.group.commits").counter().count() - commitsBefore;
+        assertThat(commits).isLessThan(deposits);
+        assertThat(accountService.getSnapshot(CUSTOMER_ID).balance()).isEqualByComparingTo("500.00");
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM transactions WHERE account_id = ?", Integer.class, ACCOUNT_ID))
+                .isEqualTo(deposits);
+    }
+
+    @Test
+    void withdrawBeyondDailyLimitIsRejected() {
+        var snapshot = accountService.withdraw(CUSTOMER_ID, new BigDecimal("150.00"));
+
+        assertThat(snapshot.balance()).isEqualByComparingTo("150.00");
+        assertThat(snapshot.withdrawnToday()).isEqualByComparingTo("150.00");
+        assertThatThrownBy(() -> accountService.withdraw(CUSTOMER_ID, new BigDecimal("100.00")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status", "message")
+                .containsExactly(HttpStatus.CONFLICT, "Daily withdrawal limit exceeded");
+        assertThat(accountService.getSnapshot(CUSTOMER_ID).withdrawnToday()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void withdrawOverBalanceIsRejected() {
+        assertThatThrownBy(() -> accountService.withdraw(CUSTOMER_ID, new BigDecimal("301.00")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status", "message")
+                .containsExactly(HttpStatus.CONFLICT, "Insufficient funds");
+    }
+
+    @Test
+    void recordsIdempotencyKeysItself() {
+        assertThat(accountService.recordsIdempotencyKeys()).isTrue();
+    }
+
+    @Test
+    void concurrentDuplicatesOfOneKeyWithdrawOnce() {
+        IdempotencyClaim claim = claim("retry-1", TransactionType.WITHDRAWAL, new BigDecimal("50.00"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<CompletableFuture<AccountSnapshotResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            calls.add(CompletableFuture.supplyAsync(
+                    () -> accountService.withdraw(CUSTOMER_ID, claim.amount(), claim), executor));
+        }
+        List<AccountSnapshotResponse> responses = calls.stream().map(CompletableFuture::join).toList();
+        executor.shutdown();
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.balance()).isEqualByComparingTo("250.00"));
+        assertThat(accountService.getSnapshot(CUSTOMER_ID).balance()).isEqualByComparingTo("250.00");
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM transactions WHERE account_id = ?", Integer.class, ACCOUNT_ID))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM idempotency_keys WHERE customer_id = ?", Integer.class, CUSTOMER_ID))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void keyReusedForDifferentRequestIsRejectedBeforeApplying() {
+        accountService.deposit(CUSTOMER_ID, BigDecimal.TEN, claim("retry-2", TransactionType.DEPOSIT, BigDecimal.TEN));
+
+        IdempotencyClaim reused = claim("retry-2", TransactionType.WITHDRAWAL, BigDecimal.TEN);
+        assertThatThrownBy(() -> accountService.withdraw(CUSTOMER_ID, BigDecimal.TEN, reused))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status")
+                .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(accountService.getSnapshot(CUSTOMER_ID).balance()).isEqualByComparingTo("310.00");
+    }
+
+    private static IdempotencyClaim claim(String key, TransactionType operation, BigDecimal amount) {
+        return new IdempotencyClaim(CUSTOMER_ID, key, operation, amount, Instant.now().plusSeconds(3600));
+    }
+}
@@ -0,0 +1,168 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.IdempotencyRecord;
+import com.exercise.atm.domain.entity.IdempotencyRecordId;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+import com.exercise.atm.domain.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    private static final String KEY = "retry-1";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    private UUID customerId;
+    private AccountSnapshotResponse snapshot;
+    private AtomicInteger executions;
+    private Function<IdempotencyClaim, AccountSnapshotResponse> deposit;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC);
+        idempotencyService = new IdempotencyServiceImpl(
+                idempotencyRecordRepository,
+                accountService,
+                new TransactionTemplate(transactionManager),
+                new IdempotencyResponseCodec(objectMapper),
+                clock);
+        idempotencyService.init();
+
+        customerId = UUID.randomUUID();
+        snapshot = new AccountSnapshotResponse(
+                customerId,
+                "Alice",
+                new BigDecimal("1200.00"),
+                new BigDecimal("500.00"),
+                BigDecimal.ZERO,
+                new BigDecimal("500.00"));
+        executions = new AtomicInteger();
+        deposit = claim -> {
+            executions.incrementAndGet();
+            return snapshot;
+        };
+    }
+
+    @Test
+    void withoutKey_runsOperationEveryTime() {
+        idempotencyService.execute(customerId, null, TransactionType.DEPOSIT, new BigDecimal("200.00"), deposit);
+        idempotencyService.execute(customerId, null, TransactionType.DEPOSIT, new BigDecimal("200.00"), deposit);
+
+        assertThat(executions).hasValue(2);
+        verify(idempotencyRecordRepository, never()).findById(any());
+    }
+
+    @Test
+    void retryWithSameKey_isAnsweredFromCache() {
+        IdempotencyRecordId id = new IdempotencyRecordId(customerId, KEY);
+        when(idempotencyRecordRepository.findById(id)).thenReturn(Optional.empty());
+
+        AccountSnapshotResponse first = idempotencyService.execute(
+                customerId, KEY, TransactionType.DEPOSIT, new BigDecimal("200.00"), deposit);
+        AccountSnapshotResponse retry = idempotencyService.execute(
+                customerId, KEY, TransactionType.DEPOSIT, new BigDecimal("200.0"), deposit);
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(executions).hasValue(1);
+        verify(idempotencyRecordRepository, times(1)).findById(id);
+        verify(idempotencyRecordRepository).insert(
+                eq(customerId), eq(KEY), eq("DEPOSIT"), eq(20_000L), anyString(), any(), any());
+    }
+
+    @Test
+    void retryAfterRestart_isAnsweredFromTable() throws Exception {
+        IdempotencyRecordId id = new IdempotencyRecordId(customerId, KEY);
+        IdempotencyRecord record = new IdempotencyRecord(
+                id,
+                TransactionType.DEPOSIT,
+                Money.ofMinor(20_000),
+                objectMapper.writeValueAsString(snapshot),
+                Instant.parse("2024-01-01T09:00:00Z"),
+                Instant.parse("2024-01-02T09:00:00Z"));
+        when(idempotencyRecordRepository.findById(id)).thenReturn(Optional.of(record));
+
+        AccountSnapshotResponse replay = idempotencyService.execute(
+                customerId, KEY, TransactionType.DEPOSIT, new BigDecimal("200.00"), deposit);
+
+        assertThat(replay).isEqualTo(snapshot);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void keyReusedForDifferentRequest_isRejected() {
+        IdempotencyRecordId id = new IdempotencyRecordId(customerId, KEY);
+        when(idempotencyRecordRepository.findById(id)).thenReturn(Optional.empty());
+        idempotencyService.execute(customerId, KEY, TransactionType.DEPOSIT, new BigDecimal("200.00"), deposit);
+
+        assertThatThrownBy(() -> idempotencyService.execute(
+                        customerId, KEY, TransactionType.WITHDRAWAL, new BigDecimal("200.00"), deposit))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status")
+                .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void engineThatRecordsKeys_getsTheClaimAndNoTransaction() {
+        when(accountService.recordsIdempotencyKeys()).thenReturn(true);
+        AtomicReference<IdempotencyClaim> claimed = new AtomicReference<>();
+
+        AccountSnapshotResponse response = idempotencyService.execute(
+                customerId, KEY, TransactionType.DEPOSIT, new BigDecimal("200.00"), claim -> {
+                    claimed.set(claim);
+                    return snapshot;
+                });
+
+        assertThat(response).isEqualTo(snapshot);
+        assertThat(claimed.get().id()).isEqualTo(new IdempotencyRecordId(customerId, KEY));
+        assertThat(claimed.get().expiresAt()).isEqualTo(Instant.parse("2024-01-02T10:00:00Z"));
+        verify(transactionManager, never()).getTransaction(any());
+        verify(idempotencyRecordRepository, never())
+                .insert(any(), any(), any(), anyLong(), any(), any(), any());
+    }
+}
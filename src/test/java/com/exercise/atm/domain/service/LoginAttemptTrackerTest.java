@@ -0,0 +1,69 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoginAttemptTrackerTest {
+
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LoginAttemptTracker();
+        tracker.init();
+    }
+
+    @Test
+    void countsFromThePersistedValue() {
+        UUID customerId = UUID.randomUUID();
+
+        assertThat(tracker.recordFailure(customerId, 1)).isEqualTo(2);
+        // Only seeds a customer that is not tracked yet.
+        assertThat(tracker.recordFailure(customerId, 1)).isEqualTo(3);
+    }
+
+    @Test
+    void resetStartsOver() {
+        UUID customerId = UUID.randomUUID();
+        tracker.recordFailure(customerId, 0);
+        tracker.recordFailure(customerId, 0);
+
+        tracker.reset(customerId);
+
+        assertThat(tracker.recordFailure(customerId, 0)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentFailuresAreAllCounted() throws Exception {
+        UUID customerId = UUID.randomUUID();
+        int threads = 8;
+        int failuresPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < failuresPerThread; i++) {
+                        tracker.recordFailure(customerId, 0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(tracker.recordFailure(customerId, 0)).isEqualTo(threads * failuresPerThread + 1);
+    }
+}
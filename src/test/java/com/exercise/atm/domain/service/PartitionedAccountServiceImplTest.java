@@ -0,0 +1,169 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.exercise.atm.api.dto.AccountSnapshotResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+@SpringBootTest(properties = {
+    "app.account.engine=partitioned",
+    "app.account.partitioned.partitions=2",
+    "app.account.partitioned.state-ttl=PT0S"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PartitionedAccountServiceImplTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000103");
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000203");
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) throws IOException {
+        // Not a @TempDir: with a per-class lifecycle the context is loaded before JUnit injects static fields.
+        Path journalDir = Files.createTempDirectory("partition-journal");
+        registry.add("app.account.partitioned.journal-dir", journalDir::toString);
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterAll
+    void restoreSeed() throws InterruptedException {
+        // Balances are cached in the partitions, so seed data is only restored once the write-behind has drained.
+        awaitLedgerRows(ledgerRows());
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE customer_id = ?", CUSTOMER_ID);
+        jdbcTemplate.update("DELETE FROM account_daily_usage WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", ACCOUNT_ID);
+        jdbcTemplate.update("UPDATE accounts SET balance = 500000 WHERE id = ?", ACCOUNT_ID);
+    }
+
+    @Test
+    void usesPartitionedEngine() {
+        // The bean is wrapped in a timing decorator, so look it up by the engine's bean name.
+        assertThat(applicationContext.getBean("partitionedAccountServiceImpl", AccountService.class)).isSameAs(accountService);
+    }
+
+    @Test
+    void depositAndWithdrawAreVisibleImmediatelyAndReachTheDatabase() throws InterruptedException {
+        BigDecimal before = accountService.getSnapshot(CUSTOMER_ID).balance();
+        int rowsBefore = ledgerRows();
+
+        accountService.deposit(CUSTOMER_ID, new BigDecimal("25.00"));
+        AccountSnapshotResponse snapshot = accountService.withdraw(CUSTOMER_ID, new BigDecimal("10.00"));
+
+        BigDecimal expected = before.add(new BigDecimal("15.00"));
+        assertThat(snapshot.balance()).isEqualByComparingTo(expected);
+        assertThat(accountService.getSnapshot(CUSTOMER_ID).balance()).isEqualByComparingTo(expected);
+
+        awaitLedgerRows(rowsBefore + 2);
+        assertThat(Money.toDecimal(jdbcTemplate.queryForObject(
+                        "SELECT balance FROM accounts WHERE id = ?", Long.class, ACCOUNT_ID)))
+                .isEqualByComparingTo(expected);
+    }
+
+    @Test
+    void withdrawBeyondDailyLimitIsRejected() {
+        AccountSnapshotResponse before = accountService.getSnapshot(CUSTOMER_ID);
+        BigDecimal overLimit = before.remainingDailyLimit().add(BigDecimal.ONE);
+
+        assertThatThrownBy(() -> accountService.withdraw(CUSTOMER_ID, overLimit))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status", "message")
+                .containsExactly(HttpStatus.CONFLICT, "Daily withdrawal limit exceeded");
+        assertThat(accountService.getSnapshot(CUSTOMER_ID).balance()).isEqualByComparingTo(before.balance());
+    }
+
+    @Test
+    void concurrentDuplicatesOfOneKeyAreJournaledOnce() throws InterruptedException {
+        IdempotencyClaim claim = new IdempotencyClaim(
+                CUSTOMER_ID, "retry-1", TransactionType.DEPOSIT, new BigDecimal("5.00"), Instant.now().plusSeconds(60));
+        int rowsBefore = ledgerRows();
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<CompletableFuture<AccountSnapshotResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            calls.add(CompletableFuture.supplyAsync(
+                    () -> accountService.deposit(CUSTOMER_ID, claim.amount(), claim), executor));
+        }
+        List<AccountSnapshotResponse> responses = calls.stream().map(CompletableFuture::join).toList();
+        executor.shutdown();
+
+        assertThat(responses).extracting(AccountSnapshotResponse::balance).containsOnly(responses.get(0).balance());
+        awaitLedgerRows(rowsBefore + 1);
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM idempotency_keys WHERE customer_id = ? AND idempotency_key = ?",
+                        Integer.class, CUSTOMER_ID, "retry-1"))
+                .isEqualTo(1);
+
+        // Once the key is in the database, a retry is answered from there.
+        assertThat(accountService.deposit(CUSTOMER_ID, claim.amount(), claim)).isEqualTo(responses.get(0));
+        IdempotencyClaim reused = new IdempotencyClaim(
+                CUSTOMER_ID, "retry-1", TransactionType.WITHDRAWAL, new BigDecimal("5.00"), claim.expiresAt());
+        assertThatThrownBy(() -> accountService.withdraw(CUSTOMER_ID, reused.amount(), reused))
+                .isInstanceOf(BusinessException.class)
+                .extracting("status")
+                .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void reloadedStateSeesDailyLimitChangedInTheDatabase() throws InterruptedException {
+        accountService.getSnapshot(CUSTOMER_ID);
+        jdbcTemplate.update("UPDATE accounts SET daily_limit = 123400 WHERE id = ?", ACCOUNT_ID);
+        try {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (accountService.getSnapshot(CUSTOMER_ID).dailyLimit().compareTo(new BigDecimal("1234.00")) != 0
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(accountService.getSnapshot(CUSTOMER_ID).dailyLimit()).isEqualByComparingTo("1234.00");
+        } finally {
+            jdbcTemplate.update("UPDATE accounts SET daily_limit = 100000 WHERE id = ?", ACCOUNT_ID);
+        }
+    }
+
+    private int ledgerRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE account_id = ?", Integer.class, ACCOUNT_ID);
+    }
+
+    private void awaitLedgerRows(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (ledgerRows() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(ledgerRows()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,97 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.exercise.atm.api.error.ServiceBusyException;
+import com.exercise.atm.config.metrics.RequestMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PinHasherTest {
+
+    private PinHasher pinHasher;
+
+    @BeforeEach
+    void setUp() {
+        pinHasher = new PinHasher(new RequestMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(pinHasher, "threads", 1);
+        ReflectionTestUtils.setField(pinHasher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(pinHasher, "configuredStrength", 5);
+        ReflectionTestUtils.setField(pinHasher, "minStrength", 4);
+        pinHasher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinHasher.destroy();
+    }
+
+    @Test
+    void verifiesHashesOfAnyCost() {
+        String hash = new BCryptPasswordEncoder(6).encode("p@ssw0rd");
+
+        assertThat(pinHasher.matches("p@ssw0rd", hash)).isTrue();
+        assertThat(pinHasher.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    void onlyWeakerHashesNeedRehash() {
+        assertThat(pinHasher.needsRehash(pinHasher.encode("p@ssw0rd"))).isFalse();
+        assertThat(pinHasher.needsRehash(new BCryptPasswordEncoder(4).encode("p@ssw0rd"))).isTrue();
+        assertThat(pinHasher.needsRehash(new BCryptPasswordEncoder(6).encode("p@ssw0rd"))).isFalse();
+        assertThat(pinHasher.needsRehash("not-a-bcrypt-hash")).isFalse();
+    }
+
+    @Test
+    void rejectsFixedStrengthBelowTheFloor() {
+        PinHasher weak = new PinHasher(new RequestMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(weak, "configuredStrength", 4);
+        ReflectionTestUtils.setField(weak, "minStrength", 10);
+
+        assertThatThrownBy(weak::init)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("min-strength 10");
+    }
+
+    @Test
+    void shedsWorkBeyondThreadsAndQueue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One task running and one queued fill the pool.
+            pinHasher.executor.execute(() -> awaitQuietly(release));
+            pinHasher.executor.execute(() -> awaitQuietly(release));
+
+            assertThatThrownBy(() -> pinHasher.matches("p@ssw0rd", "hash"))
+                    .isInstanceOf(ServiceBusyException.class)
+                    .extracting("status", "retryAfter")
+                    .containsExactly(HttpStatus.SERVICE_UNAVAILABLE, Duration.ofSeconds(1));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertThat(PinHasher.calibrate(Duration.ZERO, 4, 8)).isEqualTo(4);
+        assertThat(PinHasher.calibrate(Duration.ofHours(1), 4, 8)).isEqualTo(8);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
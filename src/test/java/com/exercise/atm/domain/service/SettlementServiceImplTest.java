@@ -0,0 +1,140 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exercise.atm.api.dto.BulkOperationRequest;
+import com.exercise.atm.api.dto.BulkOperationResult;
+import com.exercise.atm.api.dto.BulkOperationResult.Status;
+import com.exercise.atm.api.dto.BulkOperationsResponse;
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+// A chunk size of 2 makes the account groups straddle chunk boundaries.
+@SpringBootTest(properties = "app.settlement.chunk-size=2")
+@ActiveProfiles("test")
+@Transactional
+class SettlementServiceImplTest {
+
+    private static final UUID ALICE_ACCOUNT = UUID.fromString("00000000-0000-0000-0000-000000000201");
+    private static final UUID BRIAN_ACCOUNT = UUID.fromString("00000000-0000-0000-0000-000000000202");
+    private static final UUID CARLA_ACCOUNT = UUID.fromString("00000000-0000-0000-0000-000000000203");
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void appliesEachAccountsLinesInFeedOrderAndReportsInRequestOrder() {
+        BulkOperationsResponse response = settlementService.apply(List.of(
+                deposit(CARLA_ACCOUNT, "100.00"),
+                withdrawal(ALICE_ACCOUNT, "100.00"),
+                withdrawal(CARLA_ACCOUNT, "50.00"),
+                deposit(UUID.randomUUID(), "1.00"),
+                withdrawal(BRIAN_ACCOUNT, "250.00"),
+                deposit(ALICE_ACCOUNT, "-1.00"),
+                deposit(CARLA_ACCOUNT, "0.50")));
+
+        assertThat(response.applied()).isEqualTo(4);
+        assertThat(response.rejected()).isEqualTo(3);
+        assertThat(response.failed()).isZero();
+        List<BulkOperationResult> results = response.results();
+        assertThat(results).extracting(BulkOperationResult::index).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results).extracting(BulkOperationResult::status).containsExactly(
+                Status.APPLIED, Status.APPLIED, Status.APPLIED, Status.REJECTED, Status.REJECTED, Status.REJECTED,
+                Status.APPLIED);
+        assertThat(results.get(0).balanceAfter()).isEqualByComparingTo("5100.00");
+        assertThat(results.get(2).balanceAfter()).isEqualByComparingTo("5050.00");
+        assertThat(results.get(6).balanceAfter()).isEqualByComparingTo("5050.50");
+        assertThat(results.get(3).error().message()).isEqualTo("Account not found");
+        assertThat(results.get(4).error().message()).isEqualTo("Daily withdrawal limit exceeded");
+        assertThat(results.get(5).error().code()).isEqualTo("BAD_REQUEST");
+
+        assertThat(balanceOf(ALICE_ACCOUNT)).isEqualByComparingTo("1100.00");
+        assertThat(balanceOf(CARLA_ACCOUNT)).isEqualByComparingTo("5050.50");
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM transactions WHERE account_id = ?", Long.class, CARLA_ACCOUNT))
+                .isEqualTo(3L);
+    }
+
+    @Test
+    void withdrawalsInOneFeedShareTheDailyLimit() {
+        BulkOperationsResponse response = settlementService.apply(List.of(
+                withdrawal(BRIAN_ACCOUNT, "150.00"),
+                withdrawal(BRIAN_ACCOUNT, "40.00"),
+                withdrawal(BRIAN_ACCOUNT, "20.00")));
+
+        assertThat(response.results()).extracting(BulkOperationResult::status)
+                .containsExactly(Status.APPLIED, Status.APPLIED, Status.REJECTED);
+        assertThat(Money.toDecimal(jdbcTemplate.queryForObject(
+                        "SELECT withdrawn_amount FROM account_daily_usage WHERE account_id = ?",
+                        Long.class,
+                        BRIAN_ACCOUNT)))
+                .isEqualByComparingTo("190.00");
+    }
+
+    @Test
+    void rejectsAmountsFinerThanCents() {
+        BulkOperationsResponse response = settlementService.apply(List.of(deposit(ALICE_ACCOUNT, "10.005")));
+
+        assertThat(response.results().get(0).status()).isEqualTo(Status.REJECTED);
+        assertThat(response.results().get(0).error().message()).isEqualTo("Amount must have at most 2 decimals");
+        assertThat(balanceOf(ALICE_ACCOUNT)).isEqualByComparingTo("1200.00");
+    }
+
+    @Test
+    void rejectsAmountsTooLargeForTheLedgerWithoutFailingTheChunk() {
+        BulkOperationsResponse response = settlementService.apply(List.of(
+                deposit(ALICE_ACCOUNT, "10.00"),
+                deposit(ALICE_ACCOUNT, "100000000000000000.00")));
+
+        assertThat(response.results()).extracting(BulkOperationResult::status)
+                .containsExactly(Status.APPLIED, Status.REJECTED);
+        assertThat(response.results().get(1).error().message())
+                .isEqualTo("Amount must have at most 15 digits before the decimal point");
+        assertThat(balanceOf(ALICE_ACCOUNT)).isEqualByComparingTo("1210.00");
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedFeeds() {
+        assertThatThrownBy(() -> settlementService.apply(List.of()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("No operations");
+
+        List<BulkOperationRequest> oversized = new ArrayList<>();
+        for (int i = 0; i <= 100_000; i++) {
+            oversized.add(deposit(ALICE_ACCOUNT, "1.00"));
+        }
+        assertThatThrownBy(() -> settlementService.apply(oversized))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("Too many operations");
+    }
+
+    private BigDecimal balanceOf(UUID accountId) {
+        return Money.toDecimal(
+                jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", Long.class, accountId));
+    }
+
+    private static BulkOperationRequest deposit(UUID accountId, String amount) {
+        return new BulkOperationRequest(accountId, TransactionType.DEPOSIT, new BigDecimal(amount));
+    }
+
+    private static BulkOperationRequest withdrawal(UUID accountId, String amount) {
+        return new BulkOperationRequest(accountId, TransactionType.WITHDRAWAL, new BigDecimal(amount));
+    }
+}
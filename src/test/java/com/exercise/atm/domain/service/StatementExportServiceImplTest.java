@@ -0,0 +1,102 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exercise.atm.api.error.BusinessException;
+import com.exercise.atm.domain.entity.Money;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StatementExportServiceImplTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000103");
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000203");
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private StatementExportService statementExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seedLedger() {
+        insert("DEPOSIT", "100.00", "5100.00", START);
+        insert("WITHDRAWAL", "40.00", "5060.00", START.plusHours(1));
+        insert("DEPOSIT", "5.50", "5065.50", START.plusDays(1));
+    }
+
+    @Test
+    void csvListsRowsOldestFirstWithinRange() throws IOException {
+        String csv = export(StatementFormat.CSV, null, START.plusDays(1).toInstant());
+
+        String[] lines = csv.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("id,type,amount,balance_after,occurred_at");
+        assertThat(lines[1]).contains(",DEPOSIT,100.00,5100.00,2024-01-01T10:00:00Z");
+        assertThat(lines[2]).contains(",WITHDRAWAL,40.00,5060.00,2024-01-01T11:00:00Z");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        String ndjson = export(StatementFormat.NDJSON, null, null);
+
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(3);
+        JsonNode last = objectMapper.readTree(lines[2]);
+        assertThat(last.get("type").asText()).isEqualTo("DEPOSIT");
+        assertThat(last.get("amount").decimalValue()).isEqualByComparingTo("5.50");
+        assertThat(last.get("balanceAfter").decimalValue()).isEqualByComparingTo("5065.50");
+        assertThat(last.get("occurredAt").asText()).isEqualTo("2024-01-02T10:00:00Z");
+    }
+
+    @Test
+    void prepareRejectsUnknownCustomer() {
+        assertThatThrownBy(() -> statementExportService.prepare(UUID.randomUUID(), StatementFormat.CSV, null, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Account not found");
+    }
+
+    private String export(StatementFormat format, Instant from, Instant to) throws IOException {
+        StatementExport export = statementExportService.prepare(CUSTOMER_ID, format, from, to);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statementExportService.write(export, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void insert(String type, String amount, String balanceAfter, OffsetDateTime occurredAt) {
+        jdbcTemplate.update(
+                "INSERT INTO transactions (id, account_id, type, amount, occurred_at, balance_after) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                UUID.randomUUID(),
+                ACCOUNT_ID,
+                type,
+                Money.toMinor(new BigDecimal(amount)),
+                occurredAt,
+                Money.toMinor(new BigDecimal(balanceAfter)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.exercise.atm.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** PostgreSQL only: runs when {@code BENCHMARK_DATASOURCE_URL} points at a scratch database. */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DATASOURCE_URL", matches = ".+")
+class TransactionPartitionManagerTest {
+
+    @Autowired
+    private TransactionPartitionManager partitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createsCurrentAndUpcomingPartitions() {
+        partitionManager.maintain();
+
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        assertThat(partitions()).contains(partitionName(current), partitionName(current.plusMonths(3)));
+    }
+
+    @Test
+    void dailyWithdrawalQueryPrunesToCurrentPartition() {
+        partitionManager.maintain();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        List<String> plan = jdbcTemplate.queryForList(
+                """
+                EXPLAIN SELECT COALESCE(SUM(amount), 0) FROM transactions
+                WHERE account_id = '00000000-0000-0000-0000-000000000201'
+                  AND type = 'WITHDRAWAL'
+                  AND occurred_at BETWEEN ? AND ?
+                """,
+                String.class,
+                today.atStartOfDay().atOffset(ZoneOffset.UTC),
+                today.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusNanos(1000));
+
+        String current = partitionName(YearMonth.from(today));
+        assertThat(plan).anyMatch(line -> line.contains(current));
+        assertThat(plan).noneMatch(line -> line.contains("transactions_y") && !line.contains(current));
+    }
+
+    @Test
+    void detachesPartitionsOutsideRetention() {
+        String old = jdbcTemplate.queryForObject(
+                "SELECT create_transactions_partition(?)", String.class, LocalDate.of(2000, 1, 1));
+        ReflectionTestUtils.setField(partitionManager, "retentionMonths", 12);
+        try {
+            partitionManager.maintain();
+
+            assertThat(partitions()).doesNotContain(old).contains(partitionName(YearMonth.now(ZoneOffset.UTC)));
+        } finally {
+            ReflectionTestUtils.setField(partitionManager, "retentionMonths", 0);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + old);
+        }
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(TransactionPartitionManager.LIST_PARTITIONS_SQL, String.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("transactions_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,102 @@
+package com.exercise.atm.domain.service.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.exercise.atm.domain.entity.Money;
+import com.exercise.atm.domain.entity.TransactionType;
+
+class LedgerJournalTest {
+
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void unappliedEntriesAreReturnedAfterReopen() throws IOException {
+        LedgerJournal journal = new LedgerJournal(directory, 0, 1024 * 1024);
+        assertThat(journal.open()).isEmpty();
+        journal.append(List.of(entry(journal.nextSequence(), "100.00"), entry(journal.nextSequence(), "90.00")));
+        journal.close();
+
+        LedgerJournal reopened = new LedgerJournal(directory, 0, 1024 * 1024);
+        List<JournalEntry> pending = reopened.open();
+
+        assertThat(pending).extracting(JournalEntry::sequence).containsExactly(1L, 2L);
+        assertThat(pending.get(1).balanceAfter()).isEqualTo(Money.of(new BigDecimal("90.00")));
+        assertThat(reopened.nextSequence()).isEqualTo(3L);
+    }
+
+    @Test
+    void appliedEntriesAreNotReplayedAndTheirSegmentsAreDeleted() throws IOException {
+        LedgerJournal journal = new LedgerJournal(directory, 0, 1);
+        journal.open();
+        journal.append(List.of(entry(journal.nextSequence(), "100.00")));
+        journal.append(List.of(entry(journal.nextSequence(), "90.00")));
+        journal.markApplied(1);
+        journal.close();
+
+        assertThat(segments()).hasSize(2);
+        LedgerJournal reopened = new LedgerJournal(directory, 0, 1);
+        assertThat(reopened.open()).extracting(JournalEntry::sequence).containsExactly(2L);
+    }
+
+    @Test
+    void tornLastLineIsIgnored() throws IOException {
+        LedgerJournal journal = new LedgerJournal(directory, 0, 1024 * 1024);
+        journal.open();
+        journal.append(List.of(entry(journal.nextSequence(), "100.00")));
+        journal.close();
+        Path segment = segments().get(0);
+        Files.writeString(segment, "2|" + UUID.randomUUID(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        LedgerJournal reopened = new LedgerJournal(directory, 0, 1024 * 1024);
+
+        assertThat(reopened.open()).extracting(JournalEntry::sequence).containsExactly(1L);
+        assertThat(reopened.nextSequence()).isEqualTo(2L);
+    }
+
+    @Test
+    void idempotencyKeySurvivesTheJournalLine() {
+        JournalEntry.IdempotencyKey key = new JournalEntry.IdempotencyKey(
+                UUID.randomUUID(), "retry|1", Instant.parse("2024-01-02T10:00:00Z"), "{\"customerName\":\"A|B\"}");
+        JournalEntry entry = entry(7, "90.00").withIdempotencyKey(key);
+
+        assertThat(JournalEntry.parse(entry.toLine())).isEqualTo(entry);
+        assertThat(JournalEntry.parse(entry(8, "80.00").toLine()).idempotencyKey()).isNull();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).toList();
+        }
+    }
+
+    private static JournalEntry entry(long sequence, String balanceAfter) {
+        return new JournalEntry(
+                sequence,
+                UUID.randomUUID(),
+                ACCOUNT_ID,
+                TransactionType.WITHDRAWAL,
+                Money.of(new BigDecimal("10.00")),
+                Instant.parse("2024-01-01T10:00:00Z"),
+                Money.of(new BigDecimal(balanceAfter)),
+                LocalDate.parse("2024-01-01"),
+                Money.of(new BigDecimal("10.00")));
+    }
+}